@@ -11,9 +11,11 @@ import com.uznai.service.QuestionService;
 import com.uznai.security.UserPrincipal;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -27,8 +29,16 @@ public class QuestionController {
     @GetMapping
     public ResponseEntity<List<QuestionResponse>> getQuestionsByQuizId(
             @PathVariable UUID quizId,
-            @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        return ResponseEntity.ok(questionService.getQuestionsByQuizId(quizId, userPrincipal));
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            WebRequest request) {
+        String etag = questionService.getQuestionsETag(quizId, userPrincipal);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(QuizController.REVALIDATE).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(QuizController.REVALIDATE)
+                .body(questionService.getQuestionsByQuizId(quizId, userPrincipal));
     }
 
     @PostMapping
@@ -82,8 +92,16 @@ public class QuestionController {
     public ResponseEntity<List<AnswerResponse>> getAnswersByQuestionId(
             @PathVariable UUID quizId,
             @PathVariable UUID questionId,
-            @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        return ResponseEntity.ok(questionService.getAnswersByQuestionId(questionId, userPrincipal));
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            WebRequest request) {
+        String etag = questionService.getAnswersETag(questionId, userPrincipal);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(QuizController.REVALIDATE).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(QuizController.REVALIDATE)
+                .body(questionService.getAnswersByQuestionId(questionId, userPrincipal));
     }
 
     @DeleteMapping("/{questionId}/answers/{answerId}")
@@ -2,25 +2,38 @@ package com.uznai.controller;
 
 import com.uznai.dto.request.CreateQuizRequest;
 import com.uznai.dto.request.UpdateQuizRequest;
+import com.uznai.dto.response.CursorPage;
+import com.uznai.dto.response.PublishedQuizResponse;
 import com.uznai.dto.response.QuizResponse;
 import com.uznai.dto.response.QuizSummaryResponse;
+import com.uznai.dto.response.QuizTitleSuggestionResponse;
+import com.uznai.dto.response.RegradeProgressResponse;
 import com.uznai.entity.User;
 import com.uznai.service.QuizService;
 import com.uznai.security.UserPrincipal;
+import com.uznai.service.pagination.PageCursor;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/v1/quizzes")
 @RequiredArgsConstructor
 public class QuizController {
+
+    // Cacheable by the client only, and only after revalidating its ETag
+    static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
     private final QuizService quizService;
 
     @GetMapping("/me")
@@ -42,11 +55,100 @@ public class QuizController {
         return ResponseEntity.ok(quizService.getPublicQuizzes(pageable));
     }
 
-    @GetMapping("/{quizId}")
-    public ResponseEntity<QuizResponse> getQuizById(
+    // Cursor-paged variants of the listings above: newest first, and page N costs the same as page 1
+    @GetMapping("/me/slice")
+    public ResponseEntity<CursorPage<QuizSummaryResponse>> getUserQuizzesSlice(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PageCursor.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(quizService.getUserQuizzesSlice(userPrincipal, cursor, size));
+    }
+
+    @GetMapping("/created/slice")
+    public ResponseEntity<CursorPage<QuizSummaryResponse>> getCreatedQuizzesSlice(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PageCursor.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(quizService.getCreatedQuizzesSlice(userPrincipal, cursor, size));
+    }
+
+    @GetMapping("/public/slice")
+    public ResponseEntity<CursorPage<QuizSummaryResponse>> getPublicQuizzesSlice(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PageCursor.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(quizService.getPublicQuizzesSlice(cursor, size));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<QuizSummaryResponse>> searchQuizzes(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PageCursor.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(quizService.searchQuizzes(userPrincipal, query, cursor, size));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<QuizTitleSuggestionResponse>> suggestQuizTitles(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(quizService.suggestQuizTitles(prefix, limit));
+    }
+
+    @GetMapping("/{quizId}/similar")
+    public ResponseEntity<List<QuizSummaryResponse>> getSimilarQuizzes(
+            @PathVariable UUID quizId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(quizService.getSimilarQuizzes(quizId, userPrincipal, limit));
+    }
+
+    // Body is a QuizResponse, pre-encoded when it is served from a published snapshot
+    @GetMapping(value = "/{quizId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getQuizById(
+            @PathVariable UUID quizId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            WebRequest request) {
+        // Validate before loading: an unchanged quiz costs one hash query and no mapping or serialization
+        String etag = quizService.getQuizETag(quizId, userPrincipal);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(quizService.getQuizJson(quizId, userPrincipal));
+    }
+
+    @PostMapping("/{quizId}/publish")
+    public ResponseEntity<PublishedQuizResponse> publishQuiz(
+            @PathVariable UUID quizId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(quizService.publishQuiz(quizId, userPrincipal));
+    }
+
+    // Copies the quiz with all its questions and answers into a new private quiz of the caller
+    @PostMapping("/{quizId}/fork")
+    public ResponseEntity<QuizResponse> forkQuiz(
+            @PathVariable UUID quizId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(quizService.forkQuiz(quizId, userPrincipal));
+    }
+
+    // Regrading runs in the background; poll GET /{quizId}/regrade for progress
+    @PostMapping("/{quizId}/regrade")
+    public ResponseEntity<RegradeProgressResponse> regradeQuiz(
+            @PathVariable UUID quizId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.accepted().body(quizService.regradeQuiz(quizId, userPrincipal));
+    }
+
+    @GetMapping("/{quizId}/regrade")
+    public ResponseEntity<RegradeProgressResponse> getRegradeProgress(
             @PathVariable UUID quizId,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        return ResponseEntity.ok(quizService.getQuizById(quizId, userPrincipal));
+        return ResponseEntity.ok(quizService.getRegradeProgress(quizId, userPrincipal));
     }
 
     @PostMapping
@@ -0,0 +1,43 @@
+package com.uznai.controller;
+
+import com.uznai.dto.request.RateQuizRequest;
+import com.uznai.dto.response.QuizRatingResponse;
+import com.uznai.security.UserPrincipal;
+import com.uznai.service.QuizRatingService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/quizzes/{quizId}/rating")
+@RequiredArgsConstructor
+public class QuizRatingController {
+    private final QuizRatingService quizRatingService;
+
+    @GetMapping
+    public ResponseEntity<QuizRatingResponse> getRating(
+            @PathVariable UUID quizId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(quizRatingService.getRating(quizId, userPrincipal));
+    }
+
+    @PutMapping
+    public ResponseEntity<QuizRatingResponse> rateQuiz(
+            @PathVariable UUID quizId,
+            @Valid @RequestBody RateQuizRequest request,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(quizRatingService.rateQuiz(quizId, request, userPrincipal));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> deleteRating(
+            @PathVariable UUID quizId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        quizRatingService.deleteRating(quizId, userPrincipal);
+        return ResponseEntity.noContent().build();
+    }
+}
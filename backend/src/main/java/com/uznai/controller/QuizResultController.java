@@ -1,8 +1,10 @@
 package com.uznai.controller;
 
+import com.uznai.dto.response.CursorPage;
 import com.uznai.dto.response.QuizResultResponse;
 import com.uznai.security.UserPrincipal;
 import com.uznai.service.QuizResultService;
+import com.uznai.service.pagination.PageCursor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -50,6 +52,25 @@ public class QuizResultController {
         return ResponseEntity.ok(quizResultService.getUserResultsForQuiz(quizId, userPrincipal, pageable));
     }
 
+    @GetMapping("/users/me/results/slice")
+    @Operation(summary = "Get user's quiz results by cursor", description = "Retrieves the current user's results newest first; pass the returned next cursor to get the following page")
+    public ResponseEntity<CursorPage<QuizResultResponse>> getUserResultsSlice(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PageCursor.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(quizResultService.getUserResultsSlice(userPrincipal, cursor, size));
+    }
+
+    @GetMapping("/users/me/results/quiz/{quizId}/slice")
+    @Operation(summary = "Get user's results for a specific quiz by cursor", description = "Retrieves the current user's results for a quiz newest first; pass the returned next cursor to get the following page")
+    public ResponseEntity<CursorPage<QuizResultResponse>> getUserResultsForQuizSlice(
+            @PathVariable UUID quizId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PageCursor.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(quizResultService.getUserResultsForQuizSlice(quizId, userPrincipal, cursor, size));
+    }
+
     @GetMapping("/users/me/results/quiz/{quizId}/latest")
     @Operation(summary = "Get user's latest result for a quiz", description = "Retrieves the most recent result for a specific quiz for the current user")
     public ResponseEntity<QuizResultResponse> getLatestResultForQuiz(
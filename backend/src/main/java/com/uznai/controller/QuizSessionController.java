@@ -1,9 +1,11 @@
 package com.uznai.controller;
 
+import com.uznai.dto.request.BatchSubmitAnswersRequest;
 import com.uznai.dto.request.StartQuizSessionRequest;
 import com.uznai.dto.request.SubmitAnswerRequest;
 import com.uznai.dto.response.QuizQuestionResponse;
 import com.uznai.dto.response.QuizSessionResponse;
+import com.uznai.dto.response.QuizSessionSnapshotResponse;
 import com.uznai.security.UserPrincipal;
 import com.uznai.service.QuizSessionService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -56,6 +58,14 @@ public class QuizSessionController {
         return ResponseEntity.ok(quizSessionService.getSessionQuestions(sessionId, userPrincipal, pageable));
     }
 
+    @GetMapping("/sessions/{sessionId}/snapshot")
+    @Operation(summary = "Get quiz session snapshot", description = "Retrieves all questions of a quiz session with their answer options and the user's answers, for resuming a session")
+    public ResponseEntity<QuizSessionSnapshotResponse> getSessionSnapshot(
+            @PathVariable UUID sessionId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(quizSessionService.getSessionSnapshot(sessionId, userPrincipal));
+    }
+
     @PostMapping("/sessions/{sessionId}/questions/{questionId}/answers")
     @Operation(summary = "Submit an answer", description = "Submits an answer for a specific question in a quiz session")
     public ResponseEntity<Void> submitAnswer(
@@ -67,6 +77,16 @@ public class QuizSessionController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/sessions/{sessionId}/answers:batch")
+    @Operation(summary = "Submit several answers", description = "Submits answers for many questions of a quiz session at once, keyed by question ID")
+    public ResponseEntity<Void> submitAnswers(
+            @PathVariable UUID sessionId,
+            @Valid @RequestBody BatchSubmitAnswersRequest request,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        quizSessionService.submitAnswers(sessionId, request, userPrincipal);
+        return ResponseEntity.ok().build();
+    }
+
     @PostMapping("/sessions/{sessionId}/complete")
     @Operation(summary = "Complete a quiz session", description = "Marks a quiz session as completed and generates results")
     public ResponseEntity<QuizSessionResponse> completeSession(
@@ -0,0 +1,17 @@
+package com.uznai.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+public class BatchSubmitAnswersRequest {
+    @NotEmpty(message = "At least one answer is required")
+    @Size(max = 500, message = "At most 500 answers can be submitted at once")
+    private Map<UUID, @NotNull @Valid SubmitAnswerRequest> answers;
+}
@@ -1,7 +1,9 @@
 package com.uznai.dto.request;
 
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.Data;
 
 @Data
@@ -13,4 +15,11 @@ public class CreateQuizRequest {
     
     @NotNull(message = "Public status is required")
     private Boolean isPublic;
+
+    // Untimed when null
+    @Positive(message = "Time limit must be positive")
+    @Max(value = 86400, message = "Time limit cannot exceed 24 hours")
+    private Integer timeLimitSeconds;
+
+    private Boolean autoSubmit;
 } 
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.uznai.dto.request;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
 import lombok.Data;
 
 @Data
@@ -8,4 +10,9 @@ public class UpdateQuizRequest {
     private String description;
     private Boolean isPublic;
     private Long version;
+
+    @Positive(message = "Time limit must be positive")
+    @Max(value = 86400, message = "Time limit cannot exceed 24 hours")
+    private Integer timeLimitSeconds;
+    private Boolean autoSubmit;
 } 
\ No newline at end of file
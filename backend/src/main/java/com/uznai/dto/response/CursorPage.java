@@ -0,0 +1,14 @@
+package com.uznai.dto.response;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CursorPage<T> {
+    private List<T> content;
+    private int size;
+    // Opaque cursor for the following page; null on the last page
+    private String next;
+    private boolean hasNext;
+}
@@ -0,0 +1,14 @@
+package com.uznai.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+public class PublishedQuizResponse {
+    private UUID quizId;
+    private Integer version;
+    private Integer questionCount;
+    private LocalDateTime publishedAt;
+}
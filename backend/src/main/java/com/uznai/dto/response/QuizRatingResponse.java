@@ -0,0 +1,16 @@
+package com.uznai.dto.response;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class QuizRatingResponse {
+    private UUID quizId;
+    private Double averageRating;
+    private long ratingCount;
+    // Number of 1- to 5-star ratings, in that order
+    private List<Long> histogram;
+    private Integer userRating;
+}
@@ -14,6 +14,9 @@ public class QuizResponse {
     private String description;
     private Boolean isPublic;
     private Long version;
+    private Integer publishedVersion;
+    private Integer timeLimitSeconds;
+    private Boolean autoSubmit;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private UserResponse creator;
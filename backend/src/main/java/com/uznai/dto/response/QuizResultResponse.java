@@ -1,5 +1,6 @@
 package com.uznai.dto.response;
 
+import com.uznai.entity.enums.ResultStatus;
 import lombok.Data;
 
 import java.time.LocalDateTime;
@@ -18,5 +19,6 @@ public class QuizResultResponse {
     private Integer correctAnswers;
     private Integer timeTakenSeconds;
     private LocalDateTime completedAt;
+    private ResultStatus status;
     private List<QuestionResultResponse> questionResults = new ArrayList<>();
 } 
\ No newline at end of file
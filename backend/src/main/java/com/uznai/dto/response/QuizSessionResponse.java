@@ -1,5 +1,6 @@
 package com.uznai.dto.response;
 
+import com.uznai.entity.enums.ResultStatus;
 import com.uznai.entity.enums.SessionStatus;
 import lombok.Data;
 
@@ -15,4 +16,6 @@ public class QuizSessionResponse {
     private SessionStatus status;
     private Integer questionCount;
     private Integer answeredCount;
+    private UUID resultId;
+    private ResultStatus resultStatus;
 } 
\ No newline at end of file
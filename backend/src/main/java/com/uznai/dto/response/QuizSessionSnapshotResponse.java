@@ -0,0 +1,19 @@
+package com.uznai.dto.response;
+
+import com.uznai.entity.enums.SessionStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class QuizSessionSnapshotResponse {
+    private UUID sessionId;
+    private UUID quizId;
+    private SessionStatus status;
+    private LocalDateTime expiresAt;
+    private Integer questionCount;
+    private Integer answeredCount;
+    private List<QuizQuestionResponse> questions;
+}
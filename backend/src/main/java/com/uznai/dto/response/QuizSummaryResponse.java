@@ -16,4 +16,6 @@ public class QuizSummaryResponse {
     private UserResponse creator;
     private Integer questionCount;
     private Integer activeUserCount;
+    private Double averageRating;
+    private Long ratingCount;
 } 
\ No newline at end of file
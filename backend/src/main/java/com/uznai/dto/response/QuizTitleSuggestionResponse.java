@@ -0,0 +1,11 @@
+package com.uznai.dto.response;
+
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+public class QuizTitleSuggestionResponse {
+    private UUID id;
+    private String title;
+}
@@ -0,0 +1,18 @@
+package com.uznai.dto.response;
+
+import com.uznai.entity.enums.RegradeStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+public class RegradeProgressResponse {
+    private UUID quizId;
+    private RegradeStatus status;
+    private Long processedResults;
+    private Long changedResults;
+    private Long changedAnswers;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
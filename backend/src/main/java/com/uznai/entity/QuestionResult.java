@@ -31,6 +31,10 @@ public class QuestionResult {
     @Column(name = "selected_answer_ids", columnDefinition = "uuid[]")
     private UUID[] selectedAnswerIds;
 
+    // Selections against a published snapshot; bit i is the i-th answer of the question in that version
+    @Column(name = "selected_mask")
+    private Long selectedMask;
+
     @Column(name = "text_answer", columnDefinition = "TEXT")
     private String textAnswer;
 
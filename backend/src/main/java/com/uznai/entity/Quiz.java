@@ -11,6 +11,12 @@ import java.util.HashSet;
 @Data
 @Entity
 @Table(name = "quizzes")
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = "Quiz.detail", attributeNodes = {
+                @NamedAttributeNode("creator"),
+                @NamedAttributeNode("questions")}),
+        @NamedEntityGraph(name = "Quiz.creator", attributeNodes = @NamedAttributeNode("creator"))
+})
 public class Quiz {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -38,6 +44,15 @@ public class Quiz {
     @Version
     private Long version;
 
+    @Column(name = "published_version")
+    private Integer publishedVersion;
+
+    @Column(name = "time_limit_seconds")
+    private Integer timeLimitSeconds;
+
+    @Column(name = "auto_submit", nullable = false)
+    private boolean autoSubmit;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
@@ -0,0 +1,39 @@
+package com.uznai.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import org.hibernate.annotations.Immutable;
+
+import java.util.UUID;
+
+// Read-only view of the per-quiz rating aggregates; only QuizRatingRepositoryImpl writes them
+@Getter
+@Entity
+@Immutable
+@Table(name = "quiz_rating_stats")
+public class QuizRatingStats {
+    @Id
+    @Column(name = "quiz_id")
+    private UUID quizId;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "count_1", nullable = false)
+    private long count1;
+
+    @Column(name = "count_2", nullable = false)
+    private long count2;
+
+    @Column(name = "count_3", nullable = false)
+    private long count3;
+
+    @Column(name = "count_4", nullable = false)
+    private long count4;
+
+    @Column(name = "count_5", nullable = false)
+    private long count5;
+}
@@ -1,5 +1,6 @@
 package com.uznai.entity;
 
+import com.uznai.entity.enums.ResultStatus;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -43,6 +44,13 @@ public class QuizResult {
     @Column(name = "completed_at", nullable = false)
     private LocalDateTime completedAt;
 
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ResultStatus status = ResultStatus.READY;
+
+    @Column(name = "grading_attempts", nullable = false)
+    private Integer gradingAttempts = 0;
+
     @OneToMany(mappedBy = "result", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<QuestionResult> questionResults = new HashSet<>();
 
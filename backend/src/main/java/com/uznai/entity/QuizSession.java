@@ -40,6 +40,9 @@ public class QuizSession {
     @Column(nullable = false)
     private SessionStatus status;
 
+    @Column(name = "snapshot_version")
+    private Integer snapshotVersion;
+
     @OneToMany(mappedBy = "session", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<SessionAnswer> answers = new HashSet<>();
 
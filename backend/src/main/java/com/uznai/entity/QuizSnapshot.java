@@ -0,0 +1,36 @@
+package com.uznai.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "quiz_snapshots")
+public class QuizSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "quiz_id", nullable = false)
+    private Quiz quiz;
+
+    @Column(nullable = false)
+    private Integer version;
+
+    @Column(name = "question_count", nullable = false)
+    private Integer questionCount;
+
+    @Column(nullable = false)
+    private byte[] payload;
+
+    @CreationTimestamp
+    @Column(name = "published_at", nullable = false, updatable = false)
+    private LocalDateTime publishedAt;
+}
@@ -10,7 +10,8 @@ import java.util.UUID;
 
 @Data
 @Entity
-@Table(name = "session_answers")
+@Table(name = "session_answers", uniqueConstraints = @UniqueConstraint(
+        name = "unique_session_answer_per_question", columnNames = {"session_id", "question_id"}))
 public class SessionAnswer {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -27,6 +28,10 @@ public class SessionAnswer {
     @Column(name = "selected_answer_ids", columnDefinition = "uuid[]")
     private UUID[] selectedAnswerIds;
 
+    // Selections against a published snapshot; bit i is the i-th answer of the question in that version
+    @Column(name = "selected_mask")
+    private Long selectedMask;
+
     @Column(name = "text_answer", columnDefinition = "TEXT")
     private String textAnswer;
 
@@ -0,0 +1,7 @@
+package com.uznai.entity.enums;
+
+public enum ResultStatus {
+    PENDING,
+    READY,
+    FAILED
+}
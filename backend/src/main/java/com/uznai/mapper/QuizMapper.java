@@ -6,6 +6,7 @@ import com.uznai.dto.response.QuizResponse;
 import com.uznai.dto.response.QuizSummaryResponse;
 import com.uznai.dto.response.UserResponse;
 import com.uznai.entity.Quiz;
+import com.uznai.repository.QuizSummaryView;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
@@ -28,6 +29,7 @@ public abstract class QuizMapper {
     @Mapping(target = "creator", ignore = true)
     @Mapping(target = "questions", ignore = true)
     @Mapping(target = "changes", ignore = true)
+    @Mapping(target = "publishedVersion", ignore = true)
     @Mapping(target = "version", ignore = true)
     public abstract Quiz toEntity(CreateQuizRequest request);
 
@@ -37,6 +39,7 @@ public abstract class QuizMapper {
     @Mapping(target = "creator", ignore = true)
     @Mapping(target = "questions", ignore = true)
     @Mapping(target = "changes", ignore = true)
+    @Mapping(target = "publishedVersion", ignore = true)
     public abstract void updateEntity(UpdateQuizRequest request, @MappingTarget Quiz quiz);
 
     @Mapping(target = "id", source = "id")
@@ -50,7 +53,29 @@ public abstract class QuizMapper {
     @Mapping(target = "questions", source = "questions")
     public abstract QuizResponse toResponse(Quiz quiz);
 
-    public abstract QuizSummaryResponse toSummaryResponse(Quiz quiz);
+    public QuizSummaryResponse toSummaryResponse(QuizSummaryView view) {
+        if (view == null) {
+            return null;
+        }
+        QuizSummaryResponse response = new QuizSummaryResponse();
+        response.setId(view.id());
+        response.setTitle(view.title());
+        response.setDescription(view.description());
+        response.setPublic(view.isPublic());
+        response.setCreatedAt(view.createdAt());
+        response.setUpdatedAt(view.updatedAt());
+        response.setCreator(UserResponse.builder()
+                .id(view.creatorId())
+                .username(view.creatorUsername())
+                .avatarUrl(view.creatorAvatarUrl())
+                .build());
+        response.setQuestionCount((int) view.questionCount());
+        response.setRatingCount(view.ratingCount());
+        if (view.ratingCount() > 0) {
+            response.setAverageRating((double) view.ratingSum() / view.ratingCount());
+        }
+        return response;
+    }
 
     protected ZonedDateTime mapLocalDateTime(LocalDateTime localDateTime) {
         return localDateTime != null ? localDateTime.atZone(java.time.ZoneId.systemDefault()) : null;
@@ -1,5 +1,6 @@
 package com.uznai.mapper;
 
+import com.uznai.dto.response.QuestionResponse;
 import com.uznai.dto.response.QuizQuestionResponse;
 import com.uznai.entity.Question;
 import org.mapstruct.Mapper;
@@ -9,4 +10,7 @@ import org.mapstruct.Mapping;
 public interface QuizQuestionMapper {
     @Mapping(target = "userAnswers", ignore = true)
     QuizQuestionResponse toResponse(Question question);
+
+    @Mapping(target = "userAnswers", ignore = true)
+    QuizQuestionResponse toResponse(QuestionResponse question);
 } 
\ No newline at end of file
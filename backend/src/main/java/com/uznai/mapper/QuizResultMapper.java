@@ -16,6 +16,9 @@ public interface QuizResultMapper {
     @Mapping(target = "user", source = "user")
     @Mapping(target = "user.roles", source = "user.roles", qualifiedByName = "mapRoles")
     @Mapping(target = "quiz.creator.roles", source = "quiz.creator.roles", qualifiedByName = "mapRoles")
+    @Mapping(target = "quiz.averageRating", ignore = true)
+    @Mapping(target = "quiz.ratingCount", ignore = true)
+    @Mapping(target = "percentage", ignore = true)
     QuizResultResponse toResponse(QuizResult result);
 
     @Named("mapRoles")
@@ -17,8 +17,12 @@ public abstract class QuizSessionMapper {
     protected SessionAnswerRepository sessionAnswerRepository;
 
     @Mapping(target = "quiz", source = "quiz")
+    @Mapping(target = "quiz.averageRating", ignore = true)
+    @Mapping(target = "quiz.ratingCount", ignore = true)
     @Mapping(target = "questionCount", expression = "java(session.getQuiz().getQuestions().size())")
     @Mapping(target = "answeredCount", expression = "java((int) sessionAnswerRepository.countBySession(session))")
+    @Mapping(target = "resultId", ignore = true)
+    @Mapping(target = "resultStatus", ignore = true)
     public abstract QuizSessionResponse toResponse(QuizSession session);
 
     public abstract Set<String> map(Set<Role> roles);
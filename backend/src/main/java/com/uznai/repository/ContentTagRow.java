@@ -0,0 +1,11 @@
+package com.uznai.repository;
+
+import java.util.UUID;
+
+// Access facts plus a hash that changes whenever the rows behind a response change; see the ETag queries
+public interface ContentTagRow {
+    UUID getCreatorId();
+    boolean getIsPublic();
+    Integer getPublishedVersion();
+    String getContentHash();
+}
@@ -0,0 +1,8 @@
+package com.uznai.repository;
+
+import java.util.UUID;
+
+// One graded question of a READY result, together with the score currently stored on the result
+public record GradedAnswerRow(UUID resultId, int score, UUID questionResultId, UUID questionId, boolean correct,
+                              UUID[] selectedAnswerIds, String textAnswer) {
+}
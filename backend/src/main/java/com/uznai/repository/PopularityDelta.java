@@ -0,0 +1,6 @@
+package com.uznai.repository;
+
+import java.util.UUID;
+
+public record PopularityDelta(UUID quizId, double score, long started, long completed) {
+}
@@ -9,14 +9,28 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
 public interface QuestionRepository extends JpaRepository<Question, UUID> {
     List<Question> findByQuizOrderByOrderIndex(Quiz quiz);
     Page<Question> findByQuizOrderByOrderIndex(Quiz quiz, Pageable pageable);
+
+    @Query("SELECT DISTINCT q FROM Question q LEFT JOIN FETCH q.answers WHERE q.quiz = :quiz ORDER BY q.orderIndex")
+    List<Question> findWithAnswersByQuiz(@Param("quiz") Quiz quiz);
     
+    @Query("SELECT DISTINCT q FROM Question q LEFT JOIN FETCH q.answers WHERE q.id IN :ids")
+    List<Question> findWithAnswersByIdIn(@Param("ids") Collection<UUID> ids);
+
+    boolean existsByIdAndQuizId(UUID id, UUID quizId);
+
+    @Query("SELECT q.id FROM Question q WHERE q.quiz.id = :quizId AND q.id IN :ids")
+    Set<UUID> findIdsByQuizIdAndIdIn(@Param("quizId") UUID quizId, @Param("ids") Collection<UUID> ids);
+
     @Query("SELECT MAX(q.orderIndex) FROM Question q WHERE q.quiz = :quiz")
     Integer findMaxOrderIndexByQuiz(@Param("quiz") Quiz quiz);
     
@@ -25,4 +39,15 @@ public interface QuestionRepository extends JpaRepository<Question, UUID> {
     
     @Query("SELECT q FROM Question q WHERE q.quiz = :quiz AND q.orderIndex >= :startIndex AND q.orderIndex <= :endIndex ORDER BY q.orderIndex")
     List<Question> findQuestionsInRange(@Param("quiz") Quiz quiz, @Param("startIndex") Integer startIndex, @Param("endIndex") Integer endIndex);
-} 
\ No newline at end of file
+
+    @Query(value = """
+            SELECT q.creator_id AS creatorId, q.is_public AS isPublic, q.published_version AS publishedVersion,
+                   md5(coalesce((SELECT string_agg(a.id || ':' || coalesce(a.version, 0), ',' ORDER BY a.id)
+                                   FROM answers a
+                                  WHERE a.question_id = qs.id), '')) AS contentHash
+              FROM questions qs
+              JOIN quizzes q ON q.id = qs.quiz_id
+             WHERE qs.id = :questionId
+            """, nativeQuery = true)
+    Optional<ContentTagRow> findAnswersContentTag(@Param("questionId") UUID questionId);
+}
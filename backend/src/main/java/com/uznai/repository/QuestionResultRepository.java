@@ -11,7 +11,7 @@ import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface QuestionResultRepository extends JpaRepository<QuestionResult, UUID> {
+public interface QuestionResultRepository extends JpaRepository<QuestionResult, UUID>, QuestionResultRepositoryCustom {
     List<QuestionResult> findByResultOrderByQuestionOrderIndex(QuizResult result);
     
     @Query("SELECT COUNT(qr) FROM QuestionResult qr WHERE qr.result = :result AND qr.isCorrect = true")
@@ -0,0 +1,19 @@
+package com.uznai.repository;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+public interface QuestionResultRepositoryCustom {
+
+    // Must run inside a transaction so the driver can use a server-side cursor; rows arrive grouped by result
+    void streamLiveGradedAnswers(UUID quizId, int fetchSize, Consumer<GradedAnswerRow> consumer);
+
+    // Writes the opposite of each row's is_correct; callers pass the rows whose grade changed
+    void batchFlipCorrect(List<GradedAnswerRow> rows);
+
+    void batchUpdateScores(List<ResultScore> scores);
+
+    record ResultScore(UUID resultId, int score) {
+    }
+}
@@ -0,0 +1,75 @@
+package com.uznai.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class QuestionResultRepositoryImpl implements QuestionResultRepositoryCustom {
+
+    // Results of sessions pinned to a published snapshot were graded against that immutable version and are left alone
+    private static final String LIVE_GRADED_ANSWERS_SQL = """
+            SELECT r.id AS result_id, r.score, qr.id, qr.question_id, qr.is_correct, qr.selected_answer_ids, qr.text_answer
+              FROM quiz_results r
+              JOIN quiz_sessions s ON s.id = r.session_id
+              JOIN question_results qr ON qr.result_id = r.id
+             WHERE r.quiz_id = ? AND r.status = 'READY' AND s.snapshot_version IS NULL
+             ORDER BY r.id
+            """;
+
+    private static final String UPDATE_CORRECT_SQL = "UPDATE question_results SET is_correct = ? WHERE id = ?";
+
+    private static final String UPDATE_SCORE_SQL = "UPDATE quiz_results SET score = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void streamLiveGradedAnswers(UUID quizId, int fetchSize, Consumer<GradedAnswerRow> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(LIVE_GRADED_ANSWERS_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setObject(1, quizId);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            Array selected = rs.getArray("selected_answer_ids");
+            consumer.accept(new GradedAnswerRow(
+                    rs.getObject("result_id", UUID.class),
+                    rs.getInt("score"),
+                    rs.getObject("id", UUID.class),
+                    rs.getObject("question_id", UUID.class),
+                    rs.getBoolean("is_correct"),
+                    selected != null ? (UUID[]) selected.getArray() : null,
+                    rs.getString("text_answer")));
+        });
+    }
+
+    @Override
+    public void batchFlipCorrect(List<GradedAnswerRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_CORRECT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setBoolean(1, !row.correct());
+            ps.setObject(2, row.questionResultId());
+        });
+    }
+
+    @Override
+    public void batchUpdateScores(List<ResultScore> scores) {
+        if (scores.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_SCORE_SQL, scores, scores.size(), (ps, score) -> {
+            ps.setInt(1, score.score());
+            ps.setObject(2, score.resultId());
+        });
+    }
+}
@@ -0,0 +1,25 @@
+package com.uznai.repository;
+
+// What a quiz view reads beyond the quiz row, so it loads in a fixed number of queries whatever the quiz size
+public enum QuizFetchPlan {
+    // Quiz detail and JSON export: creator, questions and their answers, as QuizMapper.toResponse maps them
+    DETAIL("Quiz.detail", true),
+    // Question editor and session start: creator only; questions are read separately, page by page
+    CREATOR("Quiz.creator", false);
+
+    private final String graphName;
+    private final boolean answers;
+
+    QuizFetchPlan(String graphName, boolean answers) {
+        this.graphName = graphName;
+        this.answers = answers;
+    }
+
+    public String graphName() {
+        return graphName;
+    }
+
+    public boolean answers() {
+        return answers;
+    }
+}
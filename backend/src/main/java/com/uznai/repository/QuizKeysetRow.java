@@ -0,0 +1,9 @@
+package com.uznai.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface QuizKeysetRow {
+    UUID getId();
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,20 @@
+package com.uznai.repository;
+
+import com.uznai.entity.QuizRating;
+import com.uznai.entity.QuizRatingStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface QuizRatingRepository extends JpaRepository<QuizRating, UUID>, QuizRatingRepositoryCustom {
+    @Query("SELECT r.rating FROM QuizRating r WHERE r.quiz.id = :quizId AND r.user.id = :userId")
+    Optional<Integer> findRating(@Param("quizId") UUID quizId, @Param("userId") UUID userId);
+
+    @Query("SELECT s FROM QuizRatingStats s WHERE s.quizId = :quizId")
+    Optional<QuizRatingStats> findStats(@Param("quizId") UUID quizId);
+}
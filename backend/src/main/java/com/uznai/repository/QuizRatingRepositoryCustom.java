@@ -0,0 +1,11 @@
+package com.uznai.repository;
+
+import java.util.UUID;
+
+public interface QuizRatingRepositoryCustom {
+    // Sets the user's rating and adjusts the quiz's aggregates; returns the rating it replaced, or null
+    Integer rate(UUID quizId, UUID userId, int rating);
+
+    // Removes the user's rating and adjusts the quiz's aggregates; returns the removed rating, or null
+    Integer unrate(UUID quizId, UUID userId);
+}
@@ -0,0 +1,108 @@
+package com.uznai.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/*
+ * Ratings and their aggregates change together in the caller's transaction. The user's rating row is locked
+ * before it is read, so concurrent re-rates by the same user apply their deltas one after another against the
+ * value they actually replaced. The stats row is only ever adjusted by deltas, never recomputed, so ratings
+ * by different users commute and only wait for each other on that row until commit. Locks are always taken
+ * rating first, stats second.
+ */
+@RequiredArgsConstructor
+public class QuizRatingRepositoryImpl implements QuizRatingRepositoryCustom {
+
+    private static final String LOCK_RATING_SQL = """
+            SELECT rating FROM quiz_ratings WHERE quiz_id = ? AND user_id = ? FOR UPDATE
+            """;
+
+    private static final String INSERT_RATING_SQL = """
+            INSERT INTO quiz_ratings (quiz_id, user_id, rating) VALUES (?, ?, ?)
+            ON CONFLICT (quiz_id, user_id) DO NOTHING
+            """;
+
+    private static final String UPDATE_RATING_SQL = """
+            UPDATE quiz_ratings SET rating = ?, updated_at = now() WHERE quiz_id = ? AND user_id = ?
+            """;
+
+    private static final String DELETE_RATING_SQL = """
+            DELETE FROM quiz_ratings WHERE quiz_id = ? AND user_id = ? RETURNING rating
+            """;
+
+    // Deltas go through a plain UPDATE: as the VALUES of an upsert, a negative delta would trip the
+    // non-negative CHECKs before the conflict is resolved
+    private static final String CREATE_STATS_SQL = """
+            INSERT INTO quiz_rating_stats (quiz_id) VALUES (?) ON CONFLICT (quiz_id) DO NOTHING
+            """;
+
+    private static final String ADD_STATS_SQL = """
+            UPDATE quiz_rating_stats
+               SET rating_count = rating_count + ?,
+                   rating_sum = rating_sum + ?,
+                   count_1 = count_1 + ?,
+                   count_2 = count_2 + ?,
+                   count_3 = count_3 + ?,
+                   count_4 = count_4 + ?,
+                   count_5 = count_5 + ?
+             WHERE quiz_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Integer rate(UUID quizId, UUID userId, int rating) {
+        while (true) {
+            List<Integer> previous = jdbcTemplate.queryForList(LOCK_RATING_SQL, Integer.class, quizId, userId);
+            if (!previous.isEmpty()) {
+                int replaced = previous.get(0);
+                if (replaced != rating) {
+                    jdbcTemplate.update(UPDATE_RATING_SQL, rating, quizId, userId);
+                    addStats(quizId, replaced, rating);
+                }
+                return replaced;
+            }
+            if (jdbcTemplate.update(INSERT_RATING_SQL, quizId, userId, rating) == 1) {
+                addStats(quizId, null, rating);
+                return null;
+            }
+            // The same user's first rating committed concurrently; lock that row and replace it instead
+        }
+    }
+
+    @Override
+    public Integer unrate(UUID quizId, UUID userId) {
+        List<Integer> removed = jdbcTemplate.queryForList(DELETE_RATING_SQL, Integer.class, quizId, userId);
+        if (removed.isEmpty()) {
+            return null;
+        }
+        addStats(quizId, removed.get(0), null);
+        return removed.get(0);
+    }
+
+    // Either rating may be null, for a rating added or removed
+    private void addStats(UUID quizId, Integer removed, Integer added) {
+        long[] histogram = new long[5];
+        long count = 0;
+        long sum = 0;
+        if (removed != null) {
+            histogram[removed - 1]--;
+            count--;
+            sum -= removed;
+        }
+        if (added != null) {
+            histogram[added - 1]++;
+            count++;
+            sum += added;
+        }
+        // Only a first rating can find no row; every other change has a rating behind it
+        if (added != null && removed == null) {
+            jdbcTemplate.update(CREATE_STATS_SQL, quizId);
+        }
+        jdbcTemplate.update(ADD_STATS_SQL, count, sum,
+                histogram[0], histogram[1], histogram[2], histogram[3], histogram[4], quizId);
+    }
+}
@@ -9,11 +9,26 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface QuizRepository extends JpaRepository<Quiz, UUID> {
+public interface QuizRepository extends JpaRepository<Quiz, UUID>, QuizRepositoryCustom {
+
+    // One statement per page: summary columns, the creator's name and avatar, and the question count
+    String SUMMARY_SELECT = """
+            SELECT new com.uznai.repository.QuizSummaryView(
+                   q.id, q.title, q.description, q.isPublic, q.createdAt, q.updatedAt,
+                   c.id, c.username, c.avatarUrl,
+                   (SELECT count(qs) FROM Question qs WHERE qs.quiz = q),
+                   coalesce(rs.ratingCount, 0L), coalesce(rs.ratingSum, 0L))
+              FROM Quiz q JOIN q.creator c
+              LEFT JOIN QuizRatingStats rs ON rs.quizId = q.id
+            """;
+
     Page<Quiz> findByCreator(User creator, Pageable pageable);
     
     Page<Quiz> findByCreatorAndIsPublic(User creator, boolean isPublic, Pageable pageable);
@@ -29,4 +44,115 @@ public interface QuizRepository extends JpaRepository<Quiz, UUID> {
     boolean existsByTitleAndCreator(String title, User creator);
 
     Page<Quiz> findByCreatorIdAndIsPublic(UUID creatorId, boolean isPublic, Pageable pageable);
-} 
\ No newline at end of file
+
+    // Keyset pages, newest first; see KeysetCursor and the indexes in V9. They return ids and sort keys only,
+    // and callers read the page's rows through findSummariesByIdIn
+    @Query(value = """
+            SELECT id, created_at AS createdAt FROM quizzes
+             WHERE is_public AND (created_at, id) < (:createdAt, :id)
+             ORDER BY created_at DESC, id DESC
+             LIMIT :limit
+            """, nativeQuery = true)
+    List<QuizKeysetRow> findPublicBefore(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id,
+            @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT id, created_at AS createdAt FROM quizzes
+             WHERE creator_id = :creatorId AND (created_at, id) < (:createdAt, :id)
+             ORDER BY created_at DESC, id DESC
+             LIMIT :limit
+            """, nativeQuery = true)
+    List<QuizKeysetRow> findByCreatorBefore(
+            @Param("creatorId") UUID creatorId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id,
+            @Param("limit") int limit);
+
+    // "Own or public" as a union of two index seeks; an OR in one WHERE clause could not seek either index
+    @Query(value = """
+            SELECT id, created_at AS createdAt FROM (
+                (SELECT id, created_at FROM quizzes
+                  WHERE is_public AND (created_at, id) < (:createdAt, :id)
+                  ORDER BY created_at DESC, id DESC
+                  LIMIT :limit)
+                UNION
+                (SELECT id, created_at FROM quizzes
+                  WHERE creator_id = :userId AND (created_at, id) < (:createdAt, :id)
+                  ORDER BY created_at DESC, id DESC
+                  LIMIT :limit)
+            ) q
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<QuizKeysetRow> findUserQuizzesBefore(
+            @Param("userId") UUID userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id,
+            @Param("limit") int limit);
+
+    // Relevance-ordered search; the GIN index on search_vector (V10) finds the matches, ranking only touches those
+    @Query(value = """
+            SELECT q.id AS id, ts_rank(q.search_vector, query) AS rank
+              FROM quizzes q, websearch_to_tsquery('simple', :text) query
+             WHERE q.search_vector @@ query
+               AND (q.is_public OR q.creator_id = :userId)
+               AND (ts_rank(q.search_vector, query), q.id) < (CAST(:rank AS REAL), :id)
+             ORDER BY rank DESC, q.id DESC
+             LIMIT :limit
+            """, nativeQuery = true)
+    List<QuizSearchHit> searchBefore(
+            @Param("text") String text,
+            @Param("userId") UUID userId,
+            @Param("rank") float rank,
+            @Param("id") UUID id,
+            @Param("limit") int limit);
+
+    // Seed for the autocomplete index: every public title with its number of attempts as popularity
+    @Query(value = """
+            SELECT q.id AS id, q.title AS title, count(r.id) AS attempts
+              FROM quizzes q
+              LEFT JOIN quiz_results r ON r.quiz_id = q.id
+             WHERE q.is_public
+             GROUP BY q.id, q.title
+            """, nativeQuery = true)
+    List<QuizTitleRow> findPublicTitles();
+
+    @Query(value = SUMMARY_SELECT + " WHERE q.isPublic = true",
+            countQuery = "SELECT count(q) FROM Quiz q WHERE q.isPublic = true")
+    Page<QuizSummaryView> findPublicSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + " WHERE c.id = :creatorId",
+            countQuery = "SELECT count(q) FROM Quiz q WHERE q.creator.id = :creatorId")
+    Page<QuizSummaryView> findSummariesByCreatorId(@Param("creatorId") UUID creatorId, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + " WHERE c.id = :creatorId AND q.isPublic = true",
+            countQuery = "SELECT count(q) FROM Quiz q WHERE q.creator.id = :creatorId AND q.isPublic = true")
+    Page<QuizSummaryView> findPublicSummariesByCreatorId(@Param("creatorId") UUID creatorId, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + " WHERE c.id = :userId OR q.isPublic = true",
+            countQuery = "SELECT count(q) FROM Quiz q WHERE q.creator.id = :userId OR q.isPublic = true")
+    Page<QuizSummaryView> findUserSummaries(@Param("userId") UUID userId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " WHERE q.id IN :ids")
+    List<QuizSummaryView> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Every id:version pair of the quiz's questions and answers, so edits, inserts and deletes all change the
+    // hash; quiz and creator timestamps cover the rest of the detail response. Index-only work, no mapping.
+    @Query(value = """
+            SELECT q.creator_id AS creatorId, q.is_public AS isPublic, q.published_version AS publishedVersion,
+                   md5(concat_ws('|', q.version, q.updated_at, u.updated_at,
+                       (SELECT string_agg(qs.id || ':' || coalesce(qs.version, 0), ',' ORDER BY qs.id)
+                          FROM questions qs
+                         WHERE qs.quiz_id = q.id),
+                       (SELECT string_agg(a.id || ':' || coalesce(a.version, 0), ',' ORDER BY a.id)
+                          FROM answers a
+                          JOIN questions qs ON qs.id = a.question_id
+                         WHERE qs.quiz_id = q.id))) AS contentHash
+              FROM quizzes q
+              JOIN users u ON u.id = q.creator_id
+             WHERE q.id = :quizId
+            """, nativeQuery = true)
+    Optional<ContentTagRow> findContentTag(@Param("quizId") UUID quizId);
+}
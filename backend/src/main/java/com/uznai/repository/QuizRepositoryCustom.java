@@ -0,0 +1,37 @@
+package com.uznai.repository;
+
+import com.uznai.entity.Quiz;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface QuizRepositoryCustom {
+    Optional<Quiz> findById(UUID id, QuizFetchPlan plan);
+
+    // Copies the quiz with its questions and answers as a private quiz of creatorId; false if it no longer exists
+    // or creatorId already has a quiz with that title
+    boolean copyQuiz(UUID sourceId, UUID copyId, UUID creatorId, String title);
+
+    // Titles of creatorId's quizzes that start with prefix, matched literally
+    List<String> findTitlesStartingWith(UUID creatorId, String prefix);
+
+    // Decays each quiz's stored popularity to scoredAt and adds the delta; deltas for deleted quizzes are dropped
+    void addPopularity(List<PopularityDelta> deltas, LocalDateTime scoredAt, double halfLifeSeconds);
+
+    List<UUID> findTrendingQuizIds(LocalDateTime at, double halfLifeSeconds, int limit);
+
+    // Title, description and question text of the quiz, as one string
+    Optional<String> findSignatureText(UUID quizId);
+
+    Optional<byte[]> findSignature(UUID quizId);
+
+    // Replaces the quiz's signature and LSH buckets (bucket i is band i); a quiz deleted meanwhile is skipped
+    void saveSignature(UUID quizId, byte[] signature, long[] buckets);
+
+    List<UUID> findQuizIdsWithoutSignature(int limit);
+
+    // Public quizzes other than quizId sharing a bucket with it, most shared buckets first
+    List<SignatureRow> findSignatureCandidates(UUID quizId, long[] buckets, int limit);
+}
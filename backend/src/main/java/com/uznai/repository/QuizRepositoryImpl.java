@@ -0,0 +1,214 @@
+package com.uznai.repository;
+
+import com.uznai.entity.Question;
+import com.uznai.entity.Quiz;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+@RequiredArgsConstructor
+public class QuizRepositoryImpl implements QuizRepositoryCustom {
+
+    // Copies get ids derived from the copy's id, md5(source id || copy id), so answers can point at their copied
+    // question without a lookup table and each statement copies a whole level of the quiz at once. A title the
+    // creator already has inserts nothing rather than failing, which would abort the caller's transaction.
+    private static final String COPY_QUIZ_SQL = """
+            INSERT INTO quizzes (id, title, description, is_public, creator_id, time_limit_seconds, auto_submit, version)
+            SELECT ?, ?, description, false, ?, time_limit_seconds, auto_submit, 1
+              FROM quizzes
+             WHERE id = ?
+            ON CONFLICT (title, creator_id) DO NOTHING
+            """;
+
+    private static final String COPY_QUESTIONS_SQL = """
+            INSERT INTO questions (id, quiz_id, question_text, question_type, order_index, image_url, code_snippet,
+                                   explanation, version)
+            SELECT md5(id::text || ?)::uuid, ?, question_text, question_type, order_index, image_url, code_snippet,
+                   explanation, 1
+              FROM questions
+             WHERE quiz_id = ?
+            """;
+
+    private static final String COPY_ANSWERS_SQL = """
+            INSERT INTO answers (id, question_id, answer_text, is_correct, order_index, image_url, code_snippet,
+                                 explanation, version)
+            SELECT md5(a.id::text || ?)::uuid, md5(a.question_id::text || ?)::uuid, a.answer_text, a.is_correct,
+                   a.order_index, a.image_url, a.code_snippet, a.explanation, 1
+              FROM answers a
+              JOIN questions q ON q.id = a.question_id
+             WHERE q.quiz_id = ?
+            """;
+
+    // INSERT ... SELECT rather than VALUES, so a quiz deleted since its sessions were counted is skipped
+    // instead of failing the batch on the foreign key
+    private static final String ADD_POPULARITY_SQL = """
+            INSERT INTO quiz_popularity (quiz_id, score, scored_at, sessions_started, sessions_completed)
+            SELECT id, ?, ?, ?, ? FROM quizzes WHERE id = ?
+            ON CONFLICT (quiz_id) DO UPDATE
+               SET score = quiz_popularity.score
+                           * power(2.0, -extract(epoch FROM (EXCLUDED.scored_at - quiz_popularity.scored_at))::float8 / ?)
+                           + EXCLUDED.score,
+                   scored_at = EXCLUDED.scored_at,
+                   sessions_started = quiz_popularity.sessions_started + EXCLUDED.sessions_started,
+                   sessions_completed = quiz_popularity.sessions_completed + EXCLUDED.sessions_completed
+            """;
+
+    private static final String TRENDING_SQL = """
+            SELECT p.quiz_id
+              FROM quiz_popularity p
+              JOIN quizzes q ON q.id = p.quiz_id
+             WHERE q.is_public
+             ORDER BY p.score * power(2.0, extract(epoch FROM (p.scored_at - ?))::float8 / ?) DESC, p.quiz_id
+             LIMIT ?
+            """;
+
+    private static final String SIGNATURE_TEXT_SQL = """
+            SELECT concat_ws(' ', q.title, q.description,
+                             (SELECT string_agg(question_text, ' ') FROM questions WHERE quiz_id = q.id))
+              FROM quizzes q
+             WHERE q.id = ?
+            """;
+
+    private static final String SAVE_SIGNATURE_SQL = """
+            INSERT INTO quiz_signatures (quiz_id, signature, computed_at)
+            SELECT id, ?, now() FROM quizzes WHERE id = ?
+            ON CONFLICT (quiz_id) DO UPDATE SET signature = EXCLUDED.signature, computed_at = EXCLUDED.computed_at
+            """;
+
+    private static final String SAVE_BUCKETS_SQL = """
+            INSERT INTO quiz_signature_buckets (band, bucket, quiz_id)
+            SELECT (probe.band - 1)::int, probe.bucket, s.quiz_id
+              FROM quiz_signatures s, unnest(?::bigint[]) WITH ORDINALITY AS probe(bucket, band)
+             WHERE s.quiz_id = ?
+            """;
+
+    private static final String MISSING_SIGNATURES_SQL = """
+            SELECT q.id
+              FROM quizzes q
+             WHERE NOT EXISTS (SELECT 1 FROM quiz_signatures s WHERE s.quiz_id = q.id)
+             LIMIT ?
+            """;
+
+    // One primary key probe per band; the candidate cap applies after private quizzes are left out
+    private static final String SIGNATURE_CANDIDATES_SQL = """
+            SELECT s.quiz_id, s.signature
+              FROM quiz_signatures s
+             WHERE s.quiz_id IN (SELECT b.quiz_id
+                                   FROM unnest(?::bigint[]) WITH ORDINALITY AS probe(bucket, band)
+                                   JOIN quiz_signature_buckets b ON b.band = probe.band - 1 AND b.bucket = probe.bucket
+                                   JOIN quizzes q ON q.id = b.quiz_id
+                                  WHERE q.is_public AND b.quiz_id <> ?
+                                  GROUP BY b.quiz_id
+                                  ORDER BY count(*) DESC, b.quiz_id
+                                  LIMIT ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Quiz> findById(UUID id, QuizFetchPlan plan) {
+        Quiz quiz = entityManager.find(Quiz.class, id,
+                Map.of("jakarta.persistence.loadgraph", entityManager.getEntityGraph(plan.graphName())));
+        if (quiz != null && plan.answers()) {
+            // Answers are not in the graph: a second collection joined onto the questions bag would duplicate
+            // its rows. Join-fetching them here initializes them on the questions already in the context.
+            entityManager.createQuery(
+                            "SELECT DISTINCT q FROM Question q LEFT JOIN FETCH q.answers WHERE q.quiz = :quiz",
+                            Question.class)
+                    .setParameter("quiz", quiz)
+                    .getResultList();
+        }
+        return Optional.ofNullable(quiz);
+    }
+
+    @Override
+    public boolean copyQuiz(UUID sourceId, UUID copyId, UUID creatorId, String title) {
+        if (jdbcTemplate.update(COPY_QUIZ_SQL, copyId, title, creatorId, sourceId) == 0) {
+            return false;
+        }
+        String salt = copyId.toString();
+        jdbcTemplate.update(COPY_QUESTIONS_SQL, salt, copyId, sourceId);
+        jdbcTemplate.update(COPY_ANSWERS_SQL, salt, salt, sourceId);
+        return true;
+    }
+
+    @Override
+    public List<String> findTitlesStartingWith(UUID creatorId, String prefix) {
+        String pattern = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return jdbcTemplate.queryForList("SELECT title FROM quizzes WHERE creator_id = ? AND title LIKE ?",
+                String.class, creatorId, pattern);
+    }
+
+    @Override
+    public void addPopularity(List<PopularityDelta> deltas, LocalDateTime scoredAt, double halfLifeSeconds) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(ADD_POPULARITY_SQL, deltas, deltas.size(), (ps, delta) -> {
+            ps.setDouble(1, delta.score());
+            ps.setObject(2, scoredAt);
+            ps.setLong(3, delta.started());
+            ps.setLong(4, delta.completed());
+            ps.setObject(5, delta.quizId());
+            ps.setDouble(6, halfLifeSeconds);
+        });
+    }
+
+    @Override
+    public List<UUID> findTrendingQuizIds(LocalDateTime at, double halfLifeSeconds, int limit) {
+        return jdbcTemplate.queryForList(TRENDING_SQL, UUID.class, at, halfLifeSeconds, limit);
+    }
+
+    @Override
+    public Optional<String> findSignatureText(UUID quizId) {
+        return jdbcTemplate.queryForList(SIGNATURE_TEXT_SQL, String.class, quizId).stream().findFirst();
+    }
+
+    @Override
+    public Optional<byte[]> findSignature(UUID quizId) {
+        return jdbcTemplate.queryForList("SELECT signature FROM quiz_signatures WHERE quiz_id = ?", byte[].class, quizId)
+                .stream().findFirst();
+    }
+
+    @Override
+    public void saveSignature(UUID quizId, byte[] signature, long[] buckets) {
+        jdbcTemplate.update(SAVE_SIGNATURE_SQL, signature, quizId);
+        jdbcTemplate.update("DELETE FROM quiz_signature_buckets WHERE quiz_id = ?", quizId);
+        if (buckets.length > 0) {
+            jdbcTemplate.update(connection -> {
+                PreparedStatement ps = connection.prepareStatement(SAVE_BUCKETS_SQL);
+                ps.setArray(1, connection.createArrayOf("bigint", LongStream.of(buckets).boxed().toArray()));
+                ps.setObject(2, quizId);
+                return ps;
+            });
+        }
+    }
+
+    @Override
+    public List<UUID> findQuizIdsWithoutSignature(int limit) {
+        return jdbcTemplate.queryForList(MISSING_SIGNATURES_SQL, UUID.class, limit);
+    }
+
+    @Override
+    public List<SignatureRow> findSignatureCandidates(UUID quizId, long[] buckets, int limit) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SIGNATURE_CANDIDATES_SQL);
+            ps.setArray(1, connection.createArrayOf("bigint", LongStream.of(buckets).boxed().toArray()));
+            ps.setObject(2, quizId);
+            ps.setInt(3, limit);
+            return ps;
+        }, (rs, rowNum) -> new SignatureRow(rs.getObject(1, UUID.class), rs.getBytes(2)));
+    }
+}
@@ -3,13 +3,20 @@ package com.uznai.repository;
 import com.uznai.entity.Quiz;
 import com.uznai.entity.QuizResult;
 import com.uznai.entity.User;
+import com.uznai.entity.enums.ResultStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -22,9 +29,50 @@ public interface QuizResultRepository extends JpaRepository<QuizResult, UUID> {
     @Query("SELECT r FROM QuizResult r WHERE r.session.id = :sessionId")
     Optional<QuizResult> findBySessionId(@Param("sessionId") UUID sessionId);
     
-    @Query("SELECT r FROM QuizResult r WHERE r.user = :user AND r.quiz = :quiz ORDER BY r.score DESC")
+    // Returns nothing while another transaction holds the row, so each result is graded by one worker only;
+    // a lock timeout of -2 means SKIP LOCKED
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT r FROM QuizResult r WHERE r.id = :id AND r.status = :status")
+    Optional<QuizResult> lockByIdAndStatus(@Param("id") UUID id, @Param("status") ResultStatus status);
+
+    @Query("SELECT r.id FROM QuizResult r WHERE r.status = :status AND r.createdAt < :createdBefore ORDER BY r.createdAt")
+    List<UUID> findIdsByStatusAndCreatedAtBefore(
+            @Param("status") ResultStatus status,
+            @Param("createdBefore") LocalDateTime createdBefore,
+            Pageable pageable);
+    
+    // PENDING and FAILED rows carry a placeholder score of 0 and are left out
+    @Query("SELECT r FROM QuizResult r WHERE r.user = :user AND r.quiz = :quiz "
+            + "AND r.status = com.uznai.entity.enums.ResultStatus.READY ORDER BY r.score DESC")
     Page<QuizResult> findTopResultsByUserAndQuiz(
             @Param("user") User user,
             @Param("quiz") Quiz quiz,
             Pageable pageable);
-} 
\ No newline at end of file
+
+    // Keyset pages, newest first; see KeysetCursor and the indexes in V9
+    @Query(value = """
+            SELECT * FROM quiz_results
+             WHERE user_id = :userId AND (completed_at, id) < (:completedAt, :id)
+             ORDER BY completed_at DESC, id DESC
+             LIMIT :limit
+            """, nativeQuery = true)
+    List<QuizResult> findByUserBefore(
+            @Param("userId") UUID userId,
+            @Param("completedAt") LocalDateTime completedAt,
+            @Param("id") UUID id,
+            @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT * FROM quiz_results
+             WHERE user_id = :userId AND quiz_id = :quizId AND (completed_at, id) < (:completedAt, :id)
+             ORDER BY completed_at DESC, id DESC
+             LIMIT :limit
+            """, nativeQuery = true)
+    List<QuizResult> findByUserAndQuizBefore(
+            @Param("userId") UUID userId,
+            @Param("quizId") UUID quizId,
+            @Param("completedAt") LocalDateTime completedAt,
+            @Param("id") UUID id,
+            @Param("limit") int limit);
+}
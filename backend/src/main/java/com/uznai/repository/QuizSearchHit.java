@@ -0,0 +1,8 @@
+package com.uznai.repository;
+
+import java.util.UUID;
+
+public interface QuizSearchHit {
+    UUID getId();
+    float getRank();
+}
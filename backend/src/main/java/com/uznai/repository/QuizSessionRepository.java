@@ -16,7 +16,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface QuizSessionRepository extends JpaRepository<QuizSession, UUID> {
+public interface QuizSessionRepository extends JpaRepository<QuizSession, UUID>, QuizSessionRepositoryCustom {
     List<QuizSession> findByUserAndStatus(User user, SessionStatus status);
     
     List<QuizSession> findByUserAndStatusAndExpiresAtBefore(User user, SessionStatus status, LocalDateTime time);
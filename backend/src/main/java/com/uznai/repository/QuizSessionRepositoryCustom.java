@@ -0,0 +1,18 @@
+package com.uznai.repository;
+
+import com.uznai.entity.enums.SessionStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public interface QuizSessionRepositoryCustom {
+    List<UUID> expireActiveSessions(LocalDateTime expiredBefore, int limit);
+
+    // Ends the given sessions that are still ACTIVE and due: COMPLETED when their quiz auto-submits, EXPIRED otherwise
+    Map<UUID, SessionStatus> closeDueSessions(Collection<UUID> sessionIds, LocalDateTime now);
+
+    List<TimedSessionRow> findActiveTimedSessions();
+}
@@ -0,0 +1,75 @@
+package com.uznai.repository;
+
+import com.uznai.entity.enums.SessionStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class QuizSessionRepositoryImpl implements QuizSessionRepositoryCustom {
+
+    // Served by the partial index idx_quiz_sessions_active_expires_at. SKIP LOCKED leaves sessions that a
+    // request is completing right now to that request; bumping version makes its pending save fail instead
+    // of silently overwriting the expiry.
+    private static final String EXPIRE_SQL = """
+            UPDATE quiz_sessions
+               SET status = 'EXPIRED', updated_at = now(), version = coalesce(version, 0) + 1
+             WHERE id IN (SELECT id
+                            FROM quiz_sessions
+                           WHERE status = 'ACTIVE' AND expires_at < ?
+                           ORDER BY expires_at
+                           LIMIT ?
+                             FOR NO KEY UPDATE SKIP LOCKED)
+            RETURNING id
+            """;
+
+    private static final String CLOSE_DUE_SQL = """
+            UPDATE quiz_sessions s
+               SET status = CASE WHEN q.auto_submit THEN 'COMPLETED' ELSE 'EXPIRED' END,
+                   completed_at = CASE WHEN q.auto_submit THEN s.expires_at ELSE s.completed_at END,
+                   updated_at = now(), version = coalesce(s.version, 0) + 1
+              FROM quizzes q
+             WHERE q.id = s.quiz_id AND s.id = ANY (?) AND s.status = 'ACTIVE' AND s.expires_at <= ?
+            RETURNING s.id, s.status
+            """;
+
+    private static final String ACTIVE_TIMED_SQL = """
+            SELECT s.id, s.expires_at
+              FROM quiz_sessions s
+              JOIN quizzes q ON q.id = s.quiz_id
+             WHERE s.status = 'ACTIVE' AND q.time_limit_seconds IS NOT NULL
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<UUID> expireActiveSessions(LocalDateTime expiredBefore, int limit) {
+        return jdbcTemplate.queryForList(EXPIRE_SQL, UUID.class, expiredBefore, limit);
+    }
+
+    @Override
+    public Map<UUID, SessionStatus> closeDueSessions(Collection<UUID> sessionIds, LocalDateTime now) {
+        Map<UUID, SessionStatus> closed = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(CLOSE_DUE_SQL);
+            ps.setArray(1, connection.createArrayOf("uuid", sessionIds.toArray()));
+            ps.setObject(2, now);
+            return ps;
+        }, (RowCallbackHandler) rs -> closed.put(rs.getObject(1, UUID.class), SessionStatus.valueOf(rs.getString(2))));
+        return closed;
+    }
+
+    @Override
+    public List<TimedSessionRow> findActiveTimedSessions() {
+        return jdbcTemplate.query(ACTIVE_TIMED_SQL, (rs, rowNum) -> new TimedSessionRow(
+                rs.getObject(1, UUID.class), rs.getObject(2, LocalDateTime.class)));
+    }
+}
@@ -0,0 +1,13 @@
+package com.uznai.repository;
+
+import com.uznai.entity.QuizSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface QuizSnapshotRepository extends JpaRepository<QuizSnapshot, UUID> {
+    Optional<QuizSnapshot> findByQuizIdAndVersion(UUID quizId, Integer version);
+}
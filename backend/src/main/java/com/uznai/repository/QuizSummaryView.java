@@ -0,0 +1,20 @@
+package com.uznai.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Exactly what a catalog row shows; read with a JPQL constructor expression instead of hydrating Quiz and User
+public record QuizSummaryView(
+        UUID id,
+        String title,
+        String description,
+        boolean isPublic,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        UUID creatorId,
+        String creatorUsername,
+        String creatorAvatarUrl,
+        long questionCount,
+        long ratingCount,
+        long ratingSum) {
+}
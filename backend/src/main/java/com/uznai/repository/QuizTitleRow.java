@@ -0,0 +1,9 @@
+package com.uznai.repository;
+
+import java.util.UUID;
+
+public interface QuizTitleRow {
+    UUID getId();
+    String getTitle();
+    long getAttempts();
+}
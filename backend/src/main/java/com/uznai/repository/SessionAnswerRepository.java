@@ -7,12 +7,13 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface SessionAnswerRepository extends JpaRepository<SessionAnswer, UUID> {
+public interface SessionAnswerRepository extends JpaRepository<SessionAnswer, UUID>, SessionAnswerRepositoryCustom {
     @Query("SELECT sa FROM SessionAnswer sa WHERE sa.session = :session ORDER BY sa.question.orderIndex")
     List<SessionAnswer> findBySessionOrderByQuestionOrderIndex(@Param("session") QuizSession session);
     
@@ -21,6 +22,14 @@ public interface SessionAnswerRepository extends JpaRepository<SessionAnswer, UU
             @Param("session") QuizSession session,
             @Param("questionId") UUID questionId);
     
+    @Query("SELECT sa FROM SessionAnswer sa WHERE sa.session.id = :sessionId")
+    List<SessionAnswer> findBySessionId(@Param("sessionId") UUID sessionId);
+
+    @Query("SELECT sa FROM SessionAnswer sa WHERE sa.session.id = :sessionId AND sa.question.id IN :questionIds")
+    List<SessionAnswer> findBySessionIdAndQuestionIdIn(
+            @Param("sessionId") UUID sessionId,
+            @Param("questionIds") Collection<UUID> questionIds);
+    
     @Query("SELECT COUNT(sa) FROM SessionAnswer sa WHERE sa.session = :session")
     long countBySession(@Param("session") QuizSession session);
 } 
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.uznai.repository;
+
+import java.util.List;
+
+public interface SessionAnswerRepositoryCustom {
+    void upsert(SessionAnswerRow row);
+
+    void batchWrite(List<SessionAnswerRow> rows);
+}
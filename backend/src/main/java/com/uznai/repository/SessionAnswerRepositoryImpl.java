@@ -0,0 +1,60 @@
+package com.uznai.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class SessionAnswerRepositoryImpl implements SessionAnswerRepositoryCustom {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO session_answers (id, session_id, question_id, selected_answer_ids, selected_mask, text_answer, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, now(), now())
+            ON CONFLICT (session_id, question_id) DO UPDATE
+               SET selected_answer_ids = EXCLUDED.selected_answer_ids,
+                   selected_mask = EXCLUDED.selected_mask,
+                   text_answer = EXCLUDED.text_answer,
+                   updated_at = now()
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void upsert(SessionAnswerRow row) {
+        jdbcTemplate.update(UPSERT_SQL, ps -> setRow(ps, row));
+    }
+
+    @Override
+    public void batchWrite(List<SessionAnswerRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, rows.size(), SessionAnswerRepositoryImpl::setRow);
+    }
+
+    private static void setRow(PreparedStatement ps, SessionAnswerRow row) throws SQLException {
+        ps.setObject(1, UUID.randomUUID());
+        ps.setObject(2, row.sessionId());
+        ps.setObject(3, row.questionId());
+        if (row.selectedAnswerIds() != null) {
+            ps.setArray(4, ps.getConnection().createArrayOf("uuid", row.selectedAnswerIds()));
+        } else {
+            ps.setNull(4, Types.ARRAY);
+        }
+        if (row.selectedMask() != null) {
+            ps.setLong(5, row.selectedMask());
+        } else {
+            ps.setNull(5, Types.BIGINT);
+        }
+        if (row.textAnswer() != null) {
+            ps.setString(6, row.textAnswer());
+        } else {
+            ps.setNull(6, Types.VARCHAR);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.uznai.repository;
+
+import java.util.UUID;
+
+public record SessionAnswerRow(UUID sessionId, UUID questionId, UUID[] selectedAnswerIds, Long selectedMask,
+                               String textAnswer) {
+}
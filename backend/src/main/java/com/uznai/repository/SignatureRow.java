@@ -0,0 +1,6 @@
+package com.uznai.repository;
+
+import java.util.UUID;
+
+public record SignatureRow(UUID quizId, byte[] signature) {
+}
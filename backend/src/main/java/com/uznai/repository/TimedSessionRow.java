@@ -0,0 +1,7 @@
+package com.uznai.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record TimedSessionRow(UUID sessionId, LocalDateTime expiresAt) {
+}
@@ -30,9 +30,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final CustomUserDetailsService customUserDetailsService;
     private final AntPathMatcher pathMatcher = new AntPathMatcher();
 
+    // Title suggestions only list public quizzes and run on every keystroke, so they skip the user lookup
     private final List<String> PUBLIC_PATHS = Arrays.asList(
         "/api/v1/auth/register",
-        "/api/v1/auth/login"
+        "/api/v1/auth/login",
+        "/api/v1/quizzes/suggest"
     );
 
     @Override
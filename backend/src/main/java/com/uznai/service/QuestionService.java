@@ -14,11 +14,13 @@ import java.util.stream.Collectors;
 
 public interface QuestionService {
     List<QuestionResponse> getQuestionsByQuizId(UUID quizId, UserPrincipal userPrincipal);
+    String getQuestionsETag(UUID quizId, UserPrincipal userPrincipal);
     QuestionResponse createQuestion(UUID quizId, CreateQuestionRequest request, UserPrincipal userPrincipal);
     QuestionResponse updateQuestion(UUID questionId, UpdateQuestionRequest request, UserPrincipal userPrincipal);
     void deleteQuestion(UUID questionId, UserPrincipal userPrincipal);
     AnswerResponse createAnswer(UUID quizId, UUID questionId, CreateAnswerRequest request, UserPrincipal userPrincipal);
     AnswerResponse updateAnswer(UUID answerId, UpdateAnswerRequest request, UserPrincipal userPrincipal);
     List<AnswerResponse> getAnswersByQuestionId(UUID questionId, UserPrincipal userPrincipal);
+    String getAnswersETag(UUID questionId, UserPrincipal userPrincipal);
     void deleteAnswer(UUID answerId, UserPrincipal userPrincipal);
 } 
\ No newline at end of file
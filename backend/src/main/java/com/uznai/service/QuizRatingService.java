@@ -0,0 +1,15 @@
+package com.uznai.service;
+
+import com.uznai.dto.request.RateQuizRequest;
+import com.uznai.dto.response.QuizRatingResponse;
+import com.uznai.security.UserPrincipal;
+
+import java.util.UUID;
+
+public interface QuizRatingService {
+    QuizRatingResponse getRating(UUID quizId, UserPrincipal userPrincipal);
+
+    QuizRatingResponse rateQuiz(UUID quizId, RateQuizRequest request, UserPrincipal userPrincipal);
+
+    void deleteRating(UUID quizId, UserPrincipal userPrincipal);
+}
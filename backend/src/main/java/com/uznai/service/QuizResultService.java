@@ -1,5 +1,6 @@
 package com.uznai.service;
 
+import com.uznai.dto.response.CursorPage;
 import com.uznai.dto.response.QuizResultResponse;
 import com.uznai.security.UserPrincipal;
 import org.springframework.data.domain.Page;
@@ -13,6 +14,10 @@ public interface QuizResultService {
     Page<QuizResultResponse> getUserResults(UserPrincipal userPrincipal, Pageable pageable);
     
     Page<QuizResultResponse> getUserResultsForQuiz(UUID quizId, UserPrincipal userPrincipal, Pageable pageable);
+
+    CursorPage<QuizResultResponse> getUserResultsSlice(UserPrincipal userPrincipal, String cursor, int size);
+
+    CursorPage<QuizResultResponse> getUserResultsForQuizSlice(UUID quizId, UserPrincipal userPrincipal, String cursor, int size);
     
     QuizResultResponse getLatestResultForQuiz(UUID quizId, UserPrincipal userPrincipal);
 } 
\ No newline at end of file
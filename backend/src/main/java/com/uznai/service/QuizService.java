@@ -2,8 +2,12 @@ package com.uznai.service;
 
 import com.uznai.dto.request.CreateQuizRequest;
 import com.uznai.dto.request.UpdateQuizRequest;
+import com.uznai.dto.response.CursorPage;
+import com.uznai.dto.response.PublishedQuizResponse;
 import com.uznai.dto.response.QuizResponse;
 import com.uznai.dto.response.QuizSummaryResponse;
+import com.uznai.dto.response.QuizTitleSuggestionResponse;
+import com.uznai.dto.response.RegradeProgressResponse;
 import com.uznai.entity.Quiz;
 import com.uznai.entity.User;
 import com.uznai.exception.NotFoundException;
@@ -18,6 +22,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.uznai.security.UserPrincipal;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface QuizService {
@@ -25,7 +30,19 @@ public interface QuizService {
     Page<QuizSummaryResponse> getCreatedQuizzes(UserPrincipal userPrincipal, Pageable pageable);
     Page<QuizSummaryResponse> getPublicQuizzes(Pageable pageable);
     Page<QuizSummaryResponse> getPublicQuizzesByUser(UUID userId, Pageable pageable);
+    CursorPage<QuizSummaryResponse> getUserQuizzesSlice(UserPrincipal userPrincipal, String cursor, int size);
+    CursorPage<QuizSummaryResponse> getCreatedQuizzesSlice(UserPrincipal userPrincipal, String cursor, int size);
+    CursorPage<QuizSummaryResponse> getPublicQuizzesSlice(String cursor, int size);
+    CursorPage<QuizSummaryResponse> searchQuizzes(UserPrincipal userPrincipal, String query, String cursor, int size);
+    List<QuizTitleSuggestionResponse> suggestQuizTitles(String prefix, int limit);
+    List<QuizSummaryResponse> getSimilarQuizzes(UUID quizId, UserPrincipal userPrincipal, int limit);
     QuizResponse getQuizById(UUID quizId, UserPrincipal userPrincipal);
+    QuizResponse forkQuiz(UUID quizId, UserPrincipal userPrincipal);
+    String getQuizETag(UUID quizId, UserPrincipal userPrincipal);
+    byte[] getQuizJson(UUID quizId, UserPrincipal userPrincipal);
+    PublishedQuizResponse publishQuiz(UUID quizId, UserPrincipal userPrincipal);
+    RegradeProgressResponse regradeQuiz(UUID quizId, UserPrincipal userPrincipal);
+    RegradeProgressResponse getRegradeProgress(UUID quizId, UserPrincipal userPrincipal);
     QuizResponse createQuiz(CreateQuizRequest request, UserPrincipal userPrincipal);
     QuizResponse updateQuiz(UUID quizId, UpdateQuizRequest request, UserPrincipal userPrincipal);
     void deleteQuiz(UUID quizId, UserPrincipal userPrincipal);
@@ -1,9 +1,11 @@
 package com.uznai.service;
 
+import com.uznai.dto.request.BatchSubmitAnswersRequest;
 import com.uznai.dto.request.StartQuizSessionRequest;
 import com.uznai.dto.request.SubmitAnswerRequest;
 import com.uznai.dto.response.QuizQuestionResponse;
 import com.uznai.dto.response.QuizSessionResponse;
+import com.uznai.dto.response.QuizSessionSnapshotResponse;
 import com.uznai.security.UserPrincipal;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -17,8 +19,12 @@ public interface QuizSessionService {
     
     Page<QuizQuestionResponse> getSessionQuestions(UUID sessionId, UserPrincipal userPrincipal, Pageable pageable);
     
+    QuizSessionSnapshotResponse getSessionSnapshot(UUID sessionId, UserPrincipal userPrincipal);
+    
     void submitAnswer(UUID sessionId, UUID questionId, SubmitAnswerRequest request, UserPrincipal userPrincipal);
     
+    void submitAnswers(UUID sessionId, BatchSubmitAnswersRequest request, UserPrincipal userPrincipal);
+    
     QuizSessionResponse completeSession(UUID sessionId, UserPrincipal userPrincipal);
     
     void expireSession(UUID sessionId, UserPrincipal userPrincipal);
@@ -0,0 +1,82 @@
+package com.uznai.service.cache;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/*
+ * Synchronized access-ordered map that drops the least recently used entry past maxEntries. Every removal
+ * bumps an invalidation stamp: a caller that takes stamp() before loading a value and stores it with
+ * putIfUnchanged() cannot bring back an entry that was removed while the load was running.
+ */
+public class BoundedLruCache<K, V> {
+
+    private final Map<K, V> entries;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public BoundedLruCache(int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public V get(K key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    // For values that never go stale, such as immutable snapshots
+    public void put(K key, V value) {
+        synchronized (entries) {
+            entries.put(key, value);
+        }
+    }
+
+    // Take before reading the value and pass to putIfUnchanged()
+    public long stamp() {
+        return invalidations.get();
+    }
+
+    public boolean putIfUnchanged(K key, V value, long stamp) {
+        synchronized (entries) {
+            if (invalidations.get() != stamp) {
+                return false;
+            }
+            entries.put(key, value);
+            return true;
+        }
+    }
+
+    public void remove(K key) {
+        invalidations.incrementAndGet();
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public void removeAll(Collection<? extends K> keys) {
+        invalidations.incrementAndGet();
+        synchronized (entries) {
+            keys.forEach(entries::remove);
+        }
+    }
+
+    public void removeIf(Predicate<? super K> filter) {
+        invalidations.incrementAndGet();
+        synchronized (entries) {
+            entries.keySet().removeIf(filter);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.uznai.service.catalog;
+
+import com.uznai.dto.response.QuizSummaryResponse;
+import com.uznai.service.cache.BoundedLruCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/*
+ * Response cache for the first pages of the public catalog and of each creator's public quizzes. Concurrent
+ * misses on a key share one load, so a cold or freshly invalidated page reaches Postgres once. QuizServiceImpl
+ * invalidates the public catalog and the creator's pages when a public quiz changes; the TTL only bounds
+ * staleness from changes made elsewhere, such as a creator renaming themselves or new ratings.
+ */
+@Component
+public class CatalogCache {
+
+    // creatorId is null for the public catalog
+    record Key(UUID creatorId, int page, int size, Sort sort) {
+    }
+
+    private record Entry(Page<QuizSummaryResponse> page, long loadedAtNanos) {
+    }
+
+    private final int maxPages;
+    private final int maxPageSize;
+    private final long ttlNanos;
+    private final BoundedLruCache<Key, Entry> entries;
+    private final ConcurrentMap<Key, CompletableFuture<Page<QuizSummaryResponse>>> loading = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter joined;
+    private final Timer loads;
+
+    public CatalogCache(MeterRegistry meterRegistry,
+                        @Value("${uznai.catalog.cache.max-entries:1000}") int maxEntries,
+                        @Value("${uznai.catalog.cache.max-pages:5}") int maxPages,
+                        @Value("${uznai.catalog.cache.max-page-size:50}") int maxPageSize,
+                        @Value("${uznai.catalog.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.maxPages = maxPages;
+        this.maxPageSize = maxPageSize;
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        this.entries = new BoundedLruCache<>(maxEntries);
+        this.hits = Counter.builder("uznai.catalog.cache.requests")
+                .description("Catalog page requests served from the cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("uznai.catalog.cache.requests")
+                .description("Catalog page requests that loaded the page")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.joined = Counter.builder("uznai.catalog.cache.requests")
+                .description("Catalog page requests that waited for another request's load")
+                .tag("result", "joined")
+                .register(meterRegistry);
+        this.loads = Timer.builder("uznai.catalog.cache.load")
+                .description("Time to load a catalog page on a miss")
+                .register(meterRegistry);
+        Gauge.builder("uznai.catalog.cache.size", entries, BoundedLruCache::size)
+                .description("Catalog pages currently cached")
+                .register(meterRegistry);
+    }
+
+    // Only the first maxPages pages of reasonable size are cached; deeper pages go straight to the loader
+    public Page<QuizSummaryResponse> get(UUID creatorId, Pageable pageable,
+                                         Supplier<Page<QuizSummaryResponse>> loader) {
+        if (pageable.isUnpaged() || pageable.getPageNumber() >= maxPages || pageable.getPageSize() > maxPageSize) {
+            return loader.get();
+        }
+        Key key = new Key(creatorId, pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+        Entry entry = entries.get(key);
+        if (entry != null && System.nanoTime() - entry.loadedAtNanos() < ttlNanos) {
+            hits.increment();
+            return entry.page();
+        }
+        return load(key, loader);
+    }
+
+    // Drops the public catalog and the creator's pages, now and again once the change has committed
+    public void invalidate(UUID creatorId) {
+        remove(creatorId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(creatorId);
+                }
+            });
+        }
+    }
+
+    private Page<QuizSummaryResponse> load(Key key, Supplier<Page<QuizSummaryResponse>> loader) {
+        CompletableFuture<Page<QuizSummaryResponse>> flight = new CompletableFuture<>();
+        CompletableFuture<Page<QuizSummaryResponse>> leader = loading.putIfAbsent(key, flight);
+        if (leader != null) {
+            joined.increment();
+            try {
+                return leader.join();
+            } catch (CompletionException ex) {
+                throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+            }
+        }
+
+        misses.increment();
+        long stamp = entries.stamp();
+        try {
+            Page<QuizSummaryResponse> page = loads.record(loader);
+            // An invalidation during the load means the page may already be stale
+            entries.putIfUnchanged(key, new Entry(page, System.nanoTime()), stamp);
+            flight.complete(page);
+            return page;
+        } catch (RuntimeException ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            loading.remove(key, flight);
+        }
+    }
+
+    private void remove(UUID creatorId) {
+        // Requests arriving from now on must not join a load that started before the change
+        loading.keySet().removeIf(key -> affected(key, creatorId));
+        entries.removeIf(key -> affected(key, creatorId));
+    }
+
+    private static boolean affected(Key key, UUID creatorId) {
+        return key.creatorId() == null || Objects.equals(key.creatorId(), creatorId);
+    }
+}
@@ -0,0 +1,152 @@
+package com.uznai.service.catalog;
+
+import com.uznai.repository.PopularityDelta;
+import com.uznai.repository.QuizRepository;
+import com.uznai.service.search.QuizTitleIndex;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/*
+ * Popularity for the "trending" catalog order. Starting and completing a session only bump per-quiz adders;
+ * a scheduled flush drains them into quiz_popularity, where each row's score decays with the configured
+ * half-life, and then reloads the trending ranking of public quizzes. Activity inside one flush interval is
+ * treated as happening at the flush, which is negligible against a half-life of hours. Counts not yet
+ * flushed when the process dies are lost; that only makes trending slightly less fresh. Flushed completions
+ * also raise the quizzes' weight in the title autocomplete.
+ */
+@Slf4j
+@Component
+public class QuizPopularityTracker {
+
+    private static final class Activity {
+        final DoubleAdder score = new DoubleAdder();
+        final LongAdder started = new LongAdder();
+        final LongAdder completed = new LongAdder();
+    }
+
+    private final QuizRepository quizRepository;
+    private final QuizTitleIndex quizTitleIndex;
+    private final double startWeight;
+    private final double completionWeight;
+    private final double halfLifeSeconds;
+    private final int maxRanked;
+    private final Map<UUID, Activity> pending = new ConcurrentHashMap<>();
+    private volatile List<UUID> trending = List.of();
+
+    public QuizPopularityTracker(QuizRepository quizRepository,
+                                 QuizTitleIndex quizTitleIndex,
+                                 @Value("${uznai.catalog.trending.start-weight:1.0}") double startWeight,
+                                 @Value("${uznai.catalog.trending.completion-weight:2.0}") double completionWeight,
+                                 @Value("${uznai.catalog.trending.half-life-hours:24}") long halfLifeHours,
+                                 @Value("${uznai.catalog.trending.max-ranked:1000}") int maxRanked) {
+        this.quizRepository = quizRepository;
+        this.quizTitleIndex = quizTitleIndex;
+        this.startWeight = startWeight;
+        this.completionWeight = completionWeight;
+        this.halfLifeSeconds = Duration.ofHours(halfLifeHours).toSeconds();
+        this.maxRanked = maxRanked;
+    }
+
+    public void recordStart(UUID quizId) {
+        Activity activity = pending.computeIfAbsent(quizId, id -> new Activity());
+        activity.score.add(startWeight);
+        activity.started.increment();
+    }
+
+    public void recordCompletion(UUID quizId) {
+        Activity activity = pending.computeIfAbsent(quizId, id -> new Activity());
+        activity.score.add(completionWeight);
+        activity.completed.increment();
+    }
+
+    // Public quiz ids, most popular first, as of the last flush
+    public List<UUID> trending() {
+        return trending;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void load() {
+        refreshRanking(LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${uznai.catalog.trending.flush-interval-ms:60000}",
+            initialDelayString = "${uznai.catalog.trending.flush-interval-ms:60000}")
+    public void flush() {
+        LocalDateTime now = LocalDateTime.now();
+        List<PopularityDelta> deltas = drain();
+        try {
+            quizRepository.addPopularity(deltas, now, halfLifeSeconds);
+        } catch (RuntimeException ex) {
+            // Put the activity back; the next flush decays it from then on
+            deltas.forEach(this::restore);
+            log.error("Failed to flush popularity for {} quizzes", deltas.size(), ex);
+            return;
+        }
+        // Autocomplete weight counts attempts, like the count it is loaded with
+        Map<UUID, Long> completions = deltas.stream()
+                .filter(delta -> delta.completed() > 0)
+                .collect(Collectors.toMap(PopularityDelta::quizId, PopularityDelta::completed));
+        if (!completions.isEmpty()) {
+            quizTitleIndex.addWeights(completions);
+        }
+        refreshRanking(now);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        try {
+            quizRepository.addPopularity(drain(), LocalDateTime.now(), halfLifeSeconds);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to flush popularity on shutdown", ex);
+        }
+    }
+
+    private List<PopularityDelta> drain() {
+        List<PopularityDelta> deltas = new ArrayList<>();
+        pending.forEach((quizId, activity) -> {
+            // Each adder is reset on its own, so an increment racing the drain lands in this flush or the next
+            double score = activity.score.sumThenReset();
+            long started = activity.started.sumThenReset();
+            long completed = activity.completed.sumThenReset();
+            if (score != 0 || started != 0 || completed != 0) {
+                deltas.add(new PopularityDelta(quizId, score, started, completed));
+            } else {
+                // Idle for a whole interval; drop the entry so the map only holds recently active quizzes.
+                // An increment racing the removal can be lost, which trending tolerates like a crash
+                pending.remove(quizId, activity);
+            }
+        });
+        return deltas;
+    }
+
+    private void restore(PopularityDelta delta) {
+        Activity activity = pending.computeIfAbsent(delta.quizId(), id -> new Activity());
+        activity.score.add(delta.score());
+        activity.started.add(delta.started());
+        activity.completed.add(delta.completed());
+    }
+
+    private void refreshRanking(LocalDateTime now) {
+        try {
+            trending = List.copyOf(quizRepository.findTrendingQuizIds(now, halfLifeSeconds, maxRanked));
+        } catch (RuntimeException ex) {
+            log.error("Failed to reload the trending ranking", ex);
+        }
+    }
+}
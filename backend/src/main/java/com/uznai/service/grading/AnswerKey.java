@@ -0,0 +1,11 @@
+package com.uznai.service.grading;
+
+import java.util.List;
+import java.util.UUID;
+
+public record AnswerKey(UUID quizId, Long version, List<QuestionKey> questions) {
+
+    public int questionCount() {
+        return questions.size();
+    }
+}
@@ -0,0 +1,59 @@
+package com.uznai.service.grading;
+
+import com.uznai.entity.Quiz;
+import com.uznai.repository.QuestionRepository;
+import com.uznai.service.cache.BoundedLruCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Objects;
+import java.util.UUID;
+
+@Slf4j
+@Component
+public class AnswerKeyCache {
+
+    private final QuestionRepository questionRepository;
+    private final GradingEngine gradingEngine;
+    private final BoundedLruCache<UUID, AnswerKey> entries;
+
+    public AnswerKeyCache(QuestionRepository questionRepository,
+                          GradingEngine gradingEngine,
+                          @Value("${uznai.grading.answer-key-cache.max-entries:1000}") int maxEntries) {
+        this.questionRepository = questionRepository;
+        this.gradingEngine = gradingEngine;
+        this.entries = new BoundedLruCache<>(maxEntries);
+    }
+
+    public AnswerKey getAnswerKey(Quiz quiz) {
+        UUID quizId = quiz.getId();
+        Long version = quiz.getVersion();
+        AnswerKey cached = entries.get(quizId);
+        if (cached != null && Objects.equals(cached.version(), version)) {
+            return cached;
+        }
+
+        long stamp = entries.stamp();
+        AnswerKey loaded = gradingEngine.compileAnswerKey(quizId, version, questionRepository.findWithAnswersByQuiz(quiz));
+        // An eviction during the load means the key we just built may already be stale
+        entries.putIfUnchanged(quizId, loaded, stamp);
+        log.debug("Compiled answer key for quizId={}, version={}, questions={}", quizId, version, loaded.questionCount());
+        return loaded;
+    }
+
+    public void evict(UUID quizId) {
+        entries.remove(quizId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Evict again once the change is visible, so a concurrent reload cannot re-cache the old key
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    entries.remove(quizId);
+                }
+            });
+        }
+    }
+}
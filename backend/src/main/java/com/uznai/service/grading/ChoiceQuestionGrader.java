@@ -0,0 +1,41 @@
+package com.uznai.service.grading;
+
+import com.uznai.entity.enums.QuestionType;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+@Component
+public class ChoiceQuestionGrader implements QuestionGrader {
+
+    private static final Set<QuestionType> SUPPORTED_TYPES = EnumSet.of(
+            QuestionType.MULTIPLE_CHOICE_SINGLE,
+            QuestionType.MULTIPLE_CHOICE_MULTIPLE,
+            QuestionType.TRUE_FALSE,
+            QuestionType.IMAGE,
+            QuestionType.CODE);
+
+    @Override
+    public Set<QuestionType> supportedTypes() {
+        return SUPPORTED_TYPES;
+    }
+
+    @Override
+    public boolean grade(QuestionKey key, SubmittedAnswer answer) {
+        if (answer.selectedMask() != null) {
+            // Masks are encoded against the same published layout the key was compiled from
+            return key.correctMask() != null && key.correctMask() != 0L
+                    && answer.selectedMask().longValue() == key.correctMask().longValue();
+        }
+        UUID[] selected = answer.selectedAnswerIds();
+        Set<UUID> correctIds = key.correctAnswerIds();
+        if (selected == null || correctIds.isEmpty() || selected.length != correctIds.size()) {
+            return false;
+        }
+        return new HashSet<>(Arrays.asList(selected)).equals(correctIds);
+    }
+}
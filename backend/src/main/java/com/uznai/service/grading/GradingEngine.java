@@ -0,0 +1,110 @@
+package com.uznai.service.grading;
+
+import com.uznai.dto.response.AnswerResponse;
+import com.uznai.dto.response.QuestionResponse;
+import com.uznai.entity.Answer;
+import com.uznai.entity.Question;
+import com.uznai.entity.enums.QuestionType;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Component
+public class GradingEngine {
+
+    private final Map<QuestionType, QuestionGrader> graders = new EnumMap<>(QuestionType.class);
+
+    public GradingEngine(List<QuestionGrader> graders) {
+        for (QuestionGrader grader : graders) {
+            for (QuestionType type : grader.supportedTypes()) {
+                QuestionGrader previous = this.graders.put(type, grader);
+                if (previous != null) {
+                    throw new IllegalStateException("Multiple graders registered for question type " + type);
+                }
+            }
+        }
+    }
+
+    // Expects questions in display order with their answers already fetched
+    public AnswerKey compileAnswerKey(UUID quizId, Long version, List<Question> questions) {
+        List<QuestionKey> keys = new ArrayList<>(questions.size());
+        for (Question question : questions) {
+            List<Answer> answers = question.getAnswers().stream()
+                    .sorted(Comparator.comparing(Answer::getOrderIndex))
+                    .toList();
+            List<Answer> correctAnswers = answers.stream().filter(Answer::isCorrect).toList();
+            keys.add(questionKey(question.getId(), question.getQuestionType(),
+                    answers.stream().map(Answer::getId).toList(),
+                    correctAnswers.stream().map(Answer::getId).toList(),
+                    correctAnswers.stream().map(Answer::getAnswerText).toList()));
+        }
+        return new AnswerKey(quizId, version, List.copyOf(keys));
+    }
+
+    // Same as compileAnswerKey, for the questions of a published quiz snapshot
+    public AnswerKey compilePublishedAnswerKey(UUID quizId, Long version, List<QuestionResponse> questions) {
+        List<QuestionKey> keys = new ArrayList<>(questions.size());
+        for (QuestionResponse question : questions) {
+            List<AnswerResponse> answers = question.getAnswers().stream()
+                    .sorted(Comparator.comparing(AnswerResponse::getOrderIndex))
+                    .toList();
+            List<AnswerResponse> correctAnswers = answers.stream().filter(AnswerResponse::isCorrect).toList();
+            keys.add(questionKey(question.getId(), question.getQuestionType(),
+                    answers.stream().map(AnswerResponse::getId).toList(),
+                    correctAnswers.stream().map(AnswerResponse::getId).toList(),
+                    correctAnswers.stream().map(AnswerResponse::getAnswerText).toList()));
+        }
+        return new AnswerKey(quizId, version, List.copyOf(keys));
+    }
+
+    public GradingResult grade(AnswerKey answerKey, Collection<SubmittedAnswer> answers) {
+        Map<UUID, SubmittedAnswer> answersByQuestion = new HashMap<>(answers.size() * 2);
+        for (SubmittedAnswer answer : answers) {
+            answersByQuestion.put(answer.questionId(), answer);
+        }
+
+        List<QuestionGrade> grades = new ArrayList<>(answerKey.questionCount());
+        int correctCount = 0;
+        for (QuestionKey key : answerKey.questions()) {
+            SubmittedAnswer answer = answersByQuestion.get(key.questionId());
+            boolean correct = answer != null && grade(key, answer);
+            if (correct) {
+                correctCount++;
+            }
+            grades.add(new QuestionGrade(
+                    key.questionId(),
+                    correct,
+                    answer != null ? answer.selectedAnswerIds() : null,
+                    answer != null ? answer.selectedMask() : null,
+                    answer != null ? answer.textAnswer() : null));
+        }
+        return new GradingResult(grades, correctCount);
+    }
+
+    public boolean grade(QuestionKey key, SubmittedAnswer answer) {
+        QuestionGrader grader = graders.get(key.questionType());
+        return grader != null && grader.grade(key, answer);
+    }
+
+    private static QuestionKey questionKey(UUID questionId, QuestionType type, List<UUID> answerIds,
+                                           List<UUID> correctIds, List<String> correctTexts) {
+        ShortAnswerMatcher textMatcher = type == QuestionType.SHORT_ANSWER ? ShortAnswerMatcher.compile(correctTexts) : null;
+        Long correctMask = null;
+        if (answerIds.size() <= QuestionKey.MAX_MASK_ANSWERS) {
+            long mask = 0L;
+            for (UUID id : correctIds) {
+                mask |= 1L << answerIds.indexOf(id);
+            }
+            correctMask = mask;
+        }
+        return new QuestionKey(questionId, type, Set.copyOf(correctIds), textMatcher, List.copyOf(answerIds), correctMask);
+    }
+}
@@ -0,0 +1,10 @@
+package com.uznai.service.grading;
+
+import java.util.List;
+
+public record GradingResult(List<QuestionGrade> grades, int correctCount) {
+
+    public int totalQuestions() {
+        return grades.size();
+    }
+}
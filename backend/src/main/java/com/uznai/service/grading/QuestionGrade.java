@@ -0,0 +1,6 @@
+package com.uznai.service.grading;
+
+import java.util.UUID;
+
+public record QuestionGrade(UUID questionId, boolean correct, UUID[] selectedAnswerIds, Long selectedMask, String textAnswer) {
+}
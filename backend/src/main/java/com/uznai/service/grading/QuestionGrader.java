@@ -0,0 +1,11 @@
+package com.uznai.service.grading;
+
+import com.uznai.entity.enums.QuestionType;
+
+import java.util.Set;
+
+public interface QuestionGrader {
+    Set<QuestionType> supportedTypes();
+
+    boolean grade(QuestionKey key, SubmittedAnswer answer);
+}
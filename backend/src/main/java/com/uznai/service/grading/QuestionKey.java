@@ -0,0 +1,50 @@
+package com.uznai.service.grading;
+
+import com.uznai.entity.enums.QuestionType;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+// textMatcher is null when the question has no correct answer text.
+// answerOrder lists every answer id in display order; bit i of a selection mask stands for answerOrder[i].
+// correctMask is null when the question has more answers than fit in a long.
+public record QuestionKey(
+        UUID questionId,
+        QuestionType questionType,
+        Set<UUID> correctAnswerIds,
+        ShortAnswerMatcher textMatcher,
+        List<UUID> answerOrder,
+        Long correctMask) {
+
+    public static final int MAX_MASK_ANSWERS = Long.SIZE;
+
+    // Returns null when the selection cannot be represented as a mask (unknown or repeated ids)
+    public Long encode(UUID[] selectedAnswerIds) {
+        if (correctMask == null || selectedAnswerIds == null) {
+            return null;
+        }
+        long mask = 0L;
+        for (UUID id : selectedAnswerIds) {
+            int position = answerOrder.indexOf(id);
+            if (position < 0 || (mask & (1L << position)) != 0) {
+                return null;
+            }
+            mask |= 1L << position;
+        }
+        return mask;
+    }
+
+    public UUID[] decode(long mask) {
+        UUID[] selected = new UUID[Long.bitCount(mask)];
+        int i = 0;
+        for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            int position = Long.numberOfTrailingZeros(remaining);
+            if (position >= answerOrder.size()) {
+                throw new IllegalStateException("Selection mask does not match question " + questionId);
+            }
+            selected[i++] = answerOrder.get(position);
+        }
+        return selected;
+    }
+}
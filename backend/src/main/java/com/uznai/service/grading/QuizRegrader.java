@@ -0,0 +1,278 @@
+package com.uznai.service.grading;
+
+import com.uznai.entity.enums.RegradeStatus;
+import com.uznai.repository.GradedAnswerRow;
+import com.uznai.repository.QuestionResultRepository;
+import com.uznai.repository.QuestionResultRepositoryCustom.ResultScore;
+import com.uznai.repository.QuizRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/*
+ * Re-applies the current answer key to the READY results of a quiz after its answers changed.
+ * Results are streamed through a server-side cursor and regraded in chunks on a fork-join pool;
+ * only question results whose grade flipped, and scores that moved, are written back, one
+ * transaction per chunk. Jobs run one at a time on a background thread. A change made while a
+ * quiz is being regraded queues exactly one more pass over it.
+ */
+@Slf4j
+@Component
+public class QuizRegrader {
+
+    private final QuizRepository quizRepository;
+    private final QuestionResultRepository questionResultRepository;
+    private final AnswerKeyCache answerKeyCache;
+    private final GradingEngine gradingEngine;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final int fetchSize;
+    private final int chunkSize;
+    private final ForkJoinPool pool;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("quiz-regrade").daemon().factory());
+    private final Map<UUID, RegradeJob> jobs = new ConcurrentHashMap<>();
+
+    public QuizRegrader(QuizRepository quizRepository,
+                        QuestionResultRepository questionResultRepository,
+                        AnswerKeyCache answerKeyCache,
+                        GradingEngine gradingEngine,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${uznai.grading.regrade.fetch-size:1000}") int fetchSize,
+                        @Value("${uznai.grading.regrade.chunk-size:500}") int chunkSize,
+                        @Value("${uznai.grading.regrade.parallelism:0}") int parallelism) {
+        this.quizRepository = quizRepository;
+        this.questionResultRepository = questionResultRepository;
+        this.answerKeyCache = answerKeyCache;
+        this.gradingEngine = gradingEngine;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.fetchSize = fetchSize;
+        this.chunkSize = chunkSize;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    // Schedules a regrade once the caller's transaction has committed the answer change
+    public void submit(UUID quizId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule(quizId);
+                }
+            });
+        } else {
+            schedule(quizId);
+        }
+    }
+
+    public synchronized RegradeProgress schedule(UUID quizId) {
+        RegradeJob current = jobs.get(quizId);
+        if (current != null && current.requestRerun()) {
+            return current.progress();
+        }
+        RegradeJob job = new RegradeJob(quizId);
+        jobs.put(quizId, job);
+        executor.execute(() -> run(job));
+        return job.progress();
+    }
+
+    public Optional<RegradeProgress> progress(UUID quizId) {
+        return Optional.ofNullable(jobs.get(quizId)).map(RegradeJob::progress);
+    }
+
+    @PreDestroy
+    void close() throws InterruptedException {
+        executor.shutdownNow();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Quiz regrade did not stop in time");
+        }
+        pool.shutdownNow();
+    }
+
+    private void run(RegradeJob job) {
+        do {
+            try {
+                regrade(job);
+            } catch (RuntimeException ex) {
+                log.error("Failed to regrade quizId={}", job.quizId, ex);
+                job.fail();
+                return;
+            }
+        } while (job.finishOrRestart());
+        log.info("Regraded quizId={}: {}", job.quizId, job.progress());
+    }
+
+    private void regrade(RegradeJob job) {
+        AnswerKey answerKey = readTransaction.execute(status -> quizRepository.findById(job.quizId)
+                .map(answerKeyCache::getAnswerKey)
+                .orElse(null));
+        if (answerKey == null) {
+            return;
+        }
+        Map<UUID, QuestionKey> keys = answerKey.questions().stream()
+                .collect(Collectors.toMap(QuestionKey::questionId, Function.identity()));
+
+        readTransaction.executeWithoutResult(status -> {
+            ChunkedPass pass = new ChunkedPass(job, keys);
+            questionResultRepository.streamLiveGradedAnswers(job.quizId, fetchSize, pass);
+            pass.finish();
+        });
+    }
+
+    private Regraded regradeResult(Map<UUID, QuestionKey> keys, List<GradedAnswerRow> answers) {
+        List<GradedAnswerRow> flipped = new ArrayList<>();
+        int score = 0;
+        for (GradedAnswerRow answer : answers) {
+            QuestionKey key = keys.get(answer.questionId());
+            boolean correct = key != null
+                    ? gradingEngine.grade(key, new SubmittedAnswer(answer.questionId(), answer.selectedAnswerIds(), answer.textAnswer()))
+                    : answer.correct();
+            if (correct != answer.correct()) {
+                flipped.add(answer);
+            }
+            if (correct) {
+                score++;
+            }
+        }
+        GradedAnswerRow first = answers.get(0);
+        return new Regraded(flipped, score != first.score() ? new ResultScore(first.resultId(), score) : null);
+    }
+
+    private record Regraded(List<GradedAnswerRow> flipped, ResultScore score) {
+    }
+
+    // Collects the streamed rows into per-result groups and regrades them chunkSize results at a time
+    private final class ChunkedPass implements Consumer<GradedAnswerRow> {
+
+        private final RegradeJob job;
+        private final Map<UUID, QuestionKey> keys;
+        private final List<List<GradedAnswerRow>> chunk = new ArrayList<>();
+        private List<GradedAnswerRow> result = new ArrayList<>();
+
+        private ChunkedPass(RegradeJob job, Map<UUID, QuestionKey> keys) {
+            this.job = job;
+            this.keys = keys;
+        }
+
+        @Override
+        public void accept(GradedAnswerRow row) {
+            if (!result.isEmpty() && !result.get(0).resultId().equals(row.resultId())) {
+                chunk.add(result);
+                result = new ArrayList<>();
+                if (chunk.size() >= chunkSize) {
+                    flush();
+                }
+            }
+            result.add(row);
+        }
+
+        void finish() {
+            if (!result.isEmpty()) {
+                chunk.add(result);
+                result = new ArrayList<>();
+            }
+            flush();
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<Regraded> regraded = pool.submit(() -> chunk.parallelStream()
+                    .map(answers -> regradeResult(keys, answers))
+                    .toList()).join();
+
+            List<GradedAnswerRow> flipped = new ArrayList<>();
+            List<ResultScore> scores = new ArrayList<>();
+            for (Regraded graded : regraded) {
+                flipped.addAll(graded.flipped());
+                if (graded.score() != null) {
+                    scores.add(graded.score());
+                }
+            }
+            if (!flipped.isEmpty() || !scores.isEmpty()) {
+                writeTransaction.executeWithoutResult(status -> {
+                    questionResultRepository.batchFlipCorrect(flipped);
+                    questionResultRepository.batchUpdateScores(scores);
+                });
+            }
+            job.advance(chunk.size(), scores.size(), flipped.size());
+            chunk.clear();
+        }
+    }
+
+    private static final class RegradeJob {
+
+        private final UUID quizId;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private RegradeStatus status = RegradeStatus.RUNNING;
+        private boolean rerun;
+        private long processedResults;
+        private long changedResults;
+        private long changedAnswers;
+        private LocalDateTime finishedAt;
+
+        private RegradeJob(UUID quizId) {
+            this.quizId = quizId;
+        }
+
+        // False once the job has finished; the caller then starts a new one
+        synchronized boolean requestRerun() {
+            if (status != RegradeStatus.RUNNING) {
+                return false;
+            }
+            rerun = true;
+            return true;
+        }
+
+        synchronized boolean finishOrRestart() {
+            if (rerun) {
+                rerun = false;
+                return true;
+            }
+            status = RegradeStatus.COMPLETED;
+            finishedAt = LocalDateTime.now();
+            return false;
+        }
+
+        synchronized void fail() {
+            status = RegradeStatus.FAILED;
+            finishedAt = LocalDateTime.now();
+        }
+
+        synchronized void advance(int results, int changedResults, int changedAnswers) {
+            this.processedResults += results;
+            this.changedResults += changedResults;
+            this.changedAnswers += changedAnswers;
+        }
+
+        synchronized RegradeProgress progress() {
+            return new RegradeProgress(quizId, status, processedResults, changedResults, changedAnswers,
+                    startedAt, finishedAt);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.uznai.service.grading;
+
+import com.uznai.entity.enums.RegradeStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record RegradeProgress(UUID quizId, RegradeStatus status, long processedResults, long changedResults,
+                              long changedAnswers, LocalDateTime startedAt, LocalDateTime finishedAt) {
+}
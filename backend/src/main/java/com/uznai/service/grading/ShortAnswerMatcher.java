@@ -0,0 +1,156 @@
+package com.uznai.service.grading;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/*
+ * Accepted answers of a SHORT_ANSWER question, folded once when the answer key is compiled.
+ * Folding applies NFKC, case folding, drops punctuation (dashes count as spaces) and collapses
+ * whitespace, so "  Saint-Étienne!" and "saint étienne" are the same answer. On top of that,
+ * longer answers without digits tolerate a small number of typos (Levenshtein distance).
+ */
+public final class ShortAnswerMatcher {
+
+    private final int[][] accepted;
+    private final int[] maxEdits;
+
+    private ShortAnswerMatcher(int[][] accepted, int[] maxEdits) {
+        this.accepted = accepted;
+        this.maxEdits = maxEdits;
+    }
+
+    // Returns null when no accepted answer survives folding
+    public static ShortAnswerMatcher compile(Collection<String> acceptedAnswers) {
+        List<int[]> forms = new ArrayList<>(acceptedAnswers.size());
+        for (String answer : acceptedAnswers) {
+            if (answer == null) {
+                continue;
+            }
+            int[] folded = fold(answer);
+            if (folded.length > 0 && forms.stream().noneMatch(form -> Arrays.equals(form, folded))) {
+                forms.add(folded);
+            }
+        }
+        if (forms.isEmpty()) {
+            return null;
+        }
+        int[][] accepted = forms.toArray(int[][]::new);
+        int[] maxEdits = new int[accepted.length];
+        for (int i = 0; i < accepted.length; i++) {
+            maxEdits[i] = maxEdits(accepted[i]);
+        }
+        return new ShortAnswerMatcher(accepted, maxEdits);
+    }
+
+    public boolean matches(String text) {
+        if (text == null) {
+            return false;
+        }
+        int[] input = fold(text);
+        if (input.length == 0) {
+            return false;
+        }
+        for (int[] form : accepted) {
+            if (Arrays.equals(form, input)) {
+                return true;
+            }
+        }
+        for (int i = 0; i < accepted.length; i++) {
+            if (maxEdits[i] > 0 && withinDistance(accepted[i], input, maxEdits[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static int[] fold(String text) {
+        String normalized = Normalizer.isNormalized(text, Normalizer.Form.NFKC)
+                ? text
+                : Normalizer.normalize(text, Normalizer.Form.NFKC);
+        int[] folded = new int[normalized.length()];
+        int length = 0;
+        boolean space = false;
+        for (int i = 0; i < normalized.length(); ) {
+            int codePoint = normalized.codePointAt(i);
+            i += Character.charCount(codePoint);
+            int type = Character.getType(codePoint);
+            if (Character.isWhitespace(codePoint) || Character.isSpaceChar(codePoint)
+                    || type == Character.DASH_PUNCTUATION || type == Character.CONNECTOR_PUNCTUATION) {
+                space = length > 0;
+            } else if (!isPunctuation(type)) {
+                if (space) {
+                    folded[length++] = ' ';
+                    space = false;
+                }
+                folded[length++] = Character.toLowerCase(Character.toUpperCase(codePoint));
+            }
+        }
+        return length == folded.length ? folded : Arrays.copyOf(folded, length);
+    }
+
+    // Levenshtein distance capped at maxEdits; only the diagonal band that can stay within the cap is filled
+    static boolean withinDistance(int[] expected, int[] actual, int maxEdits) {
+        if (Math.abs(expected.length - actual.length) > maxEdits) {
+            return false;
+        }
+        int outside = maxEdits + 1;
+        int[] previous = new int[actual.length + 1];
+        int[] current = new int[actual.length + 1];
+        for (int j = 0; j <= actual.length; j++) {
+            previous[j] = Math.min(j, outside);
+        }
+        for (int i = 1; i <= expected.length; i++) {
+            int from = Math.max(1, i - maxEdits);
+            int to = Math.min(actual.length, i + maxEdits);
+            current[from - 1] = from == 1 ? Math.min(i, outside) : outside;
+            int rowMin = current[from - 1];
+            for (int j = from; j <= to; j++) {
+                int substitution = previous[j - 1] + (expected[i - 1] == actual[j - 1] ? 0 : 1);
+                int distance = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                current[j] = Math.min(distance, outside);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < actual.length) {
+                current[to + 1] = outside;
+            }
+            if (rowMin > maxEdits) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[actual.length] <= maxEdits;
+    }
+
+    // Numbers and short words must match exactly
+    private static int maxEdits(int[] form) {
+        for (int codePoint : form) {
+            if (Character.isDigit(codePoint)) {
+                return 0;
+            }
+        }
+        return form.length <= 3 ? 0 : form.length <= 7 ? 1 : 2;
+    }
+
+    private static boolean isPunctuation(int type) {
+        return type == Character.START_PUNCTUATION
+                || type == Character.END_PUNCTUATION
+                || type == Character.INITIAL_QUOTE_PUNCTUATION
+                || type == Character.FINAL_QUOTE_PUNCTUATION
+                || type == Character.OTHER_PUNCTUATION;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof ShortAnswerMatcher other && Arrays.deepEquals(accepted, other.accepted);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.deepHashCode(accepted);
+    }
+}
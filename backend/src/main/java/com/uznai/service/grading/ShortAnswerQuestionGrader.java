@@ -0,0 +1,21 @@
+package com.uznai.service.grading;
+
+import com.uznai.entity.enums.QuestionType;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+@Component
+public class ShortAnswerQuestionGrader implements QuestionGrader {
+
+    @Override
+    public Set<QuestionType> supportedTypes() {
+        return EnumSet.of(QuestionType.SHORT_ANSWER);
+    }
+
+    @Override
+    public boolean grade(QuestionKey key, SubmittedAnswer answer) {
+        return key.textMatcher() != null && key.textMatcher().matches(answer.textAnswer());
+    }
+}
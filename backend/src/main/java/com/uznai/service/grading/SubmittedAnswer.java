@@ -0,0 +1,17 @@
+package com.uznai.service.grading;
+
+import com.uznai.entity.SessionAnswer;
+
+import java.util.UUID;
+
+public record SubmittedAnswer(UUID questionId, UUID[] selectedAnswerIds, Long selectedMask, String textAnswer) {
+
+    public SubmittedAnswer(UUID questionId, UUID[] selectedAnswerIds, String textAnswer) {
+        this(questionId, selectedAnswerIds, null, textAnswer);
+    }
+
+    public static SubmittedAnswer from(SessionAnswer answer) {
+        return new SubmittedAnswer(answer.getQuestion().getId(), answer.getSelectedAnswerIds(),
+                answer.getSelectedMask(), answer.getTextAnswer());
+    }
+}
@@ -16,16 +16,23 @@ import com.uznai.exception.UnauthorizedException;
 import com.uznai.mapper.AnswerMapper;
 import com.uznai.mapper.QuestionMapper;
 import com.uznai.repository.AnswerRepository;
+import com.uznai.repository.ContentTagRow;
 import com.uznai.repository.QuestionRepository;
+import com.uznai.repository.QuizFetchPlan;
 import com.uznai.repository.QuizRepository;
 import com.uznai.repository.UserRepository;
 import com.uznai.service.QuestionService;
+import com.uznai.service.grading.AnswerKeyCache;
+import com.uznai.service.catalog.CatalogCache;
+import com.uznai.service.grading.QuizRegrader;
+import com.uznai.service.search.SimilarQuizIndex;
 import com.uznai.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -39,24 +46,36 @@ public class QuestionServiceImpl implements QuestionService {
     private final QuestionMapper questionMapper;
     private final AnswerRepository answerRepository;
     private final AnswerMapper answerMapper;
+    private final AnswerKeyCache answerKeyCache;
+    private final QuizRegrader quizRegrader;
+    private final CatalogCache catalogCache;
+    private final SimilarQuizIndex similarQuizIndex;
 
     @Override
     @Transactional(readOnly = true)
     public List<QuestionResponse> getQuestionsByQuizId(UUID quizId, UserPrincipal userPrincipal) {
         User user = userRepository.findById(userPrincipal.getId())
                 .orElseThrow(() -> new NotFoundException("User not found"));
-        Quiz quiz = quizRepository.findById(quizId)
+        Quiz quiz = quizRepository.findById(quizId, QuizFetchPlan.CREATOR)
                 .orElseThrow(() -> new NotFoundException("Quiz not found"));
 
         if (!quiz.getCreator().equals(user) && !quiz.isPublic()) {
             throw new UnauthorizedException("You don't have access to this quiz");
         }
 
-        return questionRepository.findByQuizOrderByOrderIndex(quiz).stream()
+        return questionRepository.findWithAnswersByQuiz(quiz).stream()
                 .map(questionMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String getQuestionsETag(UUID quizId, UserPrincipal userPrincipal) {
+        ContentTagRow tag = quizRepository.findContentTag(quizId)
+                .orElseThrow(() -> new NotFoundException("Quiz not found"));
+        return requireReadable(tag, userPrincipal).getContentHash();
+    }
+
     @Override
     @Transactional
     public QuestionResponse createQuestion(UUID quizId, CreateQuestionRequest request, UserPrincipal userPrincipal) {
@@ -80,6 +99,12 @@ public class QuestionServiceImpl implements QuestionService {
         question.setVersion(1);
 
         Question savedQuestion = questionRepository.save(question);
+        answerKeyCache.evict(quiz.getId());
+        similarQuizIndex.refresh(quiz.getId());
+        // Catalog pages show the question count
+        if (quiz.isPublic()) {
+            catalogCache.invalidate(user.getId());
+        }
         return questionMapper.toResponse(savedQuestion);
     }
 
@@ -108,6 +133,8 @@ public class QuestionServiceImpl implements QuestionService {
         question.setVersion(question.getVersion() + 1);
 
         Question updatedQuestion = questionRepository.save(question);
+        answerKeyCache.evict(question.getQuiz().getId());
+        similarQuizIndex.refresh(question.getQuiz().getId());
         return questionMapper.toResponse(updatedQuestion);
     }
 
@@ -124,6 +151,11 @@ public class QuestionServiceImpl implements QuestionService {
         }
 
         questionRepository.delete(question);
+        answerKeyCache.evict(question.getQuiz().getId());
+        similarQuizIndex.refresh(question.getQuiz().getId());
+        if (question.getQuiz().isPublic()) {
+            catalogCache.invalidate(user.getId());
+        }
     }
 
     @Override
@@ -145,6 +177,11 @@ public class QuestionServiceImpl implements QuestionService {
         answer.setQuestion(question);
         System.out.println("[DEBUG] Mapped isCorrect: " + answer.isCorrect());
         Answer savedAnswer = answerRepository.save(answer);
+        answerKeyCache.evict(quiz.getId());
+        // A new correct answer changes the key as much as marking an existing one correct
+        if (savedAnswer.isCorrect()) {
+            quizRegrader.submit(quiz.getId());
+        }
         return answerMapper.toResponse(savedAnswer);
     }
 
@@ -165,6 +202,14 @@ public class QuestionServiceImpl implements QuestionService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String getAnswersETag(UUID questionId, UserPrincipal userPrincipal) {
+        ContentTagRow tag = questionRepository.findAnswersContentTag(questionId)
+                .orElseThrow(() -> new NotFoundException("Question not found"));
+        return requireReadable(tag, userPrincipal).getContentHash();
+    }
+
     @Override
     @Transactional
     public void deleteAnswer(UUID answerId, UserPrincipal userPrincipal) {
@@ -178,6 +223,10 @@ public class QuestionServiceImpl implements QuestionService {
         }
 
         answerRepository.delete(answer);
+        answerKeyCache.evict(answer.getQuestion().getQuiz().getId());
+        if (answer.isCorrect()) {
+            quizRegrader.submit(answer.getQuestion().getQuiz().getId());
+        }
     }
 
     @Override
@@ -196,6 +245,11 @@ public class QuestionServiceImpl implements QuestionService {
             throw new UnauthorizedException("Answer has been modified by another user");
         }
 
+        // Existing results only need regrading when the change can flip a grade
+        boolean regrade = answer.isCorrect() != Boolean.TRUE.equals(request.getCorrect())
+                || answer.getQuestion().getQuestionType() == QuestionType.SHORT_ANSWER
+                && answer.isCorrect() && !Objects.equals(answer.getAnswerText(), request.getAnswerText());
+
         answer.setAnswerText(request.getAnswerText());
         answer.setCorrect(request.getCorrect());
         answer.setOrderIndex(request.getOrderIndex());
@@ -205,6 +259,17 @@ public class QuestionServiceImpl implements QuestionService {
         answer.setVersion(answer.getVersion() + 1);
 
         Answer updatedAnswer = answerRepository.save(answer);
+        answerKeyCache.evict(answer.getQuestion().getQuiz().getId());
+        if (regrade) {
+            quizRegrader.submit(answer.getQuestion().getQuiz().getId());
+        }
         return answerMapper.toResponse(updatedAnswer);
     }
-} 
\ No newline at end of file
+
+    private static ContentTagRow requireReadable(ContentTagRow tag, UserPrincipal userPrincipal) {
+        if (!tag.getCreatorId().equals(userPrincipal.getId()) && !tag.getIsPublic()) {
+            throw new UnauthorizedException("You don't have access to this quiz");
+        }
+        return tag;
+    }
+}
@@ -0,0 +1,83 @@
+package com.uznai.service.impl;
+
+import com.uznai.dto.request.RateQuizRequest;
+import com.uznai.dto.response.QuizRatingResponse;
+import com.uznai.entity.Quiz;
+import com.uznai.entity.QuizRatingStats;
+import com.uznai.exception.BadRequestException;
+import com.uznai.exception.NotFoundException;
+import com.uznai.exception.UnauthorizedException;
+import com.uznai.repository.QuizRatingRepository;
+import com.uznai.repository.QuizRepository;
+import com.uznai.security.UserPrincipal;
+import com.uznai.service.QuizRatingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+// Ratings are not invalidated out of the catalog cache: a popular quiz would flush the public catalog on every
+// vote, so listings pick up new averages within the cache TTL
+@Service
+@RequiredArgsConstructor
+public class QuizRatingServiceImpl implements QuizRatingService {
+
+    private final QuizRatingRepository quizRatingRepository;
+    private final QuizRepository quizRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public QuizRatingResponse getRating(UUID quizId, UserPrincipal userPrincipal) {
+        requireReadable(quizId, userPrincipal);
+        return toResponse(quizId, quizRatingRepository.findRating(quizId, userPrincipal.getId()).orElse(null));
+    }
+
+    @Override
+    @Transactional
+    public QuizRatingResponse rateQuiz(UUID quizId, RateQuizRequest request, UserPrincipal userPrincipal) {
+        Quiz quiz = requireReadable(quizId, userPrincipal);
+        if (quiz.getCreator().getId().equals(userPrincipal.getId())) {
+            throw new BadRequestException("You can't rate your own quiz");
+        }
+        quizRatingRepository.rate(quizId, userPrincipal.getId(), request.getRating());
+        return toResponse(quizId, request.getRating());
+    }
+
+    @Override
+    @Transactional
+    public void deleteRating(UUID quizId, UserPrincipal userPrincipal) {
+        requireReadable(quizId, userPrincipal);
+        if (quizRatingRepository.unrate(quizId, userPrincipal.getId()) == null) {
+            throw new NotFoundException("Rating not found");
+        }
+    }
+
+    private Quiz requireReadable(UUID quizId, UserPrincipal userPrincipal) {
+        Quiz quiz = quizRepository.findById(quizId)
+                .orElseThrow(() -> new NotFoundException("Quiz not found"));
+        if (!quiz.isPublic() && !quiz.getCreator().getId().equals(userPrincipal.getId())) {
+            throw new UnauthorizedException("You don't have access to this quiz");
+        }
+        return quiz;
+    }
+
+    private QuizRatingResponse toResponse(UUID quizId, Integer userRating) {
+        QuizRatingResponse response = new QuizRatingResponse();
+        response.setQuizId(quizId);
+        response.setUserRating(userRating);
+        QuizRatingStats stats = quizRatingRepository.findStats(quizId).orElse(null);
+        if (stats == null) {
+            response.setHistogram(List.of(0L, 0L, 0L, 0L, 0L));
+            return response;
+        }
+        response.setRatingCount(stats.getRatingCount());
+        if (stats.getRatingCount() > 0) {
+            response.setAverageRating((double) stats.getRatingSum() / stats.getRatingCount());
+        }
+        response.setHistogram(List.of(stats.getCount1(), stats.getCount2(), stats.getCount3(),
+                stats.getCount4(), stats.getCount5()));
+        return response;
+    }
+}
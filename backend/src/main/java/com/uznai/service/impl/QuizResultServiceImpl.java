@@ -1,13 +1,21 @@
 package com.uznai.service.impl;
 
+import com.uznai.dto.response.CursorPage;
+import com.uznai.dto.response.QuestionResultResponse;
 import com.uznai.dto.response.QuizResultResponse;
 import com.uznai.entity.*;
+import com.uznai.entity.enums.ResultStatus;
 import com.uznai.exception.NotFoundException;
 import com.uznai.exception.UnauthorizedException;
+import com.uznai.mapper.QuestionResultMapper;
 import com.uznai.mapper.QuizResultMapper;
 import com.uznai.repository.*;
 import com.uznai.security.UserPrincipal;
 import com.uznai.service.QuizResultService;
+import com.uznai.service.pagination.KeysetCursor;
+import com.uznai.service.pagination.PageCursor;
+import com.uznai.service.snapshot.PublishedQuiz;
+import com.uznai.service.snapshot.QuizSnapshotStore;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -15,6 +23,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -26,6 +36,8 @@ public class QuizResultServiceImpl implements QuizResultService {
     private final UserRepository userRepository;
     private final QuizRepository quizRepository;
     private final QuizResultMapper quizResultMapper;
+    private final QuestionResultMapper questionResultMapper;
+    private final QuizSnapshotStore quizSnapshotStore;
 
     @Override
     @Transactional(readOnly = true)
@@ -37,7 +49,7 @@ public class QuizResultServiceImpl implements QuizResultService {
             throw new UnauthorizedException("You don't have access to this result");
         }
 
-        return quizResultMapper.toResponse(result);
+        return toResponse(result);
     }
 
     @Override
@@ -47,7 +59,7 @@ public class QuizResultServiceImpl implements QuizResultService {
                 .orElseThrow(() -> new NotFoundException("User not found"));
 
         return quizResultRepository.findByUserOrderByCompletedAtDesc(user, pageable)
-                .map(quizResultMapper::toResponse);
+                .map(this::toResponse);
     }
 
     @Override
@@ -60,7 +72,27 @@ public class QuizResultServiceImpl implements QuizResultService {
                 .orElseThrow(() -> new NotFoundException("Quiz not found"));
 
         return quizResultRepository.findByUserAndQuizOrderByCompletedAtDesc(user, quiz, pageable)
-                .map(quizResultMapper::toResponse);
+                .map(this::toResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<QuizResultResponse> getUserResultsSlice(UserPrincipal userPrincipal, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = PageCursor.limit(size);
+        return PageCursor.page(
+                quizResultRepository.findByUserBefore(userPrincipal.getId(), after.sortKey(), after.id(), limit),
+                limit, QuizResultServiceImpl::position, this::toResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<QuizResultResponse> getUserResultsForQuizSlice(UUID quizId, UserPrincipal userPrincipal, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = PageCursor.limit(size);
+        return PageCursor.page(
+                quizResultRepository.findByUserAndQuizBefore(userPrincipal.getId(), quizId, after.sortKey(), after.id(), limit),
+                limit, QuizResultServiceImpl::position, this::toResponse);
     }
 
     @Override
@@ -75,6 +107,39 @@ public class QuizResultServiceImpl implements QuizResultService {
         QuizResult result = quizResultRepository.findFirstByUserAndQuizOrderByCompletedAtDesc(user, quiz)
                 .orElseThrow(() -> new NotFoundException("No results found for this quiz"));
 
-        return quizResultMapper.toResponse(result);
+        return toResponse(result);
+    }
+
+    private static KeysetCursor position(QuizResult result) {
+        return new KeysetCursor(result.getCompletedAt(), result.getId());
+    }
+
+    private QuizResultResponse toResponse(QuizResult result) {
+        QuizResultResponse response = quizResultMapper.toResponse(result);
+        // Only graded results have a score to speak of; PENDING placeholders report 0 of 0 questions
+        if (result.getStatus() == ResultStatus.READY && result.getTotalQuestions() > 0) {
+            response.setPercentage(Math.round(result.getScore() * 100f / result.getTotalQuestions()));
+        }
+        Map<UUID, Long> selectedMasks = new HashMap<>();
+        for (QuestionResult questionResult : result.getQuestionResults()) {
+            if (questionResult.getSelectedMask() != null) {
+                selectedMasks.put(questionResult.getQuestion().getId(), questionResult.getSelectedMask());
+            }
+        }
+        if (selectedMasks.isEmpty()) {
+            return response;
+        }
+
+        // Masked selections refer to the answer layout of the snapshot the session was pinned to
+        QuizSession session = result.getSession();
+        PublishedQuiz publishedQuiz = quizSnapshotStore.get(result.getQuiz().getId(), session.getSnapshotVersion());
+        for (QuestionResultResponse questionResult : response.getQuestionResults()) {
+            Long selectedMask = selectedMasks.get(questionResult.getQuestionId());
+            if (selectedMask != null) {
+                questionResult.setUserAnswers(questionResultMapper.map(
+                        publishedQuiz.selectedAnswerIds(questionResult.getQuestionId(), selectedMask)));
+            }
+        }
+        return response;
     }
-} 
\ No newline at end of file
+}
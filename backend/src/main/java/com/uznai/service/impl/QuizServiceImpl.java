@@ -1,65 +1,190 @@
 package com.uznai.service.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.uznai.dto.request.CreateQuizRequest;
 import com.uznai.dto.request.UpdateQuizRequest;
+import com.uznai.dto.response.CursorPage;
+import com.uznai.dto.response.PublishedQuizResponse;
 import com.uznai.dto.response.QuizResponse;
 import com.uznai.dto.response.QuizSummaryResponse;
+import com.uznai.dto.response.QuizTitleSuggestionResponse;
+import com.uznai.dto.response.RegradeProgressResponse;
 import com.uznai.entity.Quiz;
+import com.uznai.entity.QuizSnapshot;
 import com.uznai.entity.User;
+import com.uznai.exception.BadRequestException;
 import com.uznai.exception.NotFoundException;
 import com.uznai.exception.UnauthorizedException;
 import com.uznai.mapper.QuizMapper;
+import com.uznai.repository.ContentTagRow;
+import com.uznai.repository.QuizFetchPlan;
+import com.uznai.repository.QuizKeysetRow;
 import com.uznai.repository.QuizRepository;
+import com.uznai.repository.QuizSearchHit;
+import com.uznai.repository.QuizSummaryView;
 import com.uznai.repository.UserRepository;
 import com.uznai.service.QuizService;
+import com.uznai.service.catalog.CatalogCache;
+import com.uznai.service.catalog.QuizPopularityTracker;
+import com.uznai.service.grading.QuizRegrader;
+import com.uznai.service.grading.RegradeProgress;
+import com.uznai.service.pagination.KeysetCursor;
+import com.uznai.service.pagination.PageCursor;
+import com.uznai.service.pagination.RankCursor;
+import com.uznai.service.search.QuizTitleIndex;
+import com.uznai.service.search.SimilarQuizIndex;
+import com.uznai.service.snapshot.QuizSnapshotStore;
 import com.uznai.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class QuizServiceImpl implements QuizService {
 
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final int MAX_SIMILAR = 20;
+    private static final int MAX_TITLE_LENGTH = 255;
+    // Longest " (n)" a fork title can get
+    private static final int MAX_COPY_SUFFIX_LENGTH = (" (" + Integer.MAX_VALUE + ")").length();
+    private static final int MAX_FORK_ATTEMPTS = 5;
+    private static final String TRENDING_SORT = "trending";
+
     private final QuizRepository quizRepository;
     private final UserRepository userRepository;
     private final QuizMapper quizMapper;
+    private final QuizSnapshotStore quizSnapshotStore;
+    private final ObjectMapper objectMapper;
+    private final QuizRegrader quizRegrader;
+    private final QuizTitleIndex quizTitleIndex;
+    private final SimilarQuizIndex similarQuizIndex;
+    private final CatalogCache catalogCache;
+    private final QuizPopularityTracker quizPopularityTracker;
 
     @Override
     @Transactional(readOnly = true)
     public Page<QuizSummaryResponse> getUserQuizzes(UserPrincipal userPrincipal, Pageable pageable) {
-        User user = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new NotFoundException("User not found"));
-        return quizRepository.findUserQuizzes(user, pageable)
+        return quizRepository.findUserSummaries(userPrincipal.getId(), pageable)
                 .map(quizMapper::toSummaryResponse);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<QuizSummaryResponse> getCreatedQuizzes(UserPrincipal userPrincipal, Pageable pageable) {
-        User user = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new NotFoundException("User not found"));
-        return quizRepository.findByCreator(user, pageable)
+        return quizRepository.findSummariesByCreatorId(userPrincipal.getId(), pageable)
                 .map(quizMapper::toSummaryResponse);
     }
 
 
+    // Not transactional: a cache hit should not take a connection, and a miss runs one repository query
     @Override
-    @Transactional(readOnly = true)
     public Page<QuizSummaryResponse> getPublicQuizzes(Pageable pageable) {
-        return quizRepository.findByIsPublic(true, pageable)
-                .map(quizMapper::toSummaryResponse);
+        if (pageable.getSort().getOrderFor(TRENDING_SORT) != null) {
+            return catalogCache.get(null, pageable, () -> getTrendingQuizzes(pageable));
+        }
+        return catalogCache.get(null, pageable, () -> quizRepository.findPublicSummaries(pageable)
+                .map(quizMapper::toSummaryResponse));
     }
 
     @Override
-    @Transactional(readOnly = true)
     public Page<QuizSummaryResponse> getPublicQuizzesByUser(UUID userId, Pageable pageable) {
-        return quizRepository.findByCreatorIdAndIsPublic(userId, true, pageable)
-                .map(quizMapper::toSummaryResponse);
+        return catalogCache.get(userId, pageable, () -> quizRepository.findPublicSummariesByCreatorId(userId, pageable)
+                .map(quizMapper::toSummaryResponse));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<QuizSummaryResponse> getUserQuizzesSlice(UserPrincipal userPrincipal, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = PageCursor.limit(size);
+        return summaryPage(
+                quizRepository.findUserQuizzesBefore(userPrincipal.getId(), after.sortKey(), after.id(), limit), limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<QuizSummaryResponse> getCreatedQuizzesSlice(UserPrincipal userPrincipal, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = PageCursor.limit(size);
+        return summaryPage(
+                quizRepository.findByCreatorBefore(userPrincipal.getId(), after.sortKey(), after.id(), limit), limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<QuizSummaryResponse> getPublicQuizzesSlice(String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = PageCursor.limit(size);
+        return summaryPage(quizRepository.findPublicBefore(after.sortKey(), after.id(), limit), limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<QuizSummaryResponse> searchQuizzes(UserPrincipal userPrincipal, String query, String cursor, int size) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be empty");
+        }
+        if (query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new BadRequestException("Search query must be at most " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+        RankCursor after = RankCursor.decode(cursor);
+        int limit = PageCursor.limit(size);
+        List<QuizSearchHit> hits = quizRepository.searchBefore(query, userPrincipal.getId(), after.rank(), after.id(), limit);
+        Map<UUID, QuizSummaryView> quizzes = quizRepository.findSummariesByIdIn(hits.stream().map(QuizSearchHit::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(QuizSummaryView::id, Function.identity()));
+        return PageCursor.page(hits, limit, hit -> new RankCursor(hit.getRank(), hit.getId()),
+                hit -> quizMapper.toSummaryResponse(quizzes.get(hit.getId())));
+    }
+
+    // Served from memory on every keystroke, so deliberately not transactional
+    @Override
+    public List<QuizTitleSuggestionResponse> suggestQuizTitles(String prefix, int limit) {
+        return quizTitleIndex.suggest(prefix, Math.min(limit, MAX_SUGGESTIONS)).stream()
+                .map(suggestion -> {
+                    QuizTitleSuggestionResponse response = new QuizTitleSuggestionResponse();
+                    response.setId(suggestion.quizId());
+                    response.setTitle(suggestion.title());
+                    return response;
+                })
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<QuizSummaryResponse> getSimilarQuizzes(UUID quizId, UserPrincipal userPrincipal, int limit) {
+        Quiz quiz = quizRepository.findById(quizId)
+                .orElseThrow(() -> new NotFoundException("Quiz not found"));
+        if (!quiz.isPublic() && !quiz.getCreator().getId().equals(userPrincipal.getId())) {
+            throw new UnauthorizedException("You don't have access to this quiz");
+        }
+
+        List<UUID> ids = similarQuizIndex.similar(quizId, Math.min(limit, MAX_SIMILAR)).stream()
+                .map(SimilarQuizIndex.Match::quizId)
+                .toList();
+        Map<UUID, QuizSummaryView> quizzes = ids.isEmpty()
+                ? Map.of()
+                : quizRepository.findSummariesByIdIn(ids).stream()
+                        .collect(Collectors.toMap(QuizSummaryView::id, Function.identity()));
+        return ids.stream()
+                .map(quizzes::get)
+                .filter(view -> view != null && view.isPublic())
+                .map(quizMapper::toSummaryResponse)
+                .toList();
     }
 
     @Override
@@ -67,7 +192,7 @@ public class QuizServiceImpl implements QuizService {
     public QuizResponse getQuizById(UUID quizId, UserPrincipal userPrincipal) {
         User user = userRepository.findById(userPrincipal.getId())
                 .orElseThrow(() -> new NotFoundException("User not found"));
-        Quiz quiz = quizRepository.findById(quizId)
+        Quiz quiz = quizRepository.findById(quizId, QuizFetchPlan.DETAIL)
                 .orElseThrow(() -> new NotFoundException("Quiz not found"));
 
         if (!quiz.getCreator().equals(user) && !quiz.isPublic()) {
@@ -77,6 +202,84 @@ public class QuizServiceImpl implements QuizService {
         return quizMapper.toResponse(quiz);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String getQuizETag(UUID quizId, UserPrincipal userPrincipal) {
+        ContentTagRow tag = quizRepository.findContentTag(quizId)
+                .orElseThrow(() -> new NotFoundException("Quiz not found"));
+
+        boolean isCreator = tag.getCreatorId().equals(userPrincipal.getId());
+        if (!isCreator && !tag.getIsPublic()) {
+            throw new UnauthorizedException("You don't have access to this quiz");
+        }
+
+        // Mirrors getQuizJson: a published snapshot never changes, so its version is its validator
+        return !isCreator && tag.getPublishedVersion() != null
+                ? "published-" + tag.getPublishedVersion()
+                : "live-" + tag.getContentHash();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public byte[] getQuizJson(UUID quizId, UserPrincipal userPrincipal) {
+        Quiz quiz = quizRepository.findById(quizId, QuizFetchPlan.CREATOR)
+                .orElseThrow(() -> new NotFoundException("Quiz not found"));
+
+        boolean isCreator = quiz.getCreator().getId().equals(userPrincipal.getId());
+        if (!isCreator && !quiz.isPublic()) {
+            throw new UnauthorizedException("You don't have access to this quiz");
+        }
+
+        // Creators work on the live quiz; everyone else sees the published version once there is one
+        if (!isCreator && quiz.getPublishedVersion() != null) {
+            return quizSnapshotStore.get(quizId, quiz.getPublishedVersion()).json();
+        }
+        // The quiz is already in the context; this only loads its questions and answers
+        quizRepository.findById(quizId, QuizFetchPlan.DETAIL);
+        try {
+            return objectMapper.writeValueAsBytes(quizMapper.toResponse(quiz));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize quiz " + quizId, ex);
+        }
+    }
+
+    @Override
+    @Transactional
+    public PublishedQuizResponse publishQuiz(UUID quizId, UserPrincipal userPrincipal) {
+        Quiz quiz = quizRepository.findById(quizId, QuizFetchPlan.DETAIL)
+                .orElseThrow(() -> new NotFoundException("Quiz not found"));
+
+        if (!quiz.getCreator().getId().equals(userPrincipal.getId())) {
+            throw new UnauthorizedException("Only the creator can publish this quiz");
+        }
+
+        QuizSnapshot snapshot = quizSnapshotStore.publish(quiz);
+        quizRepository.save(quiz);
+
+        PublishedQuizResponse response = new PublishedQuizResponse();
+        response.setQuizId(quizId);
+        response.setVersion(snapshot.getVersion());
+        response.setQuestionCount(snapshot.getQuestionCount());
+        response.setPublishedAt(snapshot.getPublishedAt());
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RegradeProgressResponse regradeQuiz(UUID quizId, UserPrincipal userPrincipal) {
+        requireCreator(quizId, userPrincipal, "Only the creator can regrade this quiz");
+        return toRegradeResponse(quizRegrader.schedule(quizId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RegradeProgressResponse getRegradeProgress(UUID quizId, UserPrincipal userPrincipal) {
+        requireCreator(quizId, userPrincipal, "Only the creator can view regrade progress");
+        return quizRegrader.progress(quizId)
+                .map(this::toRegradeResponse)
+                .orElseThrow(() -> new NotFoundException("No regrade has run for this quiz"));
+    }
+
     @Override
     @Transactional
     public QuizResponse createQuiz(CreateQuizRequest request, UserPrincipal userPrincipal) {
@@ -91,7 +294,13 @@ public class QuizServiceImpl implements QuizService {
         quiz.setCreator(existingUser);
         quiz.setVersion(1L);
 
-        return quizMapper.toResponse(quizRepository.save(quiz));
+        Quiz saved = quizRepository.save(quiz);
+        quizTitleIndex.put(saved);
+        similarQuizIndex.refresh(saved.getId());
+        if (saved.isPublic()) {
+            catalogCache.invalidate(existingUser.getId());
+        }
+        return quizMapper.toResponse(saved);
     }
 
     @Override
@@ -110,8 +319,38 @@ public class QuizServiceImpl implements QuizService {
             throw new IllegalArgumentException("Quiz has been modified by another user");
         }
 
+        boolean wasPublic = quiz.isPublic();
         quizMapper.updateEntity(request, quiz);
-        return quizMapper.toResponse(quizRepository.save(quiz));
+        Quiz saved = quizRepository.save(quiz);
+        quizTitleIndex.put(saved);
+        similarQuizIndex.refresh(saved.getId());
+        // Private before and after means no cached page ever showed it
+        if (wasPublic || saved.isPublic()) {
+            catalogCache.invalidate(user.getId());
+        }
+        return quizMapper.toResponse(saved);
+    }
+
+    @Override
+    @Transactional
+    public QuizResponse forkQuiz(UUID quizId, UserPrincipal userPrincipal) {
+        User user = userRepository.findById(userPrincipal.getId())
+                .orElseThrow(() -> new NotFoundException("User not found"));
+        Quiz source = quizRepository.findById(quizId)
+                .orElseThrow(() -> new NotFoundException("Quiz not found"));
+
+        if (!source.getCreator().equals(user) && !source.isPublic()) {
+            throw new UnauthorizedException("You don't have access to this quiz");
+        }
+
+        // Copied row by row inside Postgres: a 300-question bank is three statements, not thousands of saves
+        UUID forkId = UUID.randomUUID();
+        copyUnderFreeTitle(source, forkId, user);
+        Quiz fork = quizRepository.findById(forkId, QuizFetchPlan.DETAIL)
+                .orElseThrow(() -> new IllegalStateException("Forked quiz " + forkId + " was not saved"));
+        // Forks start private, so they are not in the autocomplete index or on cached catalog pages
+        similarQuizIndex.refresh(forkId);
+        return quizMapper.toResponse(fork);
     }
 
     @Override
@@ -127,5 +366,90 @@ public class QuizServiceImpl implements QuizService {
         }
 
         quizRepository.delete(quiz);
+        quizTitleIndex.remove(quizId);
+        if (quiz.isPublic()) {
+            catalogCache.invalidate(user.getId());
+        }
+    }
+
+    // Pages through the tracker's ranking; a quiz made private since the last flush is left out of its page
+    private Page<QuizSummaryResponse> getTrendingQuizzes(Pageable pageable) {
+        List<UUID> ranking = quizPopularityTracker.trending();
+        int from = (int) Math.min(pageable.getOffset(), ranking.size());
+        int to = Math.min(from + pageable.getPageSize(), ranking.size());
+        List<UUID> ids = ranking.subList(from, to);
+        Map<UUID, QuizSummaryView> quizzes = ids.isEmpty()
+                ? Map.of()
+                : quizRepository.findSummariesByIdIn(ids).stream()
+                        .collect(Collectors.toMap(QuizSummaryView::id, Function.identity()));
+        List<QuizSummaryResponse> content = ids.stream()
+                .map(quizzes::get)
+                .filter(view -> view != null && view.isPublic())
+                .map(quizMapper::toSummaryResponse)
+                .toList();
+        return new PageImpl<>(content, pageable, ranking.size());
+    }
+
+    // Titles taken are read in one query; another fork or create can still take the picked title before the insert,
+    // in which case copyQuiz inserts nothing and the next free number is tried
+    private void copyUnderFreeTitle(Quiz source, UUID forkId, User user) {
+        String base = "Copy of " + source.getTitle();
+        Set<String> taken = new HashSet<>(quizRepository.findTitlesStartingWith(user.getId(),
+                base.substring(0, Math.min(base.length(), MAX_TITLE_LENGTH - MAX_COPY_SUFFIX_LENGTH))));
+        for (int attempt = 1; ; attempt++) {
+            String title = forkTitle(base, taken);
+            if (quizRepository.copyQuiz(source.getId(), forkId, user.getId(), title)) {
+                return;
+            }
+            if (!quizRepository.existsById(source.getId())) {
+                throw new NotFoundException("Quiz not found");
+            }
+            if (attempt == MAX_FORK_ATTEMPTS) {
+                throw new IllegalStateException("No free title for a copy of quiz " + source.getId());
+            }
+            taken.add(title);
+        }
+    }
+
+    // "Copy of <title>", numbered when the user already has a quiz by that name
+    private static String forkTitle(String base, Set<String> taken) {
+        for (int copy = 1; ; copy++) {
+            String suffix = copy == 1 ? "" : " (" + copy + ")";
+            String candidate = base.substring(0, Math.min(base.length(), MAX_TITLE_LENGTH - suffix.length())) + suffix;
+            if (!taken.contains(candidate)) {
+                return candidate;
+            }
+        }
+    }
+
+    private void requireCreator(UUID quizId, UserPrincipal userPrincipal, String message) {
+        Quiz quiz = quizRepository.findById(quizId)
+                .orElseThrow(() -> new NotFoundException("Quiz not found"));
+
+        if (!quiz.getCreator().getId().equals(userPrincipal.getId())) {
+            throw new UnauthorizedException(message);
+        }
+    }
+
+    // Same row shape as the paged listings: one statement for the page's summaries, whatever its size
+    private CursorPage<QuizSummaryResponse> summaryPage(List<QuizKeysetRow> rows, int limit) {
+        Map<UUID, QuizSummaryView> quizzes = rows.isEmpty()
+                ? Map.of()
+                : quizRepository.findSummariesByIdIn(rows.stream().map(QuizKeysetRow::getId).toList()).stream()
+                        .collect(Collectors.toMap(QuizSummaryView::id, Function.identity()));
+        return PageCursor.page(rows, limit, row -> new KeysetCursor(row.getCreatedAt(), row.getId()),
+                row -> quizMapper.toSummaryResponse(quizzes.get(row.getId())));
+    }
+
+    private RegradeProgressResponse toRegradeResponse(RegradeProgress progress) {
+        RegradeProgressResponse response = new RegradeProgressResponse();
+        response.setQuizId(progress.quizId());
+        response.setStatus(progress.status());
+        response.setProcessedResults(progress.processedResults());
+        response.setChangedResults(progress.changedResults());
+        response.setChangedAnswers(progress.changedAnswers());
+        response.setStartedAt(progress.startedAt());
+        response.setFinishedAt(progress.finishedAt());
+        return response;
     }
-} 
\ No newline at end of file
+}
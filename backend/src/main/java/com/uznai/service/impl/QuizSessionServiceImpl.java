@@ -1,9 +1,13 @@
 package com.uznai.service.impl;
 
+import com.uznai.dto.request.BatchSubmitAnswersRequest;
 import com.uznai.dto.request.StartQuizSessionRequest;
 import com.uznai.dto.request.SubmitAnswerRequest;
 import com.uznai.dto.response.QuizQuestionResponse;
+import com.uznai.dto.response.AnswerResponse;
+import com.uznai.dto.response.QuestionResponse;
 import com.uznai.dto.response.QuizSessionResponse;
+import com.uznai.dto.response.QuizSessionSnapshotResponse;
 import com.uznai.entity.*;
 import com.uznai.entity.enums.SessionStatus;
 import com.uznai.exception.NotFoundException;
@@ -13,17 +17,31 @@ import com.uznai.mapper.QuizQuestionMapper;
 import com.uznai.repository.*;
 import com.uznai.security.UserPrincipal;
 import com.uznai.service.QuizSessionService;
+import com.uznai.service.catalog.QuizPopularityTracker;
+import com.uznai.service.session.ActiveSession;
+import com.uznai.service.session.ActiveSessionCache;
+import com.uznai.service.session.ResultMaterializer;
+import com.uznai.service.session.SessionDeadlineTimer;
+import com.uznai.service.session.SessionAnswerBuffer;
+import com.uznai.service.session.SessionResultWriter;
+import com.uznai.service.snapshot.PublishedQuiz;
+import com.uznai.service.snapshot.QuizSnapshotStore;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -40,8 +58,14 @@ public class QuizSessionServiceImpl implements QuizSessionService {
     private final QuestionRepository questionRepository;
     private final QuizSessionMapper quizSessionMapper;
     private final QuizQuestionMapper quizQuestionMapper;
-    private final AnswerRepository answerRepository;
     private final QuizResultRepository quizResultRepository;
+    private final SessionAnswerBuffer sessionAnswerBuffer;
+    private final SessionResultWriter sessionResultWriter;
+    private final ResultMaterializer resultMaterializer;
+    private final QuizSnapshotStore quizSnapshotStore;
+    private final ActiveSessionCache activeSessionCache;
+    private final SessionDeadlineTimer sessionDeadlineTimer;
+    private final QuizPopularityTracker quizPopularityTracker;
 
     @Override
     @Transactional
@@ -49,7 +73,7 @@ public class QuizSessionServiceImpl implements QuizSessionService {
         User user = userRepository.findById(userPrincipal.getId())
                 .orElseThrow(() -> new NotFoundException("User not found"));
         
-        Quiz quiz = quizRepository.findById(UUID.fromString(request.getQuizId()))
+        Quiz quiz = quizRepository.findById(UUID.fromString(request.getQuizId()), QuizFetchPlan.CREATOR)
                 .orElseThrow(() -> new NotFoundException("Quiz not found"));
 
         // Check if user has access to the quiz
@@ -60,6 +84,9 @@ public class QuizSessionServiceImpl implements QuizSessionService {
         // Expire any existing active session for this quiz/user
         quizSessionRepository.findActiveSessionForUserAndQuiz(user, SessionStatus.ACTIVE, quiz.getId())
                 .ifPresent(session -> {
+                    sessionAnswerBuffer.flush(session.getId());
+                    activeSessionCache.evict(session.getId());
+                    sessionDeadlineTimer.disarm(session.getId());
                     session.setStatus(SessionStatus.EXPIRED);
                     quizSessionRepository.save(session);
                 });
@@ -68,15 +95,20 @@ public class QuizSessionServiceImpl implements QuizSessionService {
         session.setQuiz(quiz);
         session.setUser(user);
         session.setStartedAt(LocalDateTime.now());
-        session.setExpiresAt(LocalDateTime.now().plusHours(24)); // 24-hour expiration
+        session.setExpiresAt(sessionDeadlineTimer.deadline(quiz, session.getStartedAt()));
         session.setStatus(SessionStatus.ACTIVE);
+        // Pin the attempt to the published version so later edits do not change it
+        session.setSnapshotVersion(quiz.getPublishedVersion());
 
         session = quizSessionRepository.save(session);
+        sessionDeadlineTimer.arm(session);
+        quizPopularityTracker.recordStart(quiz.getId());
         return quizSessionMapper.toResponse(session);
     }
 
+    // Writable so the buffered-answer flush below joins this transaction instead of taking a second connection
     @Override
-    @Transactional(readOnly = true)
+    @Transactional
     public QuizSessionResponse getSession(UUID sessionId, UserPrincipal userPrincipal) {
         QuizSession session = quizSessionRepository.findById(sessionId)
                 .orElseThrow(() -> new NotFoundException("Session not found"));
@@ -85,84 +117,125 @@ public class QuizSessionServiceImpl implements QuizSessionService {
             throw new UnauthorizedException("You don't have access to this session");
         }
 
-        return quizSessionMapper.toResponse(session);
+        // answeredCount is read from session_answers
+        sessionAnswerBuffer.flush(sessionId);
+        QuizSessionResponse response = quizSessionMapper.toResponse(session);
+        quizResultRepository.findBySessionId(sessionId).ifPresent(result -> {
+            response.setResultId(result.getId());
+            response.setResultStatus(result.getStatus());
+        });
+        return response;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<QuizQuestionResponse> getSessionQuestions(UUID sessionId, UserPrincipal userPrincipal, Pageable pageable) {
-        QuizSession session = quizSessionRepository.findById(sessionId)
-                .orElseThrow(() -> new NotFoundException("Session not found"));
-
-        if (!session.getUser().getId().equals(userPrincipal.getId())) {
-            throw new UnauthorizedException("You don't have access to this session");
+        ActiveSession session = requireActiveSession(sessionId, userPrincipal);
+
+        PublishedQuiz publishedQuiz = publishedQuiz(session);
+        if (publishedQuiz != null) {
+            List<QuestionResponse> questions = publishedQuiz.questions();
+            int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), questions.size()) : 0;
+            int to = pageable.isPaged() ? Math.min(from + pageable.getPageSize(), questions.size()) : questions.size();
+            List<QuestionResponse> pageQuestions = questions.subList(from, to);
+            List<UUID> questionIds = pageQuestions.stream().map(QuestionResponse::getId).toList();
+            Map<UUID, UUID[]> userAnswers = userAnswers(sessionId, publishedQuiz, questionIds.isEmpty()
+                    ? List.of()
+                    : sessionAnswerRepository.findBySessionIdAndQuestionIdIn(sessionId, questionIds));
+            return new PageImpl<>(pageQuestions.stream()
+                    .map(question -> withUserAnswers(quizQuestionMapper.toResponse(question), userAnswers))
+                    .toList(), pageable, questions.size());
         }
 
-        if (session.getStatus() != SessionStatus.ACTIVE) {
-            throw new UnauthorizedException("This session is no longer active");
+        Page<Question> page = questionRepository.findByQuizOrderByOrderIndex(
+                quizRepository.getReferenceById(session.quizId()), pageable);
+        if (page.isEmpty()) {
+            return page.map(quizQuestionMapper::toResponse);
         }
 
-        return questionRepository.findByQuizOrderByOrderIndex(session.getQuiz(), pageable)
-                .map(question -> {
-                    QuizQuestionResponse response = quizQuestionMapper.toResponse(question);
-                    sessionAnswerRepository.findBySessionAndQuestionId(session, question.getId())
-                            .ifPresent(answer -> {
-                                if (answer.getSelectedAnswerIds() != null) {
-                                    response.setUserAnswers(Arrays.asList(answer.getSelectedAnswerIds()));
-                                } else {
-                                    response.setUserAnswers(List.of());
-                                }
-                            });
-                    return response;
-                });
+        List<UUID> questionIds = page.map(Question::getId).getContent();
+        // Initializes the answers of the page's questions in one query instead of one per question
+        questionRepository.findWithAnswersByIdIn(questionIds);
+        Map<UUID, UUID[]> userAnswers = userAnswers(sessionId, null,
+                sessionAnswerRepository.findBySessionIdAndQuestionIdIn(sessionId, questionIds));
+
+        return page.map(question -> toQuestionResponse(question, userAnswers));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public QuizSessionSnapshotResponse getSessionSnapshot(UUID sessionId, UserPrincipal userPrincipal) {
+        ActiveSession session = requireActiveSession(sessionId, userPrincipal);
+
+        PublishedQuiz publishedQuiz = publishedQuiz(session);
+        Map<UUID, UUID[]> userAnswers = userAnswers(sessionId, publishedQuiz,
+                sessionAnswerRepository.findBySessionId(sessionId));
+        List<QuizQuestionResponse> questions = publishedQuiz != null
+                ? publishedQuiz.questions().stream()
+                        .map(question -> withUserAnswers(quizQuestionMapper.toResponse(question), userAnswers))
+                        .toList()
+                : questionRepository.findWithAnswersByQuiz(quizRepository.getReferenceById(session.quizId())).stream()
+                        .map(question -> toQuestionResponse(question, userAnswers))
+                        .toList();
+
+        QuizSessionSnapshotResponse response = new QuizSessionSnapshotResponse();
+        response.setSessionId(session.sessionId());
+        response.setQuizId(session.quizId());
+        response.setStatus(SessionStatus.ACTIVE);
+        response.setExpiresAt(session.expiresAt());
+        response.setQuestionCount(questions.size());
+        response.setAnsweredCount(userAnswers.size());
+        response.setQuestions(questions);
+        return response;
     }
 
     @Override
     @Transactional
     public void submitAnswer(UUID sessionId, UUID questionId, SubmitAnswerRequest request, UserPrincipal userPrincipal) {
-        QuizSession session = quizSessionRepository.findById(sessionId)
-                .orElseThrow(() -> new NotFoundException("Session not found"));
-
-        if (!session.getUser().getId().equals(userPrincipal.getId())) {
-            throw new UnauthorizedException("You don't have access to this session");
+        ActiveSession session = requireActiveSession(sessionId, userPrincipal);
+
+        PublishedQuiz publishedQuiz = publishedQuiz(session);
+        boolean inQuiz = publishedQuiz != null
+                ? publishedQuiz.containsQuestion(questionId)
+                : questionRepository.existsByIdAndQuizId(questionId, session.quizId());
+        if (!inQuiz) {
+            throw questionNotInQuiz(List.of(questionId));
         }
 
-        if (session.getStatus() != SessionStatus.ACTIVE) {
-            throw new UnauthorizedException("This session is no longer active");
-        }
-
-        Question question = questionRepository.findById(questionId)
-                .orElseThrow(() -> new NotFoundException("Question not found"));
-
-        if (!question.getQuiz().getId().equals(session.getQuiz().getId())) {
-            throw new UnauthorizedException("Question does not belong to this quiz");
+        SessionAnswerRow row = toRow(sessionId, questionId, request, publishedQuiz);
+        if (sessionAnswerBuffer.isEnabled()) {
+            sessionAnswerBuffer.append(row);
+        } else {
+            sessionAnswerRepository.upsert(row);
         }
+        log.info("Saved SessionAnswer: sessionId={}, questionId={}, selectedAnswerIds={}, textAnswer={}",
+            sessionId, questionId, request.getSelectedAnswerIds(), request.getTextAnswer());
+    }
 
-        SessionAnswer answer = sessionAnswerRepository.findBySessionAndQuestionId(session, questionId)
-                .orElseGet(() -> {
-                    SessionAnswer newAnswer = new SessionAnswer();
-                    newAnswer.setSession(session);
-                    newAnswer.setQuestion(question);
-                    return newAnswer;
-                });
-
-        if (request.getSelectedAnswerIds() != null) {
-            answer.setSelectedAnswerIds(request.getSelectedAnswerIds().stream()
-                    .map(UUID::fromString)
-                    .toArray(UUID[]::new));
-        } else {
-            answer.setSelectedAnswerIds(null);
+    @Override
+    @Transactional
+    public void submitAnswers(UUID sessionId, BatchSubmitAnswersRequest request, UserPrincipal userPrincipal) {
+        ActiveSession session = requireActiveSession(sessionId, userPrincipal);
+
+        Map<UUID, SubmitAnswerRequest> answers = request.getAnswers();
+        PublishedQuiz publishedQuiz = publishedQuiz(session);
+        Set<UUID> inQuiz = publishedQuiz != null
+                ? answers.keySet().stream().filter(publishedQuiz::containsQuestion).collect(Collectors.toSet())
+                : questionRepository.findIdsByQuizIdAndIdIn(session.quizId(), answers.keySet());
+        if (inQuiz.size() != answers.size()) {
+            // One bad id rejects the whole batch, with the same status submitAnswer gives for that id
+            throw questionNotInQuiz(answers.keySet().stream().filter(id -> !inQuiz.contains(id)).toList());
         }
 
-        if (request.getTextAnswer() != null) {
-            answer.setTextAnswer(request.getTextAnswer());
+        List<SessionAnswerRow> rows = answers.entrySet().stream()
+                .map(entry -> toRow(sessionId, entry.getKey(), entry.getValue(), publishedQuiz))
+                .toList();
+        if (sessionAnswerBuffer.isEnabled()) {
+            rows.forEach(sessionAnswerBuffer::append);
         } else {
-            answer.setTextAnswer(null);
+            sessionAnswerRepository.batchWrite(rows);
         }
-
-        sessionAnswerRepository.save(answer);
-        log.info("Saved SessionAnswer: sessionId={}, questionId={}, selectedAnswerIds={}, textAnswer={}",
-            sessionId, questionId, request.getSelectedAnswerIds(), request.getTextAnswer());
+        log.info("Saved {} SessionAnswers: sessionId={}", rows.size(), sessionId);
     }
 
     @Override
@@ -179,84 +252,22 @@ public class QuizSessionServiceImpl implements QuizSessionService {
             throw new UnauthorizedException("This session is no longer active");
         }
 
+        sessionAnswerBuffer.flush(sessionId);
+        activeSessionCache.evict(sessionId);
+        sessionDeadlineTimer.disarm(sessionId);
         session.setStatus(SessionStatus.COMPLETED);
         session.setCompletedAt(LocalDateTime.now());
         session = quizSessionRepository.save(session);
+        quizPopularityTracker.recordCompletion(session.getQuiz().getId());
 
-        // --- Create QuizResult ---
-        Quiz quiz = session.getQuiz();
-        List<Question> questions = questionRepository.findByQuizOrderByOrderIndex(quiz);
-        List<SessionAnswer> sessionAnswers = sessionAnswerRepository.findBySessionOrderByQuestionOrderIndex(session);
-        log.info("Found {} SessionAnswers for sessionId={}", sessionAnswers.size(), sessionId);
-        for (SessionAnswer sa : sessionAnswers) {
-            log.info("SessionAnswer: questionId={}, selectedAnswerIds={}, textAnswer={}",
-                sa.getQuestion().getId(), sa.getSelectedAnswerIds(), sa.getTextAnswer());
-        }
-
-        int totalQuestions = questions.size();
-        int correctCount = 0;
-
-        // --- Per-question results ---
-        List<QuestionResult> questionResults = new java.util.ArrayList<>();
-        for (Question question : questions) {
-            // Find user's answer for this question
-            SessionAnswer userAnswer = sessionAnswers.stream()
-                .filter(sa -> sa.getQuestion().getId().equals(question.getId()))
-                .findFirst().orElse(null);
+        // Grading runs in the background; clients poll the result until it is READY
+        QuizResult quizResult = sessionResultWriter.createPendingResult(session, session.getCompletedAt());
+        resultMaterializer.submit(quizResult.getId());
 
-            List<Answer> correctAnswers = answerRepository.findByQuestionOrderByOrderIndex(question).stream()
-                .filter(Answer::isCorrect)
-                .toList();
-
-            boolean isCorrect = false;
-            if (userAnswer != null) {
-                if (question.getQuestionType().name().startsWith("MULTIPLE_CHOICE") ||
-                    question.getQuestionType().name().equals("TRUE_FALSE") ||
-                    question.getQuestionType().name().equals("IMAGE") ||
-                    question.getQuestionType().name().equals("CODE")) {
-                    if (!correctAnswers.isEmpty() && userAnswer.getSelectedAnswerIds() != null) {
-                        java.util.List<java.util.UUID> userSelected = java.util.List.of(userAnswer.getSelectedAnswerIds());
-                        java.util.List<java.util.UUID> correctIds = correctAnswers.stream().map(Answer::getId).toList();
-                        isCorrect = userSelected.size() == correctIds.size() && userSelected.containsAll(correctIds) && correctIds.containsAll(userSelected);
-                    }
-                } else if (question.getQuestionType().name().equals("SHORT_ANSWER")) {
-                    String userText = userAnswer.getTextAnswer() != null ? userAnswer.getTextAnswer().trim().toLowerCase() : "";
-                    String correctText = !correctAnswers.isEmpty() && correctAnswers.get(0).getAnswerText() != null ? correctAnswers.get(0).getAnswerText().trim().toLowerCase() : "";
-                    isCorrect = !userText.isEmpty() && userText.equals(correctText);
-                }
-            }
-            if (isCorrect) correctCount++;
-
-            // Create and populate QuestionResult entity
-            QuestionResult qr = new QuestionResult();
-            qr.setResult(null); // will be set by quizResult.addQuestionResult
-            qr.setQuestion(question);
-            qr.setIsCorrect(isCorrect);
-            qr.setSelectedAnswerIds(userAnswer != null ? userAnswer.getSelectedAnswerIds() : null);
-            qr.setTextAnswer(userAnswer != null ? userAnswer.getTextAnswer() : null);
-            questionResults.add(qr);
-        }
-
-        int timeTakenSeconds = (int) java.time.Duration.between(session.getStartedAt(), session.getCompletedAt()).getSeconds();
-
-        QuizResult quizResult = new QuizResult();
-        quizResult.setSession(session);
-        quizResult.setQuiz(quiz);
-        quizResult.setUser(session.getUser());
-        quizResult.setTotalQuestions(totalQuestions);
-        quizResult.setScore(correctCount);
-        quizResult.setTimeTakenSeconds(timeTakenSeconds);
-        quizResult.setCompletedAt(session.getCompletedAt());
-
-        // Link and persist all QuestionResults (cascade saves them)
-        for (QuestionResult qr : questionResults) {
-            quizResult.addQuestionResult(qr); // sets qr.result = quizResult
-        }
-
-        quizResultRepository.save(quizResult);
-        // --- End QuizResult creation ---
-
-        return quizSessionMapper.toResponse(session);
+        QuizSessionResponse response = quizSessionMapper.toResponse(session);
+        response.setResultId(quizResult.getId());
+        response.setResultStatus(quizResult.getStatus());
+        return response;
     }
 
     @Override
@@ -273,6 +284,9 @@ public class QuizSessionServiceImpl implements QuizSessionService {
             throw new UnauthorizedException("This session is no longer active");
         }
 
+        sessionAnswerBuffer.flush(sessionId);
+        activeSessionCache.evict(sessionId);
+        sessionDeadlineTimer.disarm(sessionId);
         session.setStatus(SessionStatus.EXPIRED);
         quizSessionRepository.save(session);
     }
@@ -286,4 +300,93 @@ public class QuizSessionServiceImpl implements QuizSessionService {
         return quizSessionRepository.findByUserAndStatus(user, SessionStatus.ACTIVE, pageable)
                 .map(quizSessionMapper::toResponse);
     }
-} 
\ No newline at end of file
+
+    private SessionAnswerRow toRow(UUID sessionId, UUID questionId, SubmitAnswerRequest request, PublishedQuiz publishedQuiz) {
+        UUID[] selectedAnswerIds = request.getSelectedAnswerIds() != null
+                ? request.getSelectedAnswerIds().stream().map(UUID::fromString).toArray(UUID[]::new)
+                : null;
+        Long selectedMask = publishedQuiz != null ? publishedQuiz.selectionMask(questionId, selectedAnswerIds) : null;
+        if (selectedMask != null) {
+            return new SessionAnswerRow(sessionId, questionId, null, selectedMask, request.getTextAnswer());
+        }
+        return new SessionAnswerRow(sessionId, questionId, selectedAnswerIds, null, request.getTextAnswer());
+    }
+
+    // Stored answers overlaid with the ones still waiting in the write-behind buffer
+    private Map<UUID, UUID[]> userAnswers(UUID sessionId, PublishedQuiz publishedQuiz, List<SessionAnswer> storedAnswers) {
+        Map<UUID, UUID[]> userAnswers = new HashMap<>();
+        for (SessionAnswer answer : storedAnswers) {
+            UUID questionId = answer.getQuestion().getId();
+            userAnswers.put(questionId, selectedAnswerIds(publishedQuiz, questionId,
+                    answer.getSelectedAnswerIds(), answer.getSelectedMask()));
+        }
+        sessionAnswerBuffer.pendingAnswers(sessionId)
+                .forEach((questionId, row) -> userAnswers.put(questionId, selectedAnswerIds(publishedQuiz, questionId,
+                        row.selectedAnswerIds(), row.selectedMask())));
+        return userAnswers;
+    }
+
+    private static UUID[] selectedAnswerIds(PublishedQuiz publishedQuiz, UUID questionId, UUID[] selectedAnswerIds, Long selectedMask) {
+        // Masks are only written for sessions pinned to a snapshot
+        return selectedMask != null && publishedQuiz != null
+                ? publishedQuiz.selectedAnswerIds(questionId, selectedMask)
+                : selectedAnswerIds;
+    }
+
+    private QuizQuestionResponse toQuestionResponse(Question question, Map<UUID, UUID[]> userAnswers) {
+        QuizQuestionResponse response = quizQuestionMapper.toResponse(question);
+        response.getAnswers().sort(Comparator.comparing(AnswerResponse::getOrderIndex));
+        return withUserAnswers(response, userAnswers);
+    }
+
+    private QuizQuestionResponse withUserAnswers(QuizQuestionResponse response, Map<UUID, UUID[]> userAnswers) {
+        if (userAnswers.containsKey(response.getId())) {
+            UUID[] selectedAnswerIds = userAnswers.get(response.getId());
+            response.setUserAnswers(selectedAnswerIds != null ? Arrays.asList(selectedAnswerIds) : List.of());
+        }
+        return response;
+    }
+
+    // 404 if any of the ids is not a question at all, 401 if they all belong to other quizzes
+    private RuntimeException questionNotInQuiz(List<UUID> questionIds) {
+        if (!questionIds.stream().allMatch(questionRepository::existsById)) {
+            return new NotFoundException("Question not found");
+        }
+        return new UnauthorizedException("Question does not belong to this quiz");
+    }
+
+    private PublishedQuiz publishedQuiz(ActiveSession session) {
+        return session.snapshotVersion() != null
+                ? quizSnapshotStore.get(session.quizId(), session.snapshotVersion())
+                : null;
+    }
+
+    // Ownership and status checks for the quiz-taking endpoints, served from the active-session cache when possible
+    private ActiveSession requireActiveSession(UUID sessionId, UserPrincipal userPrincipal) {
+        ActiveSession session = activeSessionCache.get(sessionId);
+        if (session == null) {
+            long stamp = activeSessionCache.stamp();
+            QuizSession row = quizSessionRepository.findById(sessionId)
+                    .orElseThrow(() -> new NotFoundException("Session not found"));
+
+            if (!row.getUser().getId().equals(userPrincipal.getId())) {
+                throw new UnauthorizedException("You don't have access to this session");
+            }
+
+            if (row.getStatus() != SessionStatus.ACTIVE) {
+                throw new UnauthorizedException("This session is no longer active");
+            }
+
+            session = ActiveSession.from(row);
+            activeSessionCache.put(session, stamp);
+        } else if (!session.userId().equals(userPrincipal.getId())) {
+            throw new UnauthorizedException("You don't have access to this session");
+        }
+
+        // The reaper flips overdue sessions to EXPIRED in the background; don't accept work in the meantime
+        if (session.isExpired(LocalDateTime.now())) {
+            throw new UnauthorizedException("This session is no longer active");
+        }
+        return session;
+    }
+}
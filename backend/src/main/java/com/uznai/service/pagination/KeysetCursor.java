@@ -0,0 +1,44 @@
+package com.uznai.service.pagination;
+
+import com.uznai.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/*
+ * Position in a list ordered by (sortKey DESC, id DESC). Pages are read with a row comparison
+ * "(sort_key, id) < (:sortKey, :id) ... LIMIT size + 1", so every page is an index seek however deep it is.
+ * Clients only see the cursor as an opaque base64url token.
+ */
+public record KeysetCursor(LocalDateTime sortKey, UUID id) implements PageCursor {
+
+    // Sorts after every real row, so the first page uses the same query as the others
+    private static final KeysetCursor FIRST = new KeysetCursor(
+            LocalDateTime.of(9999, 12, 31, 23, 59, 59), new UUID(-1L, -1L));
+
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf('|');
+            if (separator < 0) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return new KeysetCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    UUID.fromString(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    @Override
+    public String encode() {
+        String value = sortKey + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
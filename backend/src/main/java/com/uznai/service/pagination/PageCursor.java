@@ -0,0 +1,32 @@
+package com.uznai.service.pagination;
+
+import com.uznai.dto.response.CursorPage;
+
+import java.util.List;
+import java.util.function.Function;
+
+// A position in a keyset-paged listing; clients only ever see encode()
+public interface PageCursor {
+
+    int DEFAULT_SIZE = 20;
+    int MAX_SIZE = 100;
+
+    String encode();
+
+    // Rows to fetch for a page: one more than requested tells whether there is a next page
+    static int limit(int size) {
+        return Math.min(Math.max(size, 1), MAX_SIZE) + 1;
+    }
+
+    static <E, R> CursorPage<R> page(List<E> rows, int limit, Function<E, ? extends PageCursor> position,
+                                     Function<E, R> mapper) {
+        boolean hasNext = rows.size() >= limit;
+        List<E> content = hasNext ? rows.subList(0, limit - 1) : rows;
+        CursorPage<R> page = new CursorPage<>();
+        page.setContent(content.stream().map(mapper).toList());
+        page.setSize(content.size());
+        page.setHasNext(hasNext);
+        page.setNext(hasNext ? position.apply(content.get(content.size() - 1)).encode() : null);
+        return page;
+    }
+}
@@ -0,0 +1,42 @@
+package com.uznai.service.pagination;
+
+import com.uznai.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/*
+ * Position in a list ordered by (rank DESC, id DESC), for relevance-ordered search results. Ranks are
+ * Postgres reals, so the float round-trips exactly through the token and the row comparison is stable.
+ */
+public record RankCursor(float rank, UUID id) implements PageCursor {
+
+    private static final RankCursor FIRST = new RankCursor(Float.POSITIVE_INFINITY, new UUID(-1L, -1L));
+
+    public static RankCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf('|');
+            if (separator < 0) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            float rank = Float.parseFloat(value.substring(0, separator));
+            if (Float.isNaN(rank)) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return new RankCursor(rank, UUID.fromString(value.substring(separator + 1)));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    @Override
+    public String encode() {
+        String value = rank + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,129 @@
+package com.uznai.service.search;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/*
+ * MinHash over the set of words in a quiz: the fraction of equal positions in two signatures estimates the
+ * Jaccard similarity of their word sets. Shingles are single words rather than word n-grams, since quizzes on
+ * one topic share vocabulary far more often than phrasing. The signature is split into BANDS bands of ROWS
+ * hashes for LSH; two quizzes share a band's bucket with probability J^ROWS, so pairs from J of about 0.4 up
+ * are likely to meet in at least one band. Seeds are fixed: stored signatures stay comparable across restarts.
+ */
+final class MinHash {
+
+    static final int BANDS = 32;
+    static final int ROWS = 4;
+    static final int HASHES = BANDS * ROWS;
+
+    // Words shorter than this are mostly articles and prepositions in any language
+    private static final int MIN_WORD_LENGTH = 3;
+    private static final long[] SEEDS = new long[HASHES];
+
+    static {
+        long state = 0x5DEECE66DL;
+        for (int i = 0; i < HASHES; i++) {
+            state += 0x9E3779B97F4A7C15L;
+            SEEDS[i] = mix(state);
+        }
+    }
+
+    private MinHash() {
+    }
+
+    // Empty when the text has no words to compare
+    static int[] signature(String text) {
+        Set<String> shingles = shingles(text);
+        if (shingles.isEmpty()) {
+            return new int[0];
+        }
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String shingle : shingles) {
+            long base = fnv1a(shingle);
+            for (int i = 0; i < HASHES; i++) {
+                int hash = (int) mix(base ^ SEEDS[i]);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    // Bucket of each band; bands with equal hashes in the same position land in the same bucket
+    static long[] buckets(int[] signature) {
+        if (signature.length == 0) {
+            return new long[0];
+        }
+        long[] buckets = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long hash = band;
+            for (int row = 0; row < ROWS; row++) {
+                hash = mix(hash * 31 + signature[band * ROWS + row]);
+            }
+            buckets[band] = hash;
+        }
+        return buckets;
+    }
+
+    static double similarity(int[] a, int[] b) {
+        if (a.length != HASHES || b.length != HASHES) {
+            return 0;
+        }
+        int equal = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / HASHES;
+    }
+
+    static byte[] encode(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(signature.length * Integer.BYTES);
+        buffer.asIntBuffer().put(signature);
+        return buffer.array();
+    }
+
+    static int[] decode(byte[] bytes) {
+        int[] signature = new int[bytes.length / Integer.BYTES];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+        return signature;
+    }
+
+    static Set<String> shingles(String text) {
+        Set<String> shingles = new HashSet<>();
+        if (text == null) {
+            return shingles;
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        for (String word : folded.split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() >= MIN_WORD_LENGTH) {
+                shingles.add(word);
+            }
+        }
+        return shingles;
+    }
+
+    private static long fnv1a(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
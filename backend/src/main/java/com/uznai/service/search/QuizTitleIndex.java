@@ -0,0 +1,282 @@
+package com.uznai.service.search;
+
+import com.uznai.entity.Quiz;
+import com.uznai.repository.QuizRepository;
+import com.uznai.repository.QuizTitleRow;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * In-process autocomplete over public quiz titles. Readers work on an immutable snapshot: titles folded and
+ * sorted, so a prefix is a contiguous range found by binary search, plus a max-weight segment tree over that
+ * array that yields the top-k of any range in O(k log n). Queries never touch the database.
+ *
+ * Creates, updates and deletes are queued after commit and merged into a new snapshot by a single thread, a
+ * little later and in batches; the merge is linear, so the whole array is never re-sorted. Weight is
+ * popularity: the number of attempts when the index is loaded, plus the completions QuizPopularityTracker
+ * hands over on each of its flushes, which go through the same queue.
+ */
+@Slf4j
+@Component
+public class QuizTitleIndex {
+
+    public record Suggestion(UUID quizId, String title) {
+    }
+
+    record Entry(UUID id, String title, String key, long weight) {
+    }
+
+    private static final Comparator<Entry> ORDER = Comparator.comparing(Entry::key).thenComparing(Entry::id);
+
+    private final QuizRepository quizRepository;
+    private final long rebuildDelayMillis;
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("quiz-title-index").daemon().factory());
+    // Latest change per quiz not yet in the snapshot; a null value removes the quiz
+    private final Map<UUID, Entry> pending = new HashMap<>();
+    // Weight to add per quiz at the next rebuild
+    private final Map<UUID, Long> pendingWeights = new HashMap<>();
+    private boolean rebuildScheduled;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public QuizTitleIndex(QuizRepository quizRepository,
+                          @Value("${uznai.search.autocomplete.rebuild-delay-ms:200}") long rebuildDelayMillis) {
+        this.quizRepository = quizRepository;
+        this.rebuildDelayMillis = rebuildDelayMillis;
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = fold(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        return snapshot.top(key, limit);
+    }
+
+    // Indexes the quiz once the transaction saving it commits; private quizzes are dropped from the index
+    public void put(Quiz quiz) {
+        Entry entry = quiz.isPublic() ? new Entry(quiz.getId(), quiz.getTitle(), fold(quiz.getTitle()), 0) : null;
+        afterCommit(quiz.getId(), entry);
+    }
+
+    public void remove(UUID quizId) {
+        afterCommit(quizId, null);
+    }
+
+    // Raises the weight of indexed quizzes; quizzes not in the index, such as private ones, are skipped
+    public synchronized void addWeights(Map<UUID, Long> weights) {
+        weights.forEach((quizId, weight) -> pendingWeights.merge(quizId, weight, Long::sum));
+        scheduleRebuild();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void load() {
+        // On the rebuild thread, so changes queued meanwhile are merged on top of the loaded titles
+        rebuilder.execute(() -> {
+            try {
+                List<QuizTitleRow> rows = quizRepository.findPublicTitles();
+                Entry[] entries = rows.stream()
+                        .map(row -> new Entry(row.getId(), row.getTitle(), fold(row.getTitle()), row.getAttempts()))
+                        .sorted(ORDER)
+                        .toArray(Entry[]::new);
+                snapshot = new Snapshot(entries);
+                log.info("Loaded {} quiz titles into the autocomplete index", entries.length);
+            } catch (RuntimeException ex) {
+                log.error("Failed to load the autocomplete index", ex);
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", " ")
+                .strip();
+    }
+
+    private void afterCommit(UUID quizId, Entry entry) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(quizId, entry);
+                }
+            });
+        } else {
+            enqueue(quizId, entry);
+        }
+    }
+
+    private synchronized void enqueue(UUID quizId, Entry entry) {
+        pending.put(quizId, entry);
+        scheduleRebuild();
+    }
+
+    private void scheduleRebuild() {
+        if (!rebuildScheduled) {
+            rebuildScheduled = true;
+            rebuilder.schedule(this::rebuild, rebuildDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void rebuild() {
+        Map<UUID, Entry> changes;
+        Map<UUID, Long> weights;
+        synchronized (this) {
+            changes = new HashMap<>(pending);
+            weights = new HashMap<>(pendingWeights);
+            pending.clear();
+            pendingWeights.clear();
+            rebuildScheduled = false;
+        }
+        snapshot = snapshot.merge(changes, weights);
+    }
+
+    static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(new Entry[0]);
+
+        private final Entry[] entries;
+        private final String[] keys;
+        // tree[1] is the root; node i has children 2i and 2i+1 and holds the index of its heaviest entry, or -1
+        private final int[] tree;
+        private final int leaves;
+
+        Snapshot(Entry[] entries) {
+            this.entries = entries;
+            this.keys = Arrays.stream(entries).map(Entry::key).toArray(String[]::new);
+            this.leaves = Math.max(1, Integer.highestOneBit(Math.max(1, entries.length - 1)) << 1);
+            this.tree = new int[2 * leaves];
+            Arrays.fill(tree, -1);
+            for (int i = 0; i < entries.length; i++) {
+                tree[leaves + i] = i;
+            }
+            for (int node = leaves - 1; node >= 1; node--) {
+                tree[node] = heavier(tree[2 * node], tree[2 * node + 1]);
+            }
+        }
+
+        List<Suggestion> top(String prefix, int limit) {
+            int from = lowerBound(prefix);
+            int to = lowerBound(prefix + Character.MAX_VALUE);
+            if (from >= to) {
+                return List.of();
+            }
+            // Best-first over the nodes covering [from, to): expanding a node only ever reveals lighter entries
+            PriorityQueue<Integer> frontier = new PriorityQueue<>((a, b) -> compare(tree[a], tree[b]));
+            for (int lo = from + leaves, hi = to + leaves; lo < hi; lo >>= 1, hi >>= 1) {
+                if ((lo & 1) == 1) {
+                    frontier.add(lo++);
+                }
+                if ((hi & 1) == 1) {
+                    frontier.add(--hi);
+                }
+            }
+            List<Suggestion> suggestions = new ArrayList<>(limit);
+            while (!frontier.isEmpty() && suggestions.size() < limit) {
+                int node = frontier.poll();
+                if (node >= leaves) {
+                    Entry entry = entries[tree[node]];
+                    suggestions.add(new Suggestion(entry.id(), entry.title()));
+                } else {
+                    for (int child = 2 * node; child <= 2 * node + 1; child++) {
+                        if (tree[child] >= 0) {
+                            frontier.add(child);
+                        }
+                    }
+                }
+            }
+            return suggestions;
+        }
+
+        // Drops changed quizzes from the sorted array and merges their new entries back in, keeping weights;
+        // weight changes alone leave the order of the array as it is
+        Snapshot merge(Map<UUID, Entry> changes, Map<UUID, Long> addedWeights) {
+            if (changes.isEmpty() && addedWeights.isEmpty()) {
+                return this;
+            }
+            Map<UUID, Long> weights = new HashMap<>();
+            List<Entry> kept = new ArrayList<>(entries.length);
+            for (Entry entry : entries) {
+                long weight = entry.weight() + addedWeights.getOrDefault(entry.id(), 0L);
+                if (changes.containsKey(entry.id())) {
+                    weights.put(entry.id(), weight);
+                } else {
+                    kept.add(weight == entry.weight() ? entry : new Entry(entry.id(), entry.title(), entry.key(), weight));
+                }
+            }
+            List<Entry> added = new ArrayList<>();
+            changes.values().stream()
+                    .filter(entry -> entry != null)
+                    .map(entry -> new Entry(entry.id(), entry.title(), entry.key(), weights.getOrDefault(entry.id(),
+                            entry.weight() + addedWeights.getOrDefault(entry.id(), 0L))))
+                    .sorted(ORDER)
+                    .forEach(added::add);
+
+            Entry[] merged = new Entry[kept.size() + added.size()];
+            int i = 0;
+            int j = 0;
+            for (int k = 0; k < merged.length; k++) {
+                merged[k] = j >= added.size() || (i < kept.size() && ORDER.compare(kept.get(i), added.get(j)) <= 0)
+                        ? kept.get(i++)
+                        : added.get(j++);
+            }
+            return new Snapshot(merged);
+        }
+
+        private int lowerBound(String key) {
+            int lo = 0;
+            int hi = keys.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (keys[mid].compareTo(key) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        private int heavier(int a, int b) {
+            return compare(a, b) <= 0 ? a : b;
+        }
+
+        // Heavier first, then alphabetical; -1 (empty) sorts last
+        private int compare(int a, int b) {
+            if (a < 0 || b < 0) {
+                return a < 0 ? (b < 0 ? 0 : 1) : -1;
+            }
+            int byWeight = Long.compare(entries[b].weight(), entries[a].weight());
+            return byWeight != 0 ? byWeight : Integer.compare(a, b);
+        }
+    }
+}
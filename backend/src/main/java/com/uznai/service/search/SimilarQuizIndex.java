@@ -0,0 +1,151 @@
+package com.uznai.service.search;
+
+import com.uznai.repository.QuizRepository;
+import com.uznai.repository.SignatureRow;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * "Similar quizzes" from MinHash signatures stored per quiz in quiz_signatures, with their LSH buckets in
+ * quiz_signature_buckets. A lookup probes the quiz's buckets, then ranks the few candidates found by estimated
+ * Jaccard similarity of their signatures; the catalog is never compared pairwise.
+ *
+ * Quiz and question changes queue the quiz after commit, and a single thread recomputes each queued quiz's
+ * signature a little later, so an edit session costs one recompute. Quizzes without a signature, such as
+ * those that existed before this index, are computed when the application starts. A change still queued when
+ * the process stops is picked up the next time that quiz changes.
+ */
+@Slf4j
+@Component
+public class SimilarQuizIndex {
+
+    public record Match(UUID quizId, double similarity) {
+    }
+
+    private final QuizRepository quizRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long recomputeDelayMillis;
+    private final int maxCandidates;
+    private final int backfillBatchSize;
+    private final ScheduledExecutorService recomputer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("quiz-signatures").daemon().factory());
+    private final Set<UUID> pending = new LinkedHashSet<>();
+    private boolean recomputeScheduled;
+
+    public SimilarQuizIndex(QuizRepository quizRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${uznai.search.similar.recompute-delay-ms:1000}") long recomputeDelayMillis,
+                            @Value("${uznai.search.similar.max-candidates:100}") int maxCandidates,
+                            @Value("${uznai.search.similar.backfill-batch-size:200}") int backfillBatchSize) {
+        this.quizRepository = quizRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.recomputeDelayMillis = recomputeDelayMillis;
+        this.maxCandidates = maxCandidates;
+        this.backfillBatchSize = backfillBatchSize;
+    }
+
+    // Public quizzes most similar to quizId, best first; empty until its signature has been computed
+    public List<Match> similar(UUID quizId, int limit) {
+        int[] signature = quizRepository.findSignature(quizId).map(MinHash::decode).orElse(null);
+        if (signature == null || signature.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        List<SignatureRow> candidates =
+                quizRepository.findSignatureCandidates(quizId, MinHash.buckets(signature), maxCandidates);
+        return candidates.stream()
+                .map(row -> new Match(row.quizId(), MinHash.similarity(signature, MinHash.decode(row.signature()))))
+                .filter(match -> match.similarity() > 0)
+                .sorted(Comparator.comparingDouble(Match::similarity).reversed().thenComparing(Match::quizId))
+                .limit(limit)
+                .toList();
+    }
+
+    // Recomputes the quiz's signature once the caller's transaction has committed its change
+    public void refresh(UUID quizId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(quizId);
+                }
+            });
+        } else {
+            enqueue(quizId);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void backfill() {
+        recomputer.execute(() -> {
+            int computed = 0;
+            try {
+                List<UUID> missing;
+                while (!(missing = quizRepository.findQuizIdsWithoutSignature(backfillBatchSize)).isEmpty()) {
+                    missing.forEach(this::compute);
+                    computed += missing.size();
+                }
+                if (computed > 0) {
+                    log.info("Computed similarity signatures for {} quizzes", computed);
+                }
+            } catch (RuntimeException ex) {
+                // Stop rather than retry the same batch forever; the rest is picked up on the next start
+                log.error("Failed to backfill similarity signatures after {} quizzes", computed, ex);
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        recomputer.shutdownNow();
+    }
+
+    private synchronized void enqueue(UUID quizId) {
+        pending.add(quizId);
+        if (!recomputeScheduled) {
+            recomputeScheduled = true;
+            recomputer.schedule(this::recompute, recomputeDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void recompute() {
+        List<UUID> quizIds;
+        synchronized (this) {
+            quizIds = List.copyOf(pending);
+            pending.clear();
+            recomputeScheduled = false;
+        }
+        for (UUID quizId : quizIds) {
+            try {
+                compute(quizId);
+            } catch (RuntimeException ex) {
+                log.error("Failed to recompute the similarity signature of quiz {}", quizId, ex);
+            }
+        }
+    }
+
+    private void compute(UUID quizId) {
+        // A quiz deleted since it was queued has no text and is skipped
+        quizRepository.findSignatureText(quizId).ifPresent(text -> {
+            int[] signature = MinHash.signature(text);
+            transactionTemplate.executeWithoutResult(status ->
+                    quizRepository.saveSignature(quizId, MinHash.encode(signature), MinHash.buckets(signature)));
+        });
+    }
+}
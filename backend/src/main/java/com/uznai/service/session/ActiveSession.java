@@ -0,0 +1,19 @@
+package com.uznai.service.session;
+
+import com.uznai.entity.QuizSession;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// What the quiz-taking endpoints need to know about an ACTIVE session, without loading the row
+public record ActiveSession(UUID sessionId, UUID userId, UUID quizId, Integer snapshotVersion, LocalDateTime expiresAt) {
+
+    public static ActiveSession from(QuizSession session) {
+        return new ActiveSession(session.getId(), session.getUser().getId(), session.getQuiz().getId(),
+                session.getSnapshotVersion(), session.getExpiresAt());
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return expiresAt.isBefore(now);
+    }
+}
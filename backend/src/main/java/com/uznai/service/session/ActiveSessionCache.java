@@ -0,0 +1,55 @@
+package com.uznai.service.session;
+
+import com.uznai.service.cache.BoundedLruCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/*
+ * Descriptors of sessions known to be ACTIVE. Anything that moves a session out of ACTIVE must call
+ * evict(); an entry is only added if no eviction happened since the caller read the row, so a load that
+ * races with a completion cannot bring the session back. Entries are local to this instance.
+ */
+@Component
+public class ActiveSessionCache {
+
+    private final BoundedLruCache<UUID, ActiveSession> entries;
+
+    public ActiveSessionCache(@Value("${uznai.sessions.active-cache.max-entries:10000}") int maxEntries) {
+        this.entries = new BoundedLruCache<>(maxEntries);
+    }
+
+    public ActiveSession get(UUID sessionId) {
+        return entries.get(sessionId);
+    }
+
+    // Take before reading the session row and pass to put()
+    public long stamp() {
+        return entries.stamp();
+    }
+
+    public void put(ActiveSession session, long stamp) {
+        entries.putIfUnchanged(session.sessionId(), session, stamp);
+    }
+
+    public void evict(UUID sessionId) {
+        entries.remove(sessionId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Evict again once the status change is visible to other transactions
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    entries.remove(sessionId);
+                }
+            });
+        }
+    }
+
+    public void evictAll(Collection<UUID> sessionIds) {
+        entries.removeAll(sessionIds);
+    }
+}
@@ -0,0 +1,239 @@
+package com.uznai.service.session;
+
+import com.uznai.repository.SessionAnswerRow;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+/*
+ * Append-only journal of buffered answers backed by a memory-mapped file.
+ *
+ * Record layout: [int bodyLength][int crc32c(body)][body], followed by a zero length that marks the
+ * end of the log. Body: [byte type][long sequence][uuid session] and, for answers,
+ * [uuid question][int selectedCount or -1][uuid...][int textLength or -1][utf-8 text].
+ * A selectedCount of -2 is followed by a long selection mask instead of the uuid list.
+ * A FLUSHED record states that every answer of the session up to its sequence is in the database.
+ *
+ * Compaction never touches the live file: the surviving records go to a scratch journal, which is forced
+ * and then renamed over the live one, so a crash at any point leaves one complete journal behind.
+ */
+class AnswerJournal implements Closeable {
+
+    interface Visitor {
+        void answer(long sequence, SessionAnswerRow row);
+
+        void flushed(long sequence, UUID sessionId);
+    }
+
+    private static final byte ANSWER = 1;
+    private static final byte FLUSHED = 2;
+    private static final int SELECTED_MASK = -2;
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final int END_MARKER_BYTES = 4;
+    // Space only FLUSHED records may use, so a full journal can still acknowledge writes
+    private static final int FLUSH_RESERVE_BYTES = 64 * 1024;
+
+    private Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final boolean forceOnAppend;
+    private int position;
+
+    AnswerJournal(Path path, int capacity, boolean forceOnAppend) throws IOException {
+        if (capacity <= FLUSH_RESERVE_BYTES * 2) {
+            throw new IllegalArgumentException("Journal capacity must be larger than " + FLUSH_RESERVE_BYTES * 2 + " bytes");
+        }
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        this.capacity = capacity;
+        this.forceOnAppend = forceOnAppend;
+    }
+
+    int answerCapacity() {
+        return capacity - FLUSH_RESERVE_BYTES - END_MARKER_BYTES;
+    }
+
+    static int recordSize(SessionAnswerRow row) {
+        int size = RECORD_HEADER_BYTES + 1 + 8 + 16 + 16 + 4 + 4;
+        if (row.selectedAnswerIds() != null) {
+            size += row.selectedAnswerIds().length * 16;
+        }
+        if (row.textAnswer() != null) {
+            size += StandardCharsets.UTF_8.encode(row.textAnswer()).remaining();
+        }
+        return size;
+    }
+
+    synchronized void replay(Visitor visitor) {
+        int offset = 0;
+        CRC32C crc = new CRC32C();
+        while (offset + RECORD_HEADER_BYTES <= capacity) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || offset + RECORD_HEADER_BYTES + length > capacity) {
+                break;
+            }
+            ByteBuffer body = buffer.slice(offset + RECORD_HEADER_BYTES, length);
+            crc.reset();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+                // Torn write from a crash; nothing after it was acknowledged
+                break;
+            }
+            byte type = body.get();
+            long sequence = body.getLong();
+            UUID sessionId = readUuid(body);
+            if (type == ANSWER) {
+                visitor.answer(sequence, readAnswer(sessionId, body));
+            } else if (type == FLUSHED) {
+                visitor.flushed(sequence, sessionId);
+            } else {
+                break;
+            }
+            offset += RECORD_HEADER_BYTES + length;
+        }
+        position = offset;
+    }
+
+    synchronized boolean appendAnswer(long sequence, SessionAnswerRow row) {
+        byte[] text = row.textAnswer() != null ? row.textAnswer().getBytes(StandardCharsets.UTF_8) : null;
+        UUID[] selected = row.selectedAnswerIds();
+        int selectedLength = row.selectedMask() != null ? 8 : selected != null ? selected.length * 16 : 0;
+        int bodyLength = 1 + 8 + 16 + 16 + 4 + selectedLength + 4 + (text != null ? text.length : 0);
+        if (position + RECORD_HEADER_BYTES + bodyLength + END_MARKER_BYTES > capacity - FLUSH_RESERVE_BYTES) {
+            return false;
+        }
+        ByteBuffer body = ByteBuffer.allocate(bodyLength);
+        body.put(ANSWER).putLong(sequence);
+        writeUuid(body, row.sessionId());
+        writeUuid(body, row.questionId());
+        if (row.selectedMask() != null) {
+            body.putInt(SELECTED_MASK).putLong(row.selectedMask());
+        } else if (selected != null) {
+            body.putInt(selected.length);
+            for (UUID id : selected) {
+                writeUuid(body, id);
+            }
+        } else {
+            body.putInt(-1);
+        }
+        if (text != null) {
+            body.putInt(text.length).put(text);
+        } else {
+            body.putInt(-1);
+        }
+        write(body.flip());
+        return true;
+    }
+
+    synchronized boolean appendFlushed(long sequence, UUID sessionId) {
+        int bodyLength = 1 + 8 + 16;
+        if (position + RECORD_HEADER_BYTES + bodyLength + END_MARKER_BYTES > capacity) {
+            return false;
+        }
+        ByteBuffer body = ByteBuffer.allocate(bodyLength);
+        body.put(FLUSHED).putLong(sequence);
+        writeUuid(body, sessionId);
+        write(body.flip());
+        return true;
+    }
+
+    // An empty journal in a scratch file next to this one, for compaction to rewrite the surviving records into
+    AnswerJournal startRewrite() throws IOException {
+        Path scratch = path.resolveSibling(path.getFileName() + ".compact");
+        Files.deleteIfExists(scratch);
+        return new AnswerJournal(scratch, capacity, forceOnAppend);
+    }
+
+    // Makes this rewritten journal durable, then atomically puts it in place of the journal at target
+    synchronized void install(Path target) throws IOException {
+        buffer.force();
+        Files.move(path, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        path = target;
+        Path directory = target.toAbsolutePath().getParent();
+        if (directory != null) {
+            // Persist the rename itself; not every platform can open a directory for this
+            try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+                dir.force(true);
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    synchronized void discard() throws IOException {
+        channel.close();
+        Files.deleteIfExists(path);
+    }
+
+    synchronized void force() {
+        buffer.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private void write(ByteBuffer body) {
+        int length = body.remaining();
+        CRC32C crc = new CRC32C();
+        crc.update(body.duplicate());
+        int next = position + RECORD_HEADER_BYTES + length;
+        // End marker first, length last: a record only becomes visible once it is complete
+        buffer.putInt(next, 0);
+        buffer.put(position + RECORD_HEADER_BYTES, body, body.position(), length);
+        buffer.putInt(position + 4, (int) crc.getValue());
+        buffer.putInt(position, length);
+        position = next;
+        if (forceOnAppend) {
+            buffer.force(position - RECORD_HEADER_BYTES - length, RECORD_HEADER_BYTES + length + END_MARKER_BYTES);
+        }
+    }
+
+    private static SessionAnswerRow readAnswer(UUID sessionId, ByteBuffer body) {
+        UUID questionId = readUuid(body);
+        int selectedCount = body.getInt();
+        UUID[] selected = null;
+        Long selectedMask = null;
+        if (selectedCount == SELECTED_MASK) {
+            selectedMask = body.getLong();
+        } else if (selectedCount >= 0) {
+            selected = new UUID[selectedCount];
+            for (int i = 0; i < selectedCount; i++) {
+                selected[i] = readUuid(body);
+            }
+        }
+        int textLength = body.getInt();
+        String text = null;
+        if (textLength >= 0) {
+            byte[] bytes = new byte[textLength];
+            body.get(bytes);
+            text = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return new SessionAnswerRow(sessionId, questionId, selected, selectedMask, text);
+    }
+
+    private static void writeUuid(ByteBuffer buffer, UUID id) {
+        buffer.putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
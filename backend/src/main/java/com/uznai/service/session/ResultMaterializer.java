@@ -0,0 +1,138 @@
+package com.uznai.service.session;
+
+import com.uznai.entity.enums.ResultStatus;
+import com.uznai.repository.QuizResultRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Grades PENDING results in the background. Each task runs on its own virtual thread, but only
+// max-concurrency of them hold a database connection at a time so a burst of completions cannot
+// drain the connection pool. PENDING rows left behind by a crash are picked up again by recover().
+// A result that fails to grade max-attempts times is marked FAILED so recovery stops retrying it
+// and polling clients see that it will never become READY.
+@Slf4j
+@Component
+public class ResultMaterializer {
+
+    private final SessionResultWriter sessionResultWriter;
+    private final QuizResultRepository quizResultRepository;
+    private final Semaphore permits;
+    private final Duration recoveryGrace;
+    private final int recoveryBatchSize;
+    private final int maxAttempts;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<UUID> queued = ConcurrentHashMap.newKeySet();
+
+    public ResultMaterializer(SessionResultWriter sessionResultWriter,
+                              QuizResultRepository quizResultRepository,
+                              @Value("${uznai.results.materializer.max-concurrency:4}") int maxConcurrency,
+                              @Value("${uznai.results.materializer.recovery-grace-seconds:30}") long recoveryGraceSeconds,
+                              @Value("${uznai.results.materializer.recovery-batch-size:500}") int recoveryBatchSize,
+                              @Value("${uznai.results.materializer.max-attempts:5}") int maxAttempts) {
+        this.sessionResultWriter = sessionResultWriter;
+        this.quizResultRepository = quizResultRepository;
+        this.permits = new Semaphore(maxConcurrency);
+        this.recoveryGrace = Duration.ofSeconds(recoveryGraceSeconds);
+        this.recoveryBatchSize = recoveryBatchSize;
+        this.maxAttempts = maxAttempts;
+    }
+
+    // Schedules grading once the caller's transaction has committed the PENDING row
+    public void submit(UUID resultId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(resultId);
+                }
+            });
+        } else {
+            enqueue(resultId);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void recoverOnStartup() {
+        recover(LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${uznai.results.materializer.recovery-interval-ms:60000}",
+            initialDelayString = "${uznai.results.materializer.recovery-interval-ms:60000}")
+    void recoverPeriodically() {
+        // The grace period skips results that were just submitted and are still queued
+        recover(LocalDateTime.now().minus(recoveryGrace));
+    }
+
+    @PreDestroy
+    void close() throws InterruptedException {
+        executor.shutdownNow();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Result materializer did not stop in time; unfinished results stay PENDING");
+        }
+    }
+
+    private void recover(LocalDateTime createdBefore) {
+        List<UUID> pending = quizResultRepository.findIdsByStatusAndCreatedAtBefore(
+                ResultStatus.PENDING, createdBefore, PageRequest.of(0, recoveryBatchSize));
+        if (!pending.isEmpty()) {
+            log.info("Re-queuing {} pending results", pending.size());
+            pending.forEach(this::enqueue);
+        }
+    }
+
+    private void enqueue(UUID resultId) {
+        if (!queued.add(resultId)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                permits.acquire();
+                try {
+                    grade(resultId);
+                } finally {
+                    permits.release();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                queued.remove(resultId);
+            }
+        });
+    }
+
+    private void grade(UUID resultId) {
+        try {
+            sessionResultWriter.gradePendingResult(resultId);
+        } catch (RuntimeException ex) {
+            try {
+                if (sessionResultWriter.recordGradingFailure(resultId, maxAttempts)) {
+                    log.error("Giving up on resultId={} after {} attempts; marked FAILED", resultId, maxAttempts, ex);
+                } else {
+                    // Left PENDING; the next recovery run retries it
+                    log.warn("Failed to grade resultId={}", resultId, ex);
+                }
+            } catch (RuntimeException recordEx) {
+                log.error("Failed to grade resultId={}; could not record the attempt", resultId, recordEx);
+            }
+        }
+    }
+}
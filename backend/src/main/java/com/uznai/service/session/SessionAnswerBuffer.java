@@ -0,0 +1,428 @@
+package com.uznai.service.session;
+
+import com.uznai.repository.SessionAnswerRepository;
+import com.uznai.repository.SessionAnswerRow;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * Write-behind store for in-progress session answers (uznai.sessions.write-behind.enabled).
+ *
+ * Answers are kept per session in memory and made durable in an AnswerJournal before submitAnswer
+ * returns. They reach session_answers in JDBC batches when the session is completed or expired, on
+ * a timer, and at startup after the journal has been replayed. All reads and writes of one session
+ * go through that session's lock, so its writes are applied in the order the journal accepted them.
+ *
+ * A flush called inside a writable transaction, such as completing a session, joins it rather than taking
+ * a second pool connection. The flushed answers then stay pending, and are only marked flushed in the
+ * journal, once that transaction commits.
+ */
+@Slf4j
+@Component
+public class SessionAnswerBuffer {
+
+    private record PendingAnswer(SessionAnswerRow row, long sequence) {
+    }
+
+    private static final class SessionBuffer {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<UUID, PendingAnswer> pending = new LinkedHashMap<>();
+        private boolean retired;
+    }
+
+    private final SessionAnswerRepository sessionAnswerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransactionTemplate;
+    private final boolean enabled;
+    private final Path journalPath;
+    private final int journalCapacity;
+    private final boolean forceOnAppend;
+    private final int flushBatchSessions;
+
+    private final Map<UUID, SessionBuffer> sessions = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock journalLock = new ReentrantReadWriteLock();
+    private final ReentrantLock flushAllLock = new ReentrantLock();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile boolean compactionNeeded;
+    private volatile AnswerJournal journal;
+
+    public SessionAnswerBuffer(SessionAnswerRepository sessionAnswerRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${uznai.sessions.write-behind.enabled:false}") boolean enabled,
+                               @Value("${uznai.sessions.write-behind.journal-path:data/session-answers.journal}") Path journalPath,
+                               @Value("${uznai.sessions.write-behind.journal-size-mb:64}") int journalSizeMb,
+                               @Value("${uznai.sessions.write-behind.force-on-append:false}") boolean forceOnAppend,
+                               @Value("${uznai.sessions.write-behind.flush-batch-sessions:100}") int flushBatchSessions) {
+        this.sessionAnswerRepository = sessionAnswerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.journalPath = journalPath;
+        this.journalCapacity = journalSizeMb * 1024 * 1024;
+        this.forceOnAppend = forceOnAppend;
+        this.flushBatchSessions = flushBatchSessions;
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        journal = new AnswerJournal(journalPath, journalCapacity, forceOnAppend);
+        journal.replay(new AnswerJournal.Visitor() {
+            @Override
+            public void answer(long seq, SessionAnswerRow row) {
+                sessions.computeIfAbsent(row.sessionId(), id -> new SessionBuffer())
+                        .pending.put(row.questionId(), new PendingAnswer(row, seq));
+                sequence.accumulateAndGet(seq, Math::max);
+            }
+
+            @Override
+            public void flushed(long seq, UUID sessionId) {
+                SessionBuffer buffer = sessions.get(sessionId);
+                if (buffer != null) {
+                    buffer.pending.values().removeIf(answer -> answer.sequence() <= seq);
+                    if (buffer.pending.isEmpty()) {
+                        sessions.remove(sessionId);
+                    }
+                }
+                sequence.accumulateAndGet(seq, Math::max);
+            }
+        });
+        log.info("Replayed answer journal {}: {} sessions with unflushed answers", journalPath, sessions.size());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void flushReplayed() {
+        if (enabled) {
+            compact();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${uznai.sessions.write-behind.flush-interval-ms:5000}")
+    void flushPeriodically() {
+        if (!enabled) {
+            return;
+        }
+        if (compactionNeeded) {
+            compact();
+        } else {
+            flushAll();
+        }
+        journal.force();
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        flushAll();
+        journal.close();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void append(SessionAnswerRow row) {
+        if (!enabled) {
+            throw new IllegalStateException("Write-behind answer buffer is disabled");
+        }
+        if (AnswerJournal.recordSize(row) > journal.answerCapacity()) {
+            writeThrough(row);
+            return;
+        }
+        if (!tryAppend(row)) {
+            compact();
+            if (!tryAppend(row)) {
+                // Journal is still full because the database rejected the flush; keep the caller synchronous
+                writeThrough(row);
+            }
+        }
+    }
+
+    public Map<UUID, SessionAnswerRow> pendingAnswers(UUID sessionId) {
+        SessionBuffer buffer = sessions.get(sessionId);
+        if (buffer == null) {
+            return Map.of();
+        }
+        buffer.lock.lock();
+        try {
+            Map<UUID, SessionAnswerRow> rows = new LinkedHashMap<>();
+            buffer.pending.forEach((questionId, answer) -> rows.put(questionId, answer.row()));
+            return rows;
+        } finally {
+            buffer.lock.unlock();
+        }
+    }
+
+    public void flush(UUID sessionId) {
+        if (!enabled) {
+            return;
+        }
+        journalLock.readLock().lock();
+        try {
+            SessionBuffer buffer = sessions.get(sessionId);
+            if (buffer == null) {
+                return;
+            }
+            buffer.lock.lock();
+            try {
+                flushLocked(List.of(Map.entry(sessionId, buffer)), true);
+            } finally {
+                buffer.lock.unlock();
+            }
+        } finally {
+            journalLock.readLock().unlock();
+        }
+    }
+
+    public void flushAll() {
+        if (!enabled) {
+            return;
+        }
+        journalLock.readLock().lock();
+        flushAllLock.lock();
+        try {
+            List<Map.Entry<UUID, SessionBuffer>> batch = new ArrayList<>(flushBatchSessions);
+            for (Map.Entry<UUID, SessionBuffer> entry : sessions.entrySet()) {
+                batch.add(entry);
+                if (batch.size() == flushBatchSessions) {
+                    flushBatch(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                flushBatch(batch);
+            }
+        } finally {
+            flushAllLock.unlock();
+            journalLock.readLock().unlock();
+        }
+    }
+
+    private boolean tryAppend(SessionAnswerRow row) {
+        journalLock.readLock().lock();
+        try {
+            while (true) {
+                SessionBuffer buffer = sessions.computeIfAbsent(row.sessionId(), id -> new SessionBuffer());
+                buffer.lock.lock();
+                try {
+                    if (buffer.retired) {
+                        continue;
+                    }
+                    long seq = sequence.incrementAndGet();
+                    if (!journal.appendAnswer(seq, row)) {
+                        return false;
+                    }
+                    buffer.pending.put(row.questionId(), new PendingAnswer(row, seq));
+                    return true;
+                } finally {
+                    buffer.lock.unlock();
+                }
+            }
+        } finally {
+            journalLock.readLock().unlock();
+        }
+    }
+
+    private void writeThrough(SessionAnswerRow row) {
+        journalLock.readLock().lock();
+        try {
+            while (true) {
+                SessionBuffer buffer = sessions.computeIfAbsent(row.sessionId(), id -> new SessionBuffer());
+                buffer.lock.lock();
+                try {
+                    if (buffer.retired) {
+                        continue;
+                    }
+                    // The row is not journaled, so it may only stay pending if it reached the database
+                    PendingAnswer replaced = buffer.pending.put(row.questionId(),
+                            new PendingAnswer(row, sequence.incrementAndGet()));
+                    try {
+                        flushLocked(List.of(Map.entry(row.sessionId(), buffer)), false);
+                    } catch (RuntimeException ex) {
+                        if (replaced != null) {
+                            buffer.pending.put(row.questionId(), replaced);
+                        } else {
+                            buffer.pending.remove(row.questionId());
+                        }
+                        throw ex;
+                    }
+                    return;
+                } finally {
+                    buffer.lock.unlock();
+                }
+            }
+        } finally {
+            journalLock.readLock().unlock();
+        }
+    }
+
+    // Rewrites the journal so it only holds answers that are still waiting for the database.
+    // Every other writer holds the read lock, so nothing changes while the write lock is held.
+    // Until the rewrite is installed the old journal stays live and complete; if the unflushed answers do
+    // not fit, it is kept as is, new answers are written through, and compaction is retried on the next flush.
+    private void compact() {
+        journalLock.writeLock().lock();
+        try {
+            flushAll();
+            List<PendingAnswer> remaining = new ArrayList<>();
+            for (SessionBuffer buffer : sessions.values()) {
+                remaining.addAll(buffer.pending.values());
+            }
+            remaining.sort(Comparator.comparingLong(PendingAnswer::sequence));
+            AnswerJournal rewritten = journal.startRewrite();
+            try {
+                for (PendingAnswer answer : remaining) {
+                    if (!rewritten.appendAnswer(answer.sequence(), answer.row())) {
+                        log.error("Answer journal cannot hold {} unflushed answers; keeping the full journal",
+                                remaining.size());
+                        rewritten.discard();
+                        return;
+                    }
+                }
+                rewritten.install(journalPath);
+            } catch (IOException | RuntimeException ex) {
+                rewritten.discard();
+                throw ex;
+            }
+            AnswerJournal replaced = journal;
+            journal = rewritten;
+            compactionNeeded = false;
+            try {
+                replaced.close();
+            } catch (IOException ex) {
+                log.warn("Failed to close the replaced answer journal", ex);
+            }
+        } catch (IOException ex) {
+            log.error("Failed to compact answer journal {}", journalPath, ex);
+        } finally {
+            journalLock.writeLock().unlock();
+        }
+    }
+
+    private void flushBatch(List<Map.Entry<UUID, SessionBuffer>> batch) {
+        List<Map.Entry<UUID, SessionBuffer>> locked = new ArrayList<>(batch.size());
+        try {
+            for (Map.Entry<UUID, SessionBuffer> entry : batch) {
+                entry.getValue().lock.lock();
+                locked.add(entry);
+            }
+            flushLocked(locked, true);
+        } catch (RuntimeException ex) {
+            if (locked.size() == 1) {
+                log.error("Failed to flush buffered answers for sessionId={}", locked.get(0).getKey(), ex);
+                return;
+            }
+            // Retry one session at a time so a single bad session cannot block the rest
+            for (Map.Entry<UUID, SessionBuffer> entry : locked) {
+                try {
+                    flushLocked(List.of(entry), true);
+                } catch (RuntimeException sessionEx) {
+                    log.error("Failed to flush buffered answers for sessionId={}", entry.getKey(), sessionEx);
+                }
+            }
+        } finally {
+            for (Map.Entry<UUID, SessionBuffer> entry : locked) {
+                entry.getValue().lock.unlock();
+            }
+        }
+    }
+
+    // Caller holds the lock of every session in the batch. Write-through passes joinable=false: its row is
+    // not journaled, so it must be committed before the caller's transaction can still roll back.
+    private void flushLocked(List<Map.Entry<UUID, SessionBuffer>> batch, boolean joinable) {
+        List<SessionAnswerRow> rows = new ArrayList<>();
+        for (Map.Entry<UUID, SessionBuffer> entry : batch) {
+            entry.getValue().pending.values().forEach(answer -> rows.add(answer.row()));
+        }
+        // A read-only transaction cannot take the writes, so only a writable one is joined
+        boolean joined = joinable && TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (!rows.isEmpty()) {
+            try {
+                (joined ? transactionTemplate : newTransactionTemplate)
+                        .executeWithoutResult(status -> sessionAnswerRepository.batchWrite(rows));
+            } catch (DataIntegrityViolationException ex) {
+                // A joined transaction is aborted by the failed write, so the answers must stay pending
+                if (batch.size() > 1 || joined) {
+                    throw ex;
+                }
+                // The session or question no longer exists, so these answers can never be stored
+                log.error("Dropping {} buffered answers for sessionId={}", rows.size(), batch.get(0).getKey(), ex);
+            }
+        }
+        for (Map.Entry<UUID, SessionBuffer> entry : batch) {
+            List<PendingAnswer> flushed = List.copyOf(entry.getValue().pending.values());
+            if (joined) {
+                markFlushedAfterCommit(entry.getKey(), entry.getValue(), flushed);
+            } else {
+                markFlushed(entry.getKey(), entry.getValue(), flushed);
+            }
+        }
+    }
+
+    private void markFlushedAfterCommit(UUID sessionId, SessionBuffer buffer, List<PendingAnswer> flushed) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                journalLock.readLock().lock();
+                try {
+                    buffer.lock.lock();
+                    try {
+                        markFlushed(sessionId, buffer, flushed);
+                    } finally {
+                        buffer.lock.unlock();
+                    }
+                } finally {
+                    journalLock.readLock().unlock();
+                }
+            }
+        });
+    }
+
+    // Caller holds the session's lock. Answers accepted after the flush have higher sequences and stay pending.
+    private void markFlushed(UUID sessionId, SessionBuffer buffer, Collection<PendingAnswer> flushed) {
+        if (buffer.retired) {
+            return;
+        }
+        long flushedUpTo = flushed.stream().mapToLong(PendingAnswer::sequence).max().orElse(-1);
+        if (flushedUpTo >= 0 && !journal.appendFlushed(flushedUpTo, sessionId)) {
+            compactionNeeded = true;
+        }
+        buffer.pending.values().removeIf(flushed::contains);
+        if (buffer.pending.isEmpty()) {
+            buffer.retired = true;
+            sessions.remove(sessionId, buffer);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.uznai.service.session;
+
+import com.uznai.entity.Quiz;
+import com.uznai.entity.QuizSession;
+import com.uznai.entity.enums.SessionStatus;
+import com.uznai.repository.QuizSessionRepository;
+import com.uznai.repository.TimedSessionRow;
+import com.uznai.service.catalog.QuizPopularityTracker;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Ends sessions of timed quizzes at their deadline. Each session gets a timeout on a hashed timing wheel,
+ * and every tick closes all sessions due in it with a single conditional UPDATE, completing and grading
+ * them when the quiz auto-submits. Timeouts only live in memory; on startup they are re-armed from the
+ * ACTIVE sessions of timed quizzes. Untimed sessions, and anything missed here, are left to the reaper.
+ */
+@Slf4j
+@Component
+public class SessionDeadlineTimer {
+
+    private final QuizSessionRepository quizSessionRepository;
+    private final SessionAnswerBuffer sessionAnswerBuffer;
+    private final SessionResultWriter sessionResultWriter;
+    private final ResultMaterializer resultMaterializer;
+    private final ActiveSessionCache activeSessionCache;
+    private final QuizPopularityTracker quizPopularityTracker;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration defaultDuration;
+    private final TimingWheel<UUID> wheel;
+    // Closing sessions touches the database; keep it off the wheel thread so ticks stay on time
+    private final ExecutorService closer = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("session-deadlines").daemon().factory());
+    private final Map<UUID, TimingWheel.Timeout<UUID>> timeouts = new ConcurrentHashMap<>();
+
+    public SessionDeadlineTimer(QuizSessionRepository quizSessionRepository,
+                                SessionAnswerBuffer sessionAnswerBuffer,
+                                SessionResultWriter sessionResultWriter,
+                                ResultMaterializer resultMaterializer,
+                                ActiveSessionCache activeSessionCache,
+                                QuizPopularityTracker quizPopularityTracker,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${uznai.sessions.default-duration-hours:24}") long defaultDurationHours,
+                                @Value("${uznai.sessions.deadlines.tick-ms:500}") long tickMillis,
+                                @Value("${uznai.sessions.deadlines.wheel-size:512}") int wheelSize) {
+        this.quizSessionRepository = quizSessionRepository;
+        this.sessionAnswerBuffer = sessionAnswerBuffer;
+        this.sessionResultWriter = sessionResultWriter;
+        this.resultMaterializer = resultMaterializer;
+        this.activeSessionCache = activeSessionCache;
+        this.quizPopularityTracker = quizPopularityTracker;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.defaultDuration = Duration.ofHours(defaultDurationHours);
+        this.wheel = new TimingWheel<>("session-deadline-wheel", Duration.ofMillis(tickMillis), wheelSize,
+                due -> closer.execute(() -> close(due)));
+    }
+
+    public LocalDateTime deadline(Quiz quiz, LocalDateTime startedAt) {
+        return quiz.getTimeLimitSeconds() != null
+                ? startedAt.plusSeconds(quiz.getTimeLimitSeconds())
+                : startedAt.plus(defaultDuration);
+    }
+
+    // Arms the deadline once the session row has committed; untimed sessions are left to the reaper
+    public void arm(QuizSession session) {
+        if (session.getQuiz().getTimeLimitSeconds() == null) {
+            return;
+        }
+        UUID sessionId = session.getId();
+        LocalDateTime expiresAt = session.getExpiresAt();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule(sessionId, expiresAt);
+                }
+            });
+        } else {
+            schedule(sessionId, expiresAt);
+        }
+    }
+
+    public void disarm(UUID sessionId) {
+        TimingWheel.Timeout<UUID> timeout = timeouts.remove(sessionId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void rearm() {
+        List<TimedSessionRow> sessions = quizSessionRepository.findActiveTimedSessions();
+        sessions.forEach(session -> schedule(session.sessionId(), session.expiresAt()));
+        if (!sessions.isEmpty()) {
+            log.info("Re-armed deadlines for {} timed sessions", sessions.size());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        wheel.close();
+        closer.shutdownNow();
+    }
+
+    private void schedule(UUID sessionId, LocalDateTime expiresAt) {
+        TimingWheel.Timeout<UUID> timeout = wheel.schedule(sessionId, Duration.between(LocalDateTime.now(), expiresAt));
+        TimingWheel.Timeout<UUID> previous = timeouts.put(sessionId, timeout);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    private void close(List<UUID> due) {
+        due.forEach(timeouts::remove);
+        // Answers accepted before the deadline still count, and must be in the table before grading
+        due.forEach(sessionAnswerBuffer::flush);
+        try {
+            List<UUID> completedQuizIds = new ArrayList<>();
+            Map<UUID, SessionStatus> closed = transactionTemplate.execute(status -> {
+                Map<UUID, SessionStatus> statuses = quizSessionRepository.closeDueSessions(due, LocalDateTime.now());
+                List<UUID> completed = statuses.entrySet().stream()
+                        .filter(entry -> entry.getValue() == SessionStatus.COMPLETED)
+                        .map(Map.Entry::getKey)
+                        .toList();
+                for (QuizSession session : quizSessionRepository.findAllById(completed)) {
+                    resultMaterializer.submit(sessionResultWriter.createPendingResult(session, session.getCompletedAt()).getId());
+                    completedQuizIds.add(session.getQuiz().getId());
+                }
+                return statuses;
+            });
+            activeSessionCache.evictAll(closed.keySet());
+            // Auto-submitted sessions count towards trending like ones the user submitted
+            completedQuizIds.forEach(quizPopularityTracker::recordCompletion);
+            log.debug("Closed {} of {} sessions at their deadline", closed.size(), due.size());
+        } catch (RuntimeException ex) {
+            // Still ACTIVE; the reaper expires them on its next run
+            log.error("Failed to close {} sessions at their deadline", due.size(), ex);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.uznai.service.session;
+
+import com.uznai.repository.QuizSessionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// Expires ACTIVE sessions past their deadline in bounded chunks, each committed on its own
+@Slf4j
+@Component
+public class SessionExpiryReaper {
+
+    private final QuizSessionRepository quizSessionRepository;
+    private final SessionAnswerBuffer sessionAnswerBuffer;
+    private final SessionResultWriter sessionResultWriter;
+    private final ResultMaterializer resultMaterializer;
+    private final ActiveSessionCache activeSessionCache;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final boolean materializeResults;
+    private final Counter expiredSessions;
+    private final Counter materializedResults;
+    private final DistributionSummary expiredPerRun;
+
+    public SessionExpiryReaper(QuizSessionRepository quizSessionRepository,
+                               SessionAnswerBuffer sessionAnswerBuffer,
+                               SessionResultWriter sessionResultWriter,
+                               ResultMaterializer resultMaterializer,
+                               ActiveSessionCache activeSessionCache,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${uznai.sessions.expiry.enabled:true}") boolean enabled,
+                               @Value("${uznai.sessions.expiry.batch-size:500}") int batchSize,
+                               @Value("${uznai.sessions.expiry.max-batches-per-run:20}") int maxBatchesPerRun,
+                               @Value("${uznai.sessions.expiry.materialize-results:false}") boolean materializeResults) {
+        this.quizSessionRepository = quizSessionRepository;
+        this.sessionAnswerBuffer = sessionAnswerBuffer;
+        this.sessionResultWriter = sessionResultWriter;
+        this.resultMaterializer = resultMaterializer;
+        this.activeSessionCache = activeSessionCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.materializeResults = materializeResults;
+        this.expiredSessions = Counter.builder("uznai.sessions.expired")
+                .description("Sessions expired by the reaper")
+                .register(meterRegistry);
+        this.materializedResults = Counter.builder("uznai.sessions.expiry.results")
+                .description("Results written for sessions expired by the reaper")
+                .register(meterRegistry);
+        this.expiredPerRun = DistributionSummary.builder("uznai.sessions.expiry.run.rows")
+                .description("Sessions expired per reaper run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${uznai.sessions.expiry.interval-ms:60000}",
+            initialDelayString = "${uznai.sessions.expiry.interval-ms:60000}")
+    public void expireSessions() {
+        if (!enabled) {
+            return;
+        }
+        // expires_at is written from the application clock, so compare against it rather than now() in SQL
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<UUID> expired = transactionTemplate.execute(
+                    status -> quizSessionRepository.expireActiveSessions(now, batchSize));
+            total += expired.size();
+            expiredSessions.increment(expired.size());
+            activeSessionCache.evictAll(expired);
+
+            // Buffered answers were accepted before the deadline; they still belong to the session
+            expired.forEach(sessionAnswerBuffer::flush);
+            if (materializeResults) {
+                writeResults(expired);
+            }
+            if (expired.size() < batchSize) {
+                break;
+            }
+        }
+        expiredPerRun.record(total);
+        if (total > 0) {
+            log.info("Expired {} quiz sessions", total);
+        }
+    }
+
+    private void writeResults(List<UUID> sessionIds) {
+        for (UUID sessionId : sessionIds) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> quizSessionRepository.findById(sessionId)
+                        .ifPresent(session -> resultMaterializer.submit(
+                                sessionResultWriter.createPendingResult(session, session.getExpiresAt()).getId())));
+                materializedResults.increment();
+            } catch (RuntimeException ex) {
+                log.error("Failed to write result for expired sessionId={}", sessionId, ex);
+            }
+        }
+    }
+}
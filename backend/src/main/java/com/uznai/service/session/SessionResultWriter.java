@@ -0,0 +1,112 @@
+package com.uznai.service.session;
+
+import com.uznai.entity.QuestionResult;
+import com.uznai.entity.QuizResult;
+import com.uznai.entity.QuizSession;
+import com.uznai.entity.enums.ResultStatus;
+import com.uznai.repository.QuestionRepository;
+import com.uznai.repository.QuizResultRepository;
+import com.uznai.repository.SessionAnswerRepository;
+import com.uznai.service.grading.AnswerKey;
+import com.uznai.service.grading.AnswerKeyCache;
+import com.uznai.service.grading.GradingEngine;
+import com.uznai.service.grading.GradingResult;
+import com.uznai.service.grading.QuestionGrade;
+import com.uznai.service.grading.SubmittedAnswer;
+import com.uznai.service.snapshot.QuizSnapshotStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/*
+ * Results are written in two steps: a PENDING QuizResult is saved together with the session status
+ * change, and gradePendingResult later fills in the score and QuestionResults and flips it to READY.
+ * Grading locks the PENDING row with SKIP LOCKED and commits the READY status with the question results,
+ * so a result is graded exactly once however many workers pick it up.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SessionResultWriter {
+
+    private final SessionAnswerRepository sessionAnswerRepository;
+    private final QuestionRepository questionRepository;
+    private final QuizResultRepository quizResultRepository;
+    private final AnswerKeyCache answerKeyCache;
+    private final GradingEngine gradingEngine;
+    private final QuizSnapshotStore quizSnapshotStore;
+
+    @Transactional
+    public QuizResult createPendingResult(QuizSession session, LocalDateTime completedAt) {
+        QuizResult quizResult = new QuizResult();
+        quizResult.setSession(session);
+        quizResult.setQuiz(session.getQuiz());
+        quizResult.setUser(session.getUser());
+        quizResult.setScore(0);
+        quizResult.setTotalQuestions(0);
+        quizResult.setTimeTakenSeconds((int) Duration.between(session.getStartedAt(), completedAt).getSeconds());
+        quizResult.setCompletedAt(completedAt);
+        quizResult.setStatus(ResultStatus.PENDING);
+        return quizResultRepository.save(quizResult);
+    }
+
+    // Returns false if the result is already graded or being graded elsewhere
+    @Transactional
+    public boolean gradePendingResult(UUID resultId) {
+        QuizResult quizResult = quizResultRepository.lockByIdAndStatus(resultId, ResultStatus.PENDING).orElse(null);
+        if (quizResult == null) {
+            return false;
+        }
+
+        QuizSession session = quizResult.getSession();
+        // Sessions started on a published quiz are graded against that version
+        AnswerKey answerKey = session.getSnapshotVersion() != null
+                ? quizSnapshotStore.get(quizResult.getQuiz().getId(), session.getSnapshotVersion()).answerKey()
+                : answerKeyCache.getAnswerKey(quizResult.getQuiz());
+        List<SubmittedAnswer> sessionAnswers = sessionAnswerRepository.findBySessionOrderByQuestionOrderIndex(session).stream()
+                .map(SubmittedAnswer::from)
+                .toList();
+        log.info("Found {} SessionAnswers for sessionId={}", sessionAnswers.size(), session.getId());
+
+        GradingResult grading = gradingEngine.grade(answerKey, sessionAnswers);
+        quizResult.setTotalQuestions(grading.totalQuestions());
+        quizResult.setScore(grading.correctCount());
+
+        // Link and persist all QuestionResults (cascade saves them in JDBC batches)
+        for (QuestionGrade grade : grading.grades()) {
+            QuestionResult qr = new QuestionResult();
+            qr.setQuestion(questionRepository.getReferenceById(grade.questionId()));
+            qr.setIsCorrect(grade.correct());
+            qr.setSelectedAnswerIds(grade.selectedAnswerIds());
+            qr.setSelectedMask(grade.selectedMask());
+            qr.setTextAnswer(grade.textAnswer());
+            quizResult.addQuestionResult(qr); // sets qr.result = quizResult
+        }
+
+        quizResult.setStatus(ResultStatus.READY);
+        quizResultRepository.save(quizResult);
+        return true;
+    }
+
+    // Called after gradePendingResult has rolled back; returns true once the result is parked as FAILED
+    @Transactional
+    public boolean recordGradingFailure(UUID resultId, int maxAttempts) {
+        QuizResult quizResult = quizResultRepository.lockByIdAndStatus(resultId, ResultStatus.PENDING).orElse(null);
+        if (quizResult == null) {
+            return false;
+        }
+
+        quizResult.setGradingAttempts(quizResult.getGradingAttempts() + 1);
+        if (quizResult.getGradingAttempts() >= maxAttempts) {
+            quizResult.setStatus(ResultStatus.FAILED);
+        }
+        quizResultRepository.save(quizResult);
+        return quizResult.getStatus() == ResultStatus.FAILED;
+    }
+}
@@ -0,0 +1,130 @@
+package com.uznai.service.session;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/*
+ * Hashed timing wheel: timeouts hash into one of wheelSize buckets by their deadline tick and carry the number
+ * of full rotations left. A single thread advances one bucket per tick and hands everything due in it to the
+ * handler as one batch, so scheduling and cancelling are O(1) and there is no per-timeout thread or future.
+ * Deadlines are rounded up to the next tick; a timeout never fires early.
+ */
+@Slf4j
+final class TimingWheel<T> implements AutoCloseable {
+
+    static final class Timeout<T> {
+        private final T value;
+        private final long deadlineNanos;
+        private long rounds;
+        private volatile boolean cancelled;
+
+        private Timeout(T value, long deadlineNanos) {
+            this.value = value;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+    }
+
+    private final long tickNanos;
+    private final int mask;
+    private final List<Timeout<T>>[] buckets;
+    // Only the worker thread touches the buckets; new timeouts reach it through this queue
+    private final Queue<Timeout<T>> added = new ConcurrentLinkedQueue<>();
+    private final Consumer<List<T>> handler;
+    private final Thread worker;
+    private final long startNanos;
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(String name, Duration tickDuration, int wheelSize, Consumer<List<T>> handler) {
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        this.tickNanos = tickDuration.toNanos();
+        this.mask = wheelSize - 1;
+        this.buckets = new List[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        this.handler = handler;
+        this.startNanos = System.nanoTime();
+        this.worker = Thread.ofPlatform().name(name).daemon().unstarted(this::run);
+        this.worker.start();
+    }
+
+    Timeout<T> schedule(T value, Duration delay) {
+        long deadlineNanos = System.nanoTime() - startNanos + Math.max(0, delay.toNanos());
+        Timeout<T> timeout = new Timeout<>(value, deadlineNanos);
+        added.add(timeout);
+        return timeout;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            long sleepNanos = startNanos + (tick + 1) * tickNanos - System.nanoTime();
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException ex) {
+                    return;
+                }
+            }
+            transferAdded();
+            List<T> due = expire(buckets[(int) (tick & mask)]);
+            tick++;
+            if (!due.isEmpty()) {
+                try {
+                    handler.accept(due);
+                } catch (RuntimeException ex) {
+                    log.error("Timing wheel handler failed for {} timeouts", due.size(), ex);
+                }
+            }
+        }
+    }
+
+    private void transferAdded() {
+        for (Timeout<T> timeout = added.poll(); timeout != null; timeout = added.poll()) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            // Ticks are counted from the end of their interval, so round up to fire at or after the deadline
+            long deadlineTick = (timeout.deadlineNanos + tickNanos - 1) / tickNanos - 1;
+            timeout.rounds = Math.max(0, (deadlineTick - tick) / buckets.length);
+            buckets[(int) (Math.max(deadlineTick, tick) & mask)].add(timeout);
+        }
+    }
+
+    private List<T> expire(List<Timeout<T>> bucket) {
+        List<T> due = new ArrayList<>();
+        int kept = 0;
+        for (Timeout<T> timeout : bucket) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            if (timeout.rounds <= 0) {
+                due.add(timeout.value);
+            } else {
+                timeout.rounds--;
+                bucket.set(kept++, timeout);
+            }
+        }
+        bucket.subList(kept, bucket.size()).clear();
+        return due;
+    }
+}
@@ -0,0 +1,37 @@
+package com.uznai.service.snapshot;
+
+import com.uznai.dto.response.QuestionResponse;
+import com.uznai.dto.response.QuizResponse;
+import com.uznai.service.grading.AnswerKey;
+import com.uznai.service.grading.QuestionKey;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// A decoded quiz snapshot. json holds the exact bytes served for GET /quizzes/{id}; treat content as read-only.
+public record PublishedQuiz(UUID quizId, int version, byte[] json, QuizResponse content,
+                            Map<UUID, QuestionKey> questionKeys, AnswerKey answerKey, boolean maskSelections) {
+
+    public List<QuestionResponse> questions() {
+        return content.getQuestions();
+    }
+
+    public boolean containsQuestion(UUID questionId) {
+        return questionKeys.containsKey(questionId);
+    }
+
+    // The answer layout of a snapshot never changes, so selections against it can be stored as a mask
+    public Long selectionMask(UUID questionId, UUID[] selectedAnswerIds) {
+        QuestionKey key = questionKeys.get(questionId);
+        return maskSelections && key != null ? key.encode(selectedAnswerIds) : null;
+    }
+
+    public UUID[] selectedAnswerIds(UUID questionId, long selectionMask) {
+        QuestionKey key = questionKeys.get(questionId);
+        if (key == null) {
+            throw new IllegalStateException("Question " + questionId + " is not part of quiz snapshot " + version);
+        }
+        return key.decode(selectionMask);
+    }
+}
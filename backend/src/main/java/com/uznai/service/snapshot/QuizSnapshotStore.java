@@ -0,0 +1,149 @@
+package com.uznai.service.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uznai.dto.response.AnswerResponse;
+import com.uznai.dto.response.QuizResponse;
+import com.uznai.entity.Question;
+import com.uznai.entity.Quiz;
+import com.uznai.entity.QuizSnapshot;
+import com.uznai.exception.NotFoundException;
+import com.uznai.mapper.QuestionMapper;
+import com.uznai.mapper.QuizMapper;
+import com.uznai.repository.QuestionRepository;
+import com.uznai.repository.QuizSnapshotRepository;
+import com.uznai.service.cache.BoundedLruCache;
+import com.uznai.service.grading.AnswerKey;
+import com.uznai.service.grading.GradingEngine;
+import com.uznai.service.grading.QuestionKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/*
+ * Published quiz versions. A snapshot is written once by publish() and never changes, so decoded
+ * snapshots are cached by (quiz, version) without any invalidation; the LRU bound only limits memory.
+ */
+@Slf4j
+@Component
+public class QuizSnapshotStore {
+
+    private record SnapshotKey(UUID quizId, int version) {
+    }
+
+    private final QuizSnapshotRepository quizSnapshotRepository;
+    private final QuestionRepository questionRepository;
+    private final QuizMapper quizMapper;
+    private final QuestionMapper questionMapper;
+    private final GradingEngine gradingEngine;
+    private final ObjectMapper objectMapper;
+    private final boolean maskSelections;
+    private final BoundedLruCache<SnapshotKey, PublishedQuiz> entries;
+
+    public QuizSnapshotStore(QuizSnapshotRepository quizSnapshotRepository,
+                             QuestionRepository questionRepository,
+                             QuizMapper quizMapper,
+                             QuestionMapper questionMapper,
+                             GradingEngine gradingEngine,
+                             ObjectMapper objectMapper,
+                             @Value("${uznai.snapshots.cache.max-entries:500}") int maxEntries,
+                             @Value("${uznai.snapshots.mask-selections:false}") boolean maskSelections) {
+        this.quizSnapshotRepository = quizSnapshotRepository;
+        this.questionRepository = questionRepository;
+        this.quizMapper = quizMapper;
+        this.questionMapper = questionMapper;
+        this.gradingEngine = gradingEngine;
+        this.objectMapper = objectMapper;
+        this.maskSelections = maskSelections;
+        this.entries = new BoundedLruCache<>(maxEntries);
+    }
+
+    // Caller must hold a transaction and have checked that the user may publish the quiz
+    public QuizSnapshot publish(Quiz quiz) {
+        // Fetch questions with answers first so mapping the quiz does not load answers question by question
+        List<Question> questions = questionRepository.findWithAnswersByQuiz(quiz);
+        QuizResponse content = quizMapper.toResponse(quiz);
+        content.setQuestions(questions.stream()
+                .map(questionMapper::toResponse)
+                .toList());
+        content.getQuestions().forEach(question -> question.getAnswers().sort(Comparator.comparing(AnswerResponse::getOrderIndex)));
+
+        int version = quiz.getPublishedVersion() != null ? quiz.getPublishedVersion() + 1 : 1;
+        content.setPublishedVersion(version);
+
+        QuizSnapshot snapshot = new QuizSnapshot();
+        snapshot.setQuiz(quiz);
+        snapshot.setVersion(version);
+        snapshot.setQuestionCount(content.getQuestions().size());
+        snapshot.setPayload(compress(encode(content)));
+        snapshot = quizSnapshotRepository.save(snapshot);
+
+        quiz.setPublishedVersion(version);
+        log.info("Published quizId={} as version {} with {} questions", quiz.getId(), version, snapshot.getQuestionCount());
+        return snapshot;
+    }
+
+    public PublishedQuiz get(UUID quizId, int version) {
+        SnapshotKey key = new SnapshotKey(quizId, version);
+        PublishedQuiz cached = entries.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        QuizSnapshot snapshot = quizSnapshotRepository.findByQuizIdAndVersion(quizId, version)
+                .orElseThrow(() -> new NotFoundException("Quiz snapshot not found"));
+        PublishedQuiz loaded = decode(quizId, version, decompress(snapshot.getPayload()));
+        entries.put(key, loaded);
+        return loaded;
+    }
+
+    private PublishedQuiz decode(UUID quizId, int version, byte[] json) {
+        try {
+            QuizResponse content = objectMapper.readValue(json, QuizResponse.class);
+            AnswerKey answerKey = gradingEngine.compilePublishedAnswerKey(quizId, (long) version, content.getQuestions());
+            Map<UUID, QuestionKey> questionKeys = answerKey.questions().stream()
+                    .collect(Collectors.toUnmodifiableMap(QuestionKey::questionId, Function.identity()));
+            return new PublishedQuiz(quizId, version, json, content, questionKeys, answerKey, maskSelections);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Corrupt snapshot for quizId=" + quizId + ", version=" + version, ex);
+        }
+    }
+
+    private byte[] encode(QuizResponse content) {
+        try {
+            return objectMapper.writeValueAsBytes(content);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static byte[] compress(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] decompress(byte[] payload) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return gzip.readAllBytes();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+-- Full-text search over quizzes. search_vector holds the title (weight A), description (B) and the text of
+-- every question (C), so one GIN lookup finds a quiz by any of them. The 'simple' configuration is used because
+-- quizzes are written in many languages; it folds case but does not stem or drop stop words.
+ALTER TABLE quizzes ADD COLUMN search_vector TSVECTOR;
+
+CREATE OR REPLACE FUNCTION quiz_search_vector(p_quiz_id UUID, p_title TEXT, p_description TEXT)
+RETURNS TSVECTOR AS $$
+    SELECT setweight(to_tsvector('simple', coalesce(p_title, '')), 'A')
+        || setweight(to_tsvector('simple', coalesce(p_description, '')), 'B')
+        || setweight(to_tsvector('simple', coalesce(
+               (SELECT string_agg(question_text, ' ') FROM questions WHERE quiz_id = p_quiz_id), '')), 'C');
+$$ LANGUAGE sql STABLE;
+
+CREATE OR REPLACE FUNCTION quizzes_refresh_search_vector()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.search_vector = quiz_search_vector(NEW.id, NEW.title, NEW.description);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER quizzes_search_vector
+    BEFORE INSERT OR UPDATE OF title, description ON quizzes
+    FOR EACH ROW
+    EXECUTE FUNCTION quizzes_refresh_search_vector();
+
+-- Question changes rebuild the vector of each affected quiz once per statement, so bulk inserts of a whole
+-- quiz's questions cost one rebuild rather than one per row. Transition tables cannot be shared between
+-- events, hence one trigger per event.
+CREATE OR REPLACE FUNCTION questions_refresh_quiz_search_vector()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        UPDATE quizzes q SET search_vector = quiz_search_vector(q.id, q.title, q.description)
+         WHERE q.id IN (SELECT quiz_id FROM new_questions);
+    ELSIF TG_OP = 'DELETE' THEN
+        UPDATE quizzes q SET search_vector = quiz_search_vector(q.id, q.title, q.description)
+         WHERE q.id IN (SELECT quiz_id FROM old_questions);
+    ELSE
+        UPDATE quizzes q SET search_vector = quiz_search_vector(q.id, q.title, q.description)
+         WHERE q.id IN (
+             SELECT unnest(ARRAY[o.quiz_id, n.quiz_id])
+               FROM old_questions o
+               JOIN new_questions n ON n.id = o.id
+              WHERE n.question_text IS DISTINCT FROM o.question_text
+                 OR n.quiz_id IS DISTINCT FROM o.quiz_id);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER questions_search_vector_insert
+    AFTER INSERT ON questions
+    REFERENCING NEW TABLE AS new_questions
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION questions_refresh_quiz_search_vector();
+
+CREATE TRIGGER questions_search_vector_update
+    AFTER UPDATE ON questions
+    REFERENCING OLD TABLE AS old_questions NEW TABLE AS new_questions
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION questions_refresh_quiz_search_vector();
+
+CREATE TRIGGER questions_search_vector_delete
+    AFTER DELETE ON questions
+    REFERENCING OLD TABLE AS old_questions
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION questions_refresh_quiz_search_vector();
+
+UPDATE quizzes SET search_vector = quiz_search_vector(id, title, description);
+
+CREATE INDEX IF NOT EXISTS idx_quizzes_search_vector ON quizzes USING GIN (search_vector);
@@ -0,0 +1,10 @@
+-- Time-decayed popularity per quiz, one row per quiz that has ever been played. score is the decayed weight of
+-- sessions started and completed as of scored_at; each flush decays it to the flush time and adds the new
+-- activity, so reading trending never counts quiz_sessions.
+CREATE TABLE IF NOT EXISTS quiz_popularity (
+    quiz_id UUID PRIMARY KEY REFERENCES quizzes(id) ON DELETE CASCADE,
+    score DOUBLE PRECISION NOT NULL,
+    scored_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    sessions_started BIGINT NOT NULL DEFAULT 0,
+    sessions_completed BIGINT NOT NULL DEFAULT 0
+);
@@ -0,0 +1,25 @@
+-- One rating per user and quiz, 1 to 5 stars.
+CREATE TABLE IF NOT EXISTS quiz_ratings (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    quiz_id UUID NOT NULL REFERENCES quizzes(id) ON DELETE CASCADE,
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    rating INTEGER NOT NULL CHECK (rating BETWEEN 1 AND 5),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT unique_quiz_rating UNIQUE (quiz_id, user_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_quiz_ratings_user_id ON quiz_ratings(user_id);
+
+-- Aggregates of quiz_ratings per quiz, adjusted by the same transaction that writes a rating, so catalog
+-- pages show the average and count without aggregating quiz_ratings. count_n is the number of n-star ratings.
+CREATE TABLE IF NOT EXISTS quiz_rating_stats (
+    quiz_id UUID PRIMARY KEY REFERENCES quizzes(id) ON DELETE CASCADE,
+    rating_count BIGINT NOT NULL DEFAULT 0 CHECK (rating_count >= 0),
+    rating_sum BIGINT NOT NULL DEFAULT 0 CHECK (rating_sum >= 0),
+    count_1 BIGINT NOT NULL DEFAULT 0 CHECK (count_1 >= 0),
+    count_2 BIGINT NOT NULL DEFAULT 0 CHECK (count_2 >= 0),
+    count_3 BIGINT NOT NULL DEFAULT 0 CHECK (count_3 >= 0),
+    count_4 BIGINT NOT NULL DEFAULT 0 CHECK (count_4 >= 0),
+    count_5 BIGINT NOT NULL DEFAULT 0 CHECK (count_5 >= 0)
+);
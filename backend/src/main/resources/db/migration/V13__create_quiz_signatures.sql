@@ -0,0 +1,18 @@
+-- MinHash signature of each quiz's title, description and question text, packed as 4-byte big-endian hashes.
+-- An empty signature marks a quiz with no words to compare, so it is not picked up again as missing.
+CREATE TABLE IF NOT EXISTS quiz_signatures (
+    quiz_id UUID PRIMARY KEY REFERENCES quizzes(id) ON DELETE CASCADE,
+    signature BYTEA NOT NULL,
+    computed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- LSH buckets: one row per band of a quiz's signature, keyed by a hash of that band. Quizzes sharing any
+-- (band, bucket) are candidates for similarity, so finding them is one primary key probe per band.
+CREATE TABLE IF NOT EXISTS quiz_signature_buckets (
+    band INTEGER NOT NULL,
+    bucket BIGINT NOT NULL,
+    quiz_id UUID NOT NULL REFERENCES quizzes(id) ON DELETE CASCADE,
+    PRIMARY KEY (band, bucket, quiz_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_quiz_signature_buckets_quiz_id ON quiz_signature_buckets(quiz_id);
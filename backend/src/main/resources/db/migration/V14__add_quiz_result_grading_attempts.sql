@@ -0,0 +1,7 @@
+-- Results whose grading keeps failing are parked as FAILED instead of being retried forever
+ALTER TABLE quiz_results
+    ADD COLUMN IF NOT EXISTS grading_attempts INTEGER NOT NULL DEFAULT 0;
+
+ALTER TABLE quiz_results DROP CONSTRAINT IF EXISTS quiz_results_status_check;
+ALTER TABLE quiz_results
+    ADD CONSTRAINT quiz_results_status_check CHECK (status IN ('PENDING', 'READY', 'FAILED'));
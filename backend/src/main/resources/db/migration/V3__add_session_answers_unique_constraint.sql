@@ -0,0 +1,10 @@
+-- Concurrent submits could insert the same answer twice; keep the most recent row
+DELETE FROM session_answers a
+USING session_answers b
+WHERE a.session_id = b.session_id
+  AND a.question_id = b.question_id
+  AND (a.updated_at < b.updated_at OR (a.updated_at = b.updated_at AND a.id < b.id));
+
+-- One answer per question and session; also serves lookups by session_id
+ALTER TABLE session_answers
+    ADD CONSTRAINT unique_session_answer_per_question UNIQUE (session_id, question_id);
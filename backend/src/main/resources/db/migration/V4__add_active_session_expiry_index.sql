@@ -0,0 +1,4 @@
+-- Only ACTIVE sessions are ever scanned by expiry, so the index stays small as history grows
+CREATE INDEX IF NOT EXISTS idx_quiz_sessions_active_expires_at
+    ON quiz_sessions(expires_at)
+    WHERE status = 'ACTIVE';
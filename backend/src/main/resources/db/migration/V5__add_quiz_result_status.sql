@@ -0,0 +1,24 @@
+-- Results are graded asynchronously; PENDING rows are placeholders until grading commits
+ALTER TABLE quiz_results
+    ADD COLUMN IF NOT EXISTS status VARCHAR(20) NOT NULL DEFAULT 'READY'
+        CHECK (status IN ('PENDING', 'READY'));
+
+CREATE INDEX IF NOT EXISTS idx_quiz_results_pending_created_at
+    ON quiz_results(created_at)
+    WHERE status = 'PENDING';
+
+-- At most one result per session; databases created by Hibernate may lack the constraint
+DO $$
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1
+        FROM pg_index i
+        JOIN pg_attribute a ON a.attrelid = i.indrelid AND a.attnum = i.indkey[0]
+        WHERE i.indrelid = 'quiz_results'::regclass
+          AND i.indisunique
+          AND i.indnatts = 1
+          AND a.attname = 'session_id'
+    ) THEN
+        CREATE UNIQUE INDEX uk_quiz_results_session_id ON quiz_results(session_id);
+    END IF;
+END $$;
@@ -0,0 +1,16 @@
+-- Immutable published versions of a quiz. payload is the gzip-compressed JSON of the quiz with its
+-- questions and answers exactly as served by GET /quizzes/{id}.
+CREATE TABLE quiz_snapshots (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    quiz_id UUID NOT NULL REFERENCES quizzes(id) ON DELETE CASCADE,
+    version INTEGER NOT NULL,
+    question_count INTEGER NOT NULL,
+    payload BYTEA NOT NULL,
+    published_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT unique_quiz_snapshot_version UNIQUE (quiz_id, version)
+);
+
+ALTER TABLE quizzes ADD COLUMN published_version INTEGER;
+
+-- Sessions started on a published quiz are graded and served from that snapshot
+ALTER TABLE quiz_sessions ADD COLUMN snapshot_version INTEGER;
@@ -0,0 +1,4 @@
+-- Choice selections of sessions pinned to a published snapshot are stored as a bitmask over the
+-- answers of the question in that version (bit i = i-th answer by order_index) instead of a uuid[]
+ALTER TABLE session_answers ADD COLUMN IF NOT EXISTS selected_mask BIGINT;
+ALTER TABLE question_results ADD COLUMN IF NOT EXISTS selected_mask BIGINT;
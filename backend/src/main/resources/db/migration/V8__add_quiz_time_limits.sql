@@ -0,0 +1,4 @@
+-- Timed quizzes: sessions end time_limit_seconds after they start and are then expired, or completed
+-- and graded when auto_submit is set. Untimed quizzes keep the default session lifetime.
+ALTER TABLE quizzes ADD COLUMN IF NOT EXISTS time_limit_seconds INTEGER CHECK (time_limit_seconds > 0);
+ALTER TABLE quizzes ADD COLUMN IF NOT EXISTS auto_submit BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,11 @@
+-- Keyset pagination reads newest first with (sort_key, id) row comparisons; each listing gets an index in
+-- exactly that order so a page is a seek plus LIMIT rows regardless of how deep it is
+CREATE INDEX IF NOT EXISTS idx_quizzes_public_created_at_id
+    ON quizzes(created_at DESC, id DESC)
+    WHERE is_public;
+CREATE INDEX IF NOT EXISTS idx_quizzes_creator_created_at_id
+    ON quizzes(creator_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_quiz_results_user_completed_at_id
+    ON quiz_results(user_id, completed_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_quiz_results_user_quiz_completed_at_id
+    ON quiz_results(user_id, quiz_id, completed_at DESC, id DESC);
@@ -0,0 +1,174 @@
+package com.uznai.repository;
+
+import com.uznai.entity.Answer;
+import com.uznai.entity.Question;
+import com.uznai.entity.Quiz;
+import com.uznai.entity.User;
+import com.uznai.entity.enums.QuestionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class QuizCopyTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    private User creator;
+    private User forker;
+
+    @BeforeEach
+    void setUp() {
+        creator = createUser("creator");
+        forker = createUser("forker");
+    }
+
+    @Test
+    void copyQuiz_ShouldCopyQuestionsAndAnswersUnderIdsDerivedFromTheCopy() {
+        Quiz source = createQuiz("Original", creator, 3);
+        UUID copyId = UUID.randomUUID();
+
+        assertTrue(quizRepository.copyQuiz(source.getId(), copyId, forker.getId(), "Copy of Original"));
+        entityManager.clear();
+
+        Quiz copy = quizRepository.findById(copyId, QuizFetchPlan.DETAIL).orElseThrow();
+        assertEquals("Copy of Original", copy.getTitle());
+        assertEquals(forker.getId(), copy.getCreator().getId());
+        assertFalse(copy.isPublic());
+
+        List<Question> questions = sorted(quizRepository.findById(source.getId(), QuizFetchPlan.DETAIL)
+                .orElseThrow().getQuestions());
+        List<Question> copied = sorted(copy.getQuestions());
+        assertEquals(questions.size(), copied.size());
+        for (int i = 0; i < questions.size(); i++) {
+            Question question = questions.get(i);
+            Question copiedQuestion = copied.get(i);
+            assertEquals(derivedId(question.getId(), copyId), copiedQuestion.getId());
+            assertEquals(question.getQuestionText(), copiedQuestion.getQuestionText());
+            assertEquals(question.getAnswers().size(), copiedQuestion.getAnswers().size());
+            for (Answer answer : question.getAnswers()) {
+                Answer copiedAnswer = copiedQuestion.getAnswers().stream()
+                        .filter(candidate -> candidate.getId().equals(derivedId(answer.getId(), copyId)))
+                        .findFirst()
+                        .orElseThrow();
+                assertEquals(answer.getAnswerText(), copiedAnswer.getAnswerText());
+                assertEquals(answer.isCorrect(), copiedAnswer.isCorrect());
+                assertEquals(copiedQuestion.getId(), copiedAnswer.getQuestion().getId());
+            }
+        }
+    }
+
+    @Test
+    void copyQuiz_ShouldCopyNothingWhenTheTitleIsTaken() {
+        Quiz source = createQuiz("Original", creator, 2);
+        createQuiz("Copy of Original", forker, 0);
+        UUID copyId = UUID.randomUUID();
+
+        assertFalse(quizRepository.copyQuiz(source.getId(), copyId, forker.getId(), "Copy of Original"));
+        assertTrue(quizRepository.findById(copyId).isEmpty());
+        // The conflict leaves the transaction usable for the next attempt
+        assertTrue(quizRepository.copyQuiz(source.getId(), copyId, forker.getId(), "Copy of Original (2)"));
+    }
+
+    @Test
+    void copyQuiz_ShouldReturnFalseWhenTheSourceIsGone() {
+        assertFalse(quizRepository.copyQuiz(UUID.randomUUID(), UUID.randomUUID(), forker.getId(), "Copy of Nothing"));
+    }
+
+    @Test
+    void findTitlesStartingWith_ShouldMatchThePrefixLiterally() {
+        createQuiz("Copy of 100%", forker, 0);
+        createQuiz("Copy of 100% (2)", forker, 0);
+        createQuiz("Copy of 1000", forker, 0);
+        createQuiz("Copy of 100%", creator, 0);
+
+        assertEquals(List.of("Copy of 100%", "Copy of 100% (2)"),
+                quizRepository.findTitlesStartingWith(forker.getId(), "Copy of 100%").stream().sorted().toList());
+        assertEquals(List.of(), quizRepository.findTitlesStartingWith(forker.getId(), "Copy of 1_00"));
+    }
+
+    private User createUser(String username) {
+        User user = new User();
+        user.setEmail(username + "@example.com");
+        user.setUsername(username);
+        user.setPasswordHash("hash");
+        entityManager.persist(user);
+        return user;
+    }
+
+    private Quiz createQuiz(String title, User owner, int questionCount) {
+        Quiz quiz = new Quiz();
+        quiz.setTitle(title);
+        quiz.setCreator(owner);
+        quiz.setPublic(true);
+        entityManager.persist(quiz);
+        for (int i = 0; i < questionCount; i++) {
+            Question question = new Question();
+            question.setQuiz(quiz);
+            question.setQuestionText("Question " + i);
+            question.setQuestionType(QuestionType.MULTIPLE_CHOICE_SINGLE);
+            question.setOrderIndex(i);
+            entityManager.persist(question);
+            for (int j = 0; j < 3; j++) {
+                Answer answer = new Answer();
+                answer.setQuestion(question);
+                answer.setAnswerText("Answer " + i + "." + j);
+                answer.setCorrect(j == 0);
+                answer.setOrderIndex(j);
+                entityManager.persist(answer);
+            }
+        }
+        entityManager.flush();
+        return quiz;
+    }
+
+    private static List<Question> sorted(List<Question> questions) {
+        return questions.stream().sorted(Comparator.comparing(Question::getOrderIndex)).toList();
+    }
+
+    // md5(id::text || copy_id::text)::uuid, as COPY_QUESTIONS_SQL and COPY_ANSWERS_SQL compute it
+    private static UUID derivedId(UUID id, UUID copyId) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5")
+                    .digest((id.toString() + copyId).getBytes(StandardCharsets.US_ASCII));
+            ByteBuffer buffer = ByteBuffer.wrap(digest);
+            return new UUID(buffer.getLong(), buffer.getLong());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
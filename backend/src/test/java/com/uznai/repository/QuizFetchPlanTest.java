@@ -0,0 +1,119 @@
+package com.uznai.repository;
+
+import com.uznai.entity.Answer;
+import com.uznai.entity.Question;
+import com.uznai.entity.Quiz;
+import com.uznai.entity.User;
+import com.uznai.entity.enums.QuestionType;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class QuizFetchPlanTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    private Statistics statistics;
+    private User creator;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        creator = new User();
+        creator.setEmail("creator@example.com");
+        creator.setUsername("creator");
+        creator.setPasswordHash("hash");
+        entityManager.persist(creator);
+    }
+
+    @Test
+    void findById_DetailPlanShouldLoadInTheSameNumberOfQueriesWhateverTheQuizSize() {
+        long small = queriesToReadDetail(createQuiz("Small", 2));
+        long large = queriesToReadDetail(createQuiz("Large", 25));
+
+        assertEquals(small, large);
+        assertTrue(large <= 3, "Detail plan used " + large + " queries");
+    }
+
+    @Test
+    void findById_CreatorPlanShouldLeaveQuestionsUnloaded() {
+        UUID quizId = createQuiz("Editor", 5);
+        statistics.clear();
+
+        Quiz quiz = quizRepository.findById(quizId, QuizFetchPlan.CREATOR).orElseThrow();
+        assertEquals("creator", quiz.getCreator().getUsername());
+        assertTrue(statistics.getPrepareStatementCount() <= 2);
+        assertFalse(Hibernate.isInitialized(quiz.getQuestions()));
+    }
+
+    private UUID createQuiz(String title, int questionCount) {
+        Quiz quiz = new Quiz();
+        quiz.setTitle(title);
+        quiz.setCreator(creator);
+        quiz.setPublic(true);
+        entityManager.persist(quiz);
+        for (int i = 0; i < questionCount; i++) {
+            Question question = new Question();
+            question.setQuiz(quiz);
+            question.setQuestionText("Question " + i);
+            question.setQuestionType(QuestionType.MULTIPLE_CHOICE_SINGLE);
+            question.setOrderIndex(i);
+            entityManager.persist(question);
+            for (int j = 0; j < 4; j++) {
+                Answer answer = new Answer();
+                answer.setQuestion(question);
+                answer.setAnswerText("Answer " + j);
+                answer.setCorrect(j == 0);
+                answer.setOrderIndex(j);
+                entityManager.persist(answer);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return quiz.getId();
+    }
+
+    private long queriesToReadDetail(UUID quizId) {
+        entityManager.clear();
+        statistics.clear();
+
+        Quiz quiz = quizRepository.findById(quizId, QuizFetchPlan.DETAIL).orElseThrow();
+        // Touch everything QuizMapper.toResponse maps
+        quiz.getCreator().getRoles().size();
+        quiz.getQuestions().forEach(question -> question.getAnswers().size());
+        return statistics.getPrepareStatementCount();
+    }
+}
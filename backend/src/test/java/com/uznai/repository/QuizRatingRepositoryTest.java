@@ -0,0 +1,104 @@
+package com.uznai.repository;
+
+import com.uznai.entity.Quiz;
+import com.uznai.entity.QuizRatingStats;
+import com.uznai.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class QuizRatingRepositoryTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private QuizRatingRepository quizRatingRepository;
+
+    private UUID quizId;
+    private UUID alice;
+    private UUID bob;
+
+    @BeforeEach
+    void setUp() {
+        User creator = createUser("creator");
+        alice = createUser("alice").getId();
+        bob = createUser("bob").getId();
+        Quiz quiz = new Quiz();
+        quiz.setTitle("Rated");
+        quiz.setCreator(creator);
+        quiz.setPublic(true);
+        entityManager.persist(quiz);
+        entityManager.flush();
+        quizId = quiz.getId();
+    }
+
+    @Test
+    void rate_ShouldKeepAggregatesInStepThroughRateRerateAndUnrate() {
+        assertNull(quizRatingRepository.rate(quizId, alice, 5));
+        assertNull(quizRatingRepository.rate(quizId, bob, 3));
+        assertStats(2, 8, List.of(0L, 0L, 1L, 0L, 1L));
+
+        assertEquals(5, quizRatingRepository.rate(quizId, alice, 2));
+        assertStats(2, 5, List.of(0L, 1L, 1L, 0L, 0L));
+
+        assertEquals(2, quizRatingRepository.rate(quizId, alice, 2));
+        assertStats(2, 5, List.of(0L, 1L, 1L, 0L, 0L));
+
+        assertEquals(3, quizRatingRepository.unrate(quizId, bob));
+        assertNull(quizRatingRepository.unrate(quizId, bob));
+        assertStats(1, 2, List.of(0L, 1L, 0L, 0L, 0L));
+
+        assertEquals(2, quizRatingRepository.unrate(quizId, alice));
+        assertStats(0, 0, List.of(0L, 0L, 0L, 0L, 0L));
+
+        assertNull(quizRatingRepository.rate(quizId, alice, 4));
+        assertStats(1, 4, List.of(0L, 0L, 0L, 1L, 0L));
+        assertEquals(4, quizRatingRepository.findRating(quizId, alice).orElseThrow());
+    }
+
+    private User createUser(String username) {
+        User user = new User();
+        user.setEmail(username + "@example.com");
+        user.setUsername(username);
+        user.setPasswordHash("hash");
+        entityManager.persist(user);
+        return user;
+    }
+
+    private void assertStats(long count, long sum, List<Long> histogram) {
+        // The stats are written over JDBC; read them fresh rather than from the persistence context
+        entityManager.clear();
+        QuizRatingStats stats = quizRatingRepository.findStats(quizId).orElseThrow();
+        assertEquals(count, stats.getRatingCount());
+        assertEquals(sum, stats.getRatingSum());
+        assertEquals(histogram, List.of(stats.getCount1(), stats.getCount2(), stats.getCount3(),
+                stats.getCount4(), stats.getCount5()));
+    }
+}
@@ -0,0 +1,115 @@
+package com.uznai.repository;
+
+import com.uznai.entity.Quiz;
+import com.uznai.entity.QuizResult;
+import com.uznai.entity.QuizSession;
+import com.uznai.entity.User;
+import com.uznai.entity.enums.ResultStatus;
+import com.uznai.entity.enums.SessionStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class QuizResultRepositoryTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private QuizResultRepository quizResultRepository;
+
+    private User user;
+    private Quiz quiz;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setEmail("taker@example.com");
+        user.setUsername("taker");
+        user.setPasswordHash("hash");
+        entityManager.persist(user);
+        quiz = new Quiz();
+        quiz.setTitle("Scored");
+        quiz.setCreator(user);
+        quiz.setPublic(true);
+        entityManager.persist(quiz);
+    }
+
+    @Test
+    void findTopResultsByUserAndQuiz_ShouldLeavePendingAndFailedResultsOut() {
+        UUID low = createResult(ResultStatus.READY, 1, 4).getId();
+        UUID high = createResult(ResultStatus.READY, 3, 4).getId();
+        createResult(ResultStatus.PENDING, 0, 0);
+        createResult(ResultStatus.FAILED, 0, 0);
+
+        List<UUID> top = quizResultRepository.findTopResultsByUserAndQuiz(user, quiz, PageRequest.of(0, 10))
+                .map(QuizResult::getId)
+                .getContent();
+
+        assertEquals(List.of(high, low), top);
+    }
+
+    @Test
+    void lockByIdAndStatus_ShouldNotClaimAResultThatIsNoLongerPending() {
+        QuizResult pending = createResult(ResultStatus.PENDING, 0, 0);
+        QuizResult failed = createResult(ResultStatus.FAILED, 0, 0);
+
+        assertTrue(quizResultRepository.lockByIdAndStatus(pending.getId(), ResultStatus.PENDING).isPresent());
+        assertTrue(quizResultRepository.lockByIdAndStatus(failed.getId(), ResultStatus.PENDING).isEmpty());
+        assertEquals(List.of(pending.getId()), quizResultRepository.findIdsByStatusAndCreatedAtBefore(
+                ResultStatus.PENDING, LocalDateTime.now().plusMinutes(1), PageRequest.of(0, 10)));
+    }
+
+    private QuizResult createResult(ResultStatus status, int score, int totalQuestions) {
+        LocalDateTime now = LocalDateTime.now();
+        QuizSession session = new QuizSession();
+        session.setQuiz(quiz);
+        session.setUser(user);
+        session.setStartedAt(now.minusMinutes(5));
+        session.setExpiresAt(now.plusHours(1));
+        session.setCompletedAt(now);
+        session.setStatus(SessionStatus.COMPLETED);
+        entityManager.persist(session);
+
+        QuizResult result = new QuizResult();
+        result.setSession(session);
+        result.setQuiz(quiz);
+        result.setUser(user);
+        result.setScore(score);
+        result.setTotalQuestions(totalQuestions);
+        result.setTimeTakenSeconds(300);
+        result.setCompletedAt(now);
+        result.setStatus(status);
+        entityManager.persist(result);
+        entityManager.flush();
+        return result;
+    }
+}
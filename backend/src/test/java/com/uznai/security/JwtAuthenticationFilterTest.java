@@ -0,0 +1,63 @@
+package com.uznai.security;
+
+import com.uznai.entity.User;
+import com.uznai.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    private final JwtTokenProvider tokenProvider = mock(JwtTokenProvider.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final JwtAuthenticationFilter filter =
+            new JwtAuthenticationFilter(tokenProvider, new CustomUserDetailsService(userRepository));
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void suggest_ShouldNotLookUpTheUser() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(authorizedGet("/api/v1/quizzes/suggest"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        verifyNoInteractions(tokenProvider, userRepository);
+    }
+
+    @Test
+    void otherPaths_ShouldAuthenticateFromTheStoredUser() throws Exception {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername("alice");
+        user.setEmail("alice@example.com");
+        user.setPasswordHash("hash");
+        when(tokenProvider.validateToken("token")).thenReturn(true);
+        when(tokenProvider.getUserIdFromJWT("token")).thenReturn(user.getId().toString());
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        filter.doFilter(authorizedGet("/api/v1/quizzes/public"), new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(userRepository).findById(any(UUID.class));
+        assertEquals("alice", SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+
+    private static MockHttpServletRequest authorizedGet(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.addHeader("Authorization", "Bearer token");
+        return request;
+    }
+}
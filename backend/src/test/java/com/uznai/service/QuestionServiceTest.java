@@ -1,18 +1,27 @@
 package com.uznai.service;
 
+import com.uznai.dto.request.CreateAnswerRequest;
 import com.uznai.dto.request.CreateQuestionRequest;
 import com.uznai.dto.request.UpdateQuestionRequest;
 import com.uznai.dto.response.QuestionResponse;
+import com.uznai.entity.Answer;
 import com.uznai.entity.Question;
 import com.uznai.entity.Quiz;
 import com.uznai.entity.User;
 import com.uznai.entity.enums.QuestionType;
 import com.uznai.exception.NotFoundException;
 import com.uznai.exception.UnauthorizedException;
+import com.uznai.mapper.AnswerMapper;
 import com.uznai.mapper.QuestionMapper;
+import com.uznai.repository.AnswerRepository;
 import com.uznai.repository.QuestionRepository;
 import com.uznai.repository.QuizRepository;
+import com.uznai.repository.UserRepository;
 import com.uznai.security.UserPrincipal;
+import com.uznai.service.grading.AnswerKeyCache;
+import com.uznai.service.catalog.CatalogCache;
+import com.uznai.service.search.SimilarQuizIndex;
+import com.uznai.service.grading.QuizRegrader;
 import com.uznai.service.impl.QuestionServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -37,9 +46,30 @@ class QuestionServiceTest {
     @Mock
     private QuizRepository quizRepository;
 
+    @Mock
+    private UserRepository userRepository;
+
     @Mock
     private QuestionMapper questionMapper;
 
+    @Mock
+    private AnswerRepository answerRepository;
+
+    @Mock
+    private AnswerMapper answerMapper;
+
+    @Mock
+    private AnswerKeyCache answerKeyCache;
+
+    @Mock
+    private QuizRegrader quizRegrader;
+
+    @Mock
+    private CatalogCache catalogCache;
+
+    @Mock
+    private SimilarQuizIndex similarQuizIndex;
+
     @InjectMocks
     private QuestionServiceImpl questionService;
 
@@ -240,4 +270,51 @@ class QuestionServiceTest {
         verify(questionRepository).findById(testQuestion.getId());
         verifyNoMoreInteractions(questionRepository);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void createAnswer_ShouldRegradeTheQuiz_WhenTheAnswerIsCorrect() {
+        Answer answer = new Answer();
+        answer.setCorrect(true);
+        CreateAnswerRequest request = new CreateAnswerRequest();
+        when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
+        when(quizRepository.findById(testQuiz.getId())).thenReturn(Optional.of(testQuiz));
+        when(questionRepository.findById(testQuestion.getId())).thenReturn(Optional.of(testQuestion));
+        when(answerMapper.toEntity(request)).thenReturn(answer);
+        when(answerRepository.save(answer)).thenReturn(answer);
+
+        questionService.createAnswer(testQuiz.getId(), testQuestion.getId(), request, testUserPrincipal);
+
+        verify(answerKeyCache).evict(testQuiz.getId());
+        verify(quizRegrader).submit(testQuiz.getId());
+    }
+
+    @Test
+    void createAnswer_ShouldNotRegrade_WhenTheAnswerIsIncorrect() {
+        Answer answer = new Answer();
+        CreateAnswerRequest request = new CreateAnswerRequest();
+        when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
+        when(quizRepository.findById(testQuiz.getId())).thenReturn(Optional.of(testQuiz));
+        when(questionRepository.findById(testQuestion.getId())).thenReturn(Optional.of(testQuestion));
+        when(answerMapper.toEntity(request)).thenReturn(answer);
+        when(answerRepository.save(answer)).thenReturn(answer);
+
+        questionService.createAnswer(testQuiz.getId(), testQuestion.getId(), request, testUserPrincipal);
+
+        verify(quizRegrader, never()).submit(any());
+    }
+
+    @Test
+    void deleteAnswer_ShouldRegradeTheQuiz_WhenTheAnswerWasCorrect() {
+        Answer answer = new Answer();
+        answer.setId(UUID.randomUUID());
+        answer.setQuestion(testQuestion);
+        answer.setCorrect(true);
+        when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
+        when(answerRepository.findById(answer.getId())).thenReturn(Optional.of(answer));
+
+        questionService.deleteAnswer(answer.getId(), testUserPrincipal);
+
+        verify(answerRepository).delete(answer);
+        verify(quizRegrader).submit(testQuiz.getId());
+    }
+}
@@ -0,0 +1,106 @@
+package com.uznai.service;
+
+import com.uznai.dto.request.RateQuizRequest;
+import com.uznai.dto.response.QuizRatingResponse;
+import com.uznai.entity.Quiz;
+import com.uznai.entity.User;
+import com.uznai.exception.BadRequestException;
+import com.uznai.exception.NotFoundException;
+import com.uznai.exception.UnauthorizedException;
+import com.uznai.repository.QuizRatingRepository;
+import com.uznai.repository.QuizRepository;
+import com.uznai.security.UserPrincipal;
+import com.uznai.service.impl.QuizRatingServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuizRatingServiceTest {
+
+    @Mock
+    private QuizRatingRepository quizRatingRepository;
+
+    @Mock
+    private QuizRepository quizRepository;
+
+    @InjectMocks
+    private QuizRatingServiceImpl quizRatingService;
+
+    private User creator;
+    private UserPrincipal raterPrincipal;
+    private Quiz quiz;
+
+    @BeforeEach
+    void setUp() {
+        creator = new User();
+        creator.setId(UUID.randomUUID());
+        creator.setUsername("creator");
+
+        User rater = new User();
+        rater.setId(UUID.randomUUID());
+        rater.setUsername("rater");
+        raterPrincipal = UserPrincipal.create(rater);
+
+        quiz = new Quiz();
+        quiz.setId(UUID.randomUUID());
+        quiz.setCreator(creator);
+        quiz.setPublic(true);
+    }
+
+    @Test
+    void rateQuiz_ShouldRecordRatingAndReturnEmptyStatsForFirstRating() {
+        RateQuizRequest request = new RateQuizRequest();
+        request.setRating(4);
+        when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
+        when(quizRatingRepository.findStats(quiz.getId())).thenReturn(Optional.empty());
+
+        QuizRatingResponse response = quizRatingService.rateQuiz(quiz.getId(), request, raterPrincipal);
+
+        verify(quizRatingRepository).rate(quiz.getId(), raterPrincipal.getId(), 4);
+        assertEquals(4, response.getUserRating());
+        assertEquals(List.of(0L, 0L, 0L, 0L, 0L), response.getHistogram());
+        assertNull(response.getAverageRating());
+    }
+
+    @Test
+    void rateQuiz_ShouldRejectOwnQuiz() {
+        RateQuizRequest request = new RateQuizRequest();
+        request.setRating(5);
+        when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
+
+        assertThrows(BadRequestException.class,
+                () -> quizRatingService.rateQuiz(quiz.getId(), request, UserPrincipal.create(creator)));
+        verify(quizRatingRepository, never()).rate(any(), any(), anyInt());
+    }
+
+    @Test
+    void rateQuiz_ShouldRejectPrivateQuizOfAnotherUser() {
+        RateQuizRequest request = new RateQuizRequest();
+        request.setRating(3);
+        quiz.setPublic(false);
+        when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
+
+        assertThrows(UnauthorizedException.class,
+                () -> quizRatingService.rateQuiz(quiz.getId(), request, raterPrincipal));
+    }
+
+    @Test
+    void deleteRating_ShouldThrowNotFoundException_WhenNotRated() {
+        when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
+        when(quizRatingRepository.unrate(quiz.getId(), raterPrincipal.getId())).thenReturn(null);
+
+        assertThrows(NotFoundException.class, () -> quizRatingService.deleteRating(quiz.getId(), raterPrincipal));
+    }
+}
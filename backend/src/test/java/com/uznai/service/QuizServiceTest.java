@@ -1,16 +1,34 @@
 package com.uznai.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.uznai.dto.request.CreateQuizRequest;
 import com.uznai.dto.request.UpdateQuizRequest;
+import com.uznai.dto.response.CursorPage;
 import com.uznai.dto.response.QuizResponse;
+import com.uznai.dto.response.QuizSummaryResponse;
 import com.uznai.entity.Quiz;
+import com.uznai.entity.QuizSnapshot;
 import com.uznai.entity.User;
 import com.uznai.exception.NotFoundException;
 import com.uznai.exception.UnauthorizedException;
 import com.uznai.mapper.QuizMapper;
+import com.uznai.mapper.QuestionMapper;
+import com.uznai.repository.QuizFetchPlan;
+import com.uznai.repository.QuestionRepository;
+import com.uznai.repository.QuizKeysetRow;
 import com.uznai.repository.QuizRepository;
+import com.uznai.repository.QuizSnapshotRepository;
+import com.uznai.repository.QuizSummaryView;
 import com.uznai.repository.UserRepository;
+import com.uznai.service.catalog.CatalogCache;
+import com.uznai.service.search.SimilarQuizIndex;
+import com.uznai.service.catalog.QuizPopularityTracker;
+import com.uznai.service.grading.ChoiceQuestionGrader;
+import com.uznai.service.grading.GradingEngine;
+import com.uznai.service.grading.QuizRegrader;
+import com.uznai.service.search.QuizTitleIndex;
 import com.uznai.service.impl.QuizServiceImpl;
+import com.uznai.service.snapshot.QuizSnapshotStore;
 import com.uznai.security.UserPrincipal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,11 +37,15 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +60,27 @@ class QuizServiceTest {
     @Mock
     private QuizMapper quizMapper;
 
+    @Mock
+    private QuizSnapshotStore quizSnapshotStore;
+
+    @Mock
+    private ObjectMapper objectMapper;
+
+    @Mock
+    private QuizRegrader quizRegrader;
+
+    @Mock
+    private QuizTitleIndex quizTitleIndex;
+
+    @Mock
+    private CatalogCache catalogCache;
+
+    @Mock
+    private SimilarQuizIndex similarQuizIndex;
+
+    @Mock
+    private QuizPopularityTracker quizPopularityTracker;
+
     @InjectMocks
     private QuizServiceImpl quizService;
 
@@ -197,4 +240,150 @@ class QuizServiceTest {
             quizService.deleteQuiz(testQuiz.getId(), differentUserPrincipal);
         });
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getPublicQuizzesSlice_ShouldMapSummariesReadInOneQuery() {
+        QuizKeysetRow newest = keysetRow(LocalDateTime.of(2024, 5, 2, 12, 0));
+        QuizKeysetRow older = keysetRow(LocalDateTime.of(2024, 5, 1, 12, 0));
+        QuizSummaryView newestView = new QuizSummaryView(newest.getId(), "Newest", null, true,
+                newest.getCreatedAt(), newest.getCreatedAt(), testUser.getId(), "creator", null, 3, 2, 9);
+        QuizSummaryResponse newestResponse = new QuizSummaryResponse();
+        when(quizRepository.findPublicBefore(any(), any(), eq(2))).thenReturn(List.of(newest, older));
+        when(quizRepository.findSummariesByIdIn(List.of(newest.getId(), older.getId()))).thenReturn(List.of(newestView));
+        when(quizMapper.toSummaryResponse(newestView)).thenReturn(newestResponse);
+
+        CursorPage<QuizSummaryResponse> page = quizService.getPublicQuizzesSlice(null, 1);
+
+        assertEquals(List.of(newestResponse), page.getContent());
+        assertTrue(page.isHasNext());
+        verify(quizRepository, times(1)).findSummariesByIdIn(any());
+        verify(quizRepository, never()).findById(any(UUID.class));
+    }
+
+    private static QuizKeysetRow keysetRow(LocalDateTime createdAt) {
+        UUID id = UUID.randomUUID();
+        return new QuizKeysetRow() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return createdAt;
+            }
+        };
+    }
+
+    @Test
+    void forkQuiz_ShouldCopyUnderNumberedTitle_WhenCopyAlreadyExists() {
+        User forker = new User();
+        forker.setId(UUID.randomUUID());
+        UserPrincipal forkerPrincipal = UserPrincipal.create(forker);
+        Quiz fork = new Quiz();
+        when(userRepository.findById(forker.getId())).thenReturn(Optional.of(forker));
+        when(quizRepository.findById(testQuiz.getId())).thenReturn(Optional.of(testQuiz));
+        when(quizRepository.findTitlesStartingWith(forker.getId(), "Copy of Test Quiz"))
+                .thenReturn(List.of("Copy of Test Quiz"));
+        when(quizRepository.copyQuiz(eq(testQuiz.getId()), any(UUID.class), eq(forker.getId()), eq("Copy of Test Quiz (2)")))
+                .thenReturn(true);
+        when(quizRepository.findById(any(UUID.class), eq(QuizFetchPlan.DETAIL))).thenReturn(Optional.of(fork));
+        when(quizMapper.toResponse(fork)).thenReturn(testQuizResponse);
+
+        QuizResponse result = quizService.forkQuiz(testQuiz.getId(), forkerPrincipal);
+
+        assertSame(testQuizResponse, result);
+        verify(quizRepository).copyQuiz(eq(testQuiz.getId()), any(UUID.class), eq(forker.getId()),
+                eq("Copy of Test Quiz (2)"));
+    }
+
+    @Test
+    void forkQuiz_ShouldTryTheNextNumber_WhenTheTitleIsTakenConcurrently() {
+        User forker = new User();
+        forker.setId(UUID.randomUUID());
+        Quiz fork = new Quiz();
+        when(userRepository.findById(forker.getId())).thenReturn(Optional.of(forker));
+        when(quizRepository.findById(testQuiz.getId())).thenReturn(Optional.of(testQuiz));
+        when(quizRepository.findTitlesStartingWith(forker.getId(), "Copy of Test Quiz")).thenReturn(List.of());
+        when(quizRepository.copyQuiz(eq(testQuiz.getId()), any(UUID.class), eq(forker.getId()), eq("Copy of Test Quiz")))
+                .thenReturn(false);
+        when(quizRepository.existsById(testQuiz.getId())).thenReturn(true);
+        when(quizRepository.copyQuiz(eq(testQuiz.getId()), any(UUID.class), eq(forker.getId()), eq("Copy of Test Quiz (2)")))
+                .thenReturn(true);
+        when(quizRepository.findById(any(UUID.class), eq(QuizFetchPlan.DETAIL))).thenReturn(Optional.of(fork));
+        when(quizMapper.toResponse(fork)).thenReturn(testQuizResponse);
+
+        assertSame(testQuizResponse, quizService.forkQuiz(testQuiz.getId(), UserPrincipal.create(forker)));
+        verify(quizRepository).copyQuiz(eq(testQuiz.getId()), any(UUID.class), eq(forker.getId()),
+                eq("Copy of Test Quiz (2)"));
+    }
+
+    @Test
+    void forkQuiz_ShouldThrowNotFoundException_WhenSourceDeletedBeforeTheCopy() {
+        User forker = new User();
+        forker.setId(UUID.randomUUID());
+        when(userRepository.findById(forker.getId())).thenReturn(Optional.of(forker));
+        when(quizRepository.findById(testQuiz.getId())).thenReturn(Optional.of(testQuiz));
+        when(quizRepository.findTitlesStartingWith(any(), any())).thenReturn(List.of());
+        when(quizRepository.copyQuiz(any(), any(), any(), any())).thenReturn(false);
+        when(quizRepository.existsById(testQuiz.getId())).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> {
+            quizService.forkQuiz(testQuiz.getId(), UserPrincipal.create(forker));
+        });
+        verify(quizRepository, times(1)).copyQuiz(any(), any(), any(), any());
+    }
+
+    @Test
+    void forkQuiz_ShouldThrowUnauthorizedException_WhenQuizPrivateToAnotherUser() {
+        User forker = new User();
+        forker.setId(UUID.randomUUID());
+        testQuiz.setPublic(false);
+        when(userRepository.findById(forker.getId())).thenReturn(Optional.of(forker));
+        when(quizRepository.findById(testQuiz.getId())).thenReturn(Optional.of(testQuiz));
+
+        assertThrows(UnauthorizedException.class, () -> {
+            quizService.forkQuiz(testQuiz.getId(), UserPrincipal.create(forker));
+        });
+        verify(quizRepository, never()).copyQuiz(any(), any(), any(), any());
+    }
+
+    @Test
+    void getQuizJson_ShouldServePublishedBytesToNonCreator_AfterLiveEdit() throws Exception {
+        QuizSnapshotRepository quizSnapshotRepository = mock(QuizSnapshotRepository.class);
+        QuestionRepository questionRepository = mock(QuestionRepository.class);
+        ObjectMapper jsonMapper = new ObjectMapper().findAndRegisterModules();
+        QuizSnapshotStore store = new QuizSnapshotStore(quizSnapshotRepository, questionRepository, quizMapper,
+                mock(QuestionMapper.class), new GradingEngine(List.of(new ChoiceQuestionGrader())), jsonMapper, 10, false);
+        List<QuizSnapshot> saved = new ArrayList<>();
+        when(quizSnapshotRepository.save(any(QuizSnapshot.class))).thenAnswer(invocation -> {
+            saved.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(quizSnapshotRepository.findByQuizIdAndVersion(testQuiz.getId(), 1))
+                .thenAnswer(invocation -> Optional.of(saved.get(0)));
+        when(questionRepository.findWithAnswersByQuiz(testQuiz)).thenReturn(List.of());
+        // The mapper follows the live quiz, as the generated one does
+        when(quizMapper.toResponse(testQuiz)).thenAnswer(invocation -> {
+            QuizResponse response = new QuizResponse();
+            response.setId(testQuiz.getId());
+            response.setTitle(testQuiz.getTitle());
+            return response;
+        });
+        when(quizSnapshotStore.publish(testQuiz)).thenAnswer(invocation -> store.publish(testQuiz));
+        when(quizSnapshotStore.get(testQuiz.getId(), 1)).thenAnswer(invocation -> store.get(testQuiz.getId(), 1));
+        when(quizRepository.findById(eq(testQuiz.getId()), any(QuizFetchPlan.class))).thenReturn(Optional.of(testQuiz));
+        User reader = new User();
+        reader.setId(UUID.randomUUID());
+        UserPrincipal readerPrincipal = UserPrincipal.create(reader);
+
+        quizService.publishQuiz(testQuiz.getId(), testUserPrincipal);
+        byte[] published = quizService.getQuizJson(testQuiz.getId(), readerPrincipal);
+        testQuiz.setTitle("Edited Quiz");
+        byte[] afterEdit = quizService.getQuizJson(testQuiz.getId(), readerPrincipal);
+
+        assertArrayEquals(published, afterEdit);
+        assertEquals("Test Quiz", jsonMapper.readValue(afterEdit, QuizResponse.class).getTitle());
+        verify(objectMapper, never()).writeValueAsBytes(any());
+    }
+}
@@ -0,0 +1,253 @@
+package com.uznai.service;
+
+import com.uznai.dto.request.BatchSubmitAnswersRequest;
+import com.uznai.dto.request.SubmitAnswerRequest;
+import com.uznai.entity.Quiz;
+import com.uznai.entity.QuizSession;
+import com.uznai.entity.User;
+import com.uznai.entity.enums.SessionStatus;
+import com.uznai.exception.NotFoundException;
+import com.uznai.exception.UnauthorizedException;
+import com.uznai.repository.QuestionRepository;
+import com.uznai.repository.QuizSessionRepository;
+import com.uznai.repository.SessionAnswerRepository;
+import com.uznai.repository.SessionAnswerRow;
+import com.uznai.security.UserPrincipal;
+import com.uznai.service.impl.QuizSessionServiceImpl;
+import com.uznai.service.session.ActiveSession;
+import com.uznai.service.session.ActiveSessionCache;
+import com.uznai.service.session.SessionAnswerBuffer;
+import com.uznai.service.snapshot.QuizSnapshotStore;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuizSessionServiceTest {
+
+    private static ValidatorFactory validatorFactory;
+    private static Validator validator;
+
+    @Mock
+    private QuizSessionRepository quizSessionRepository;
+
+    @Mock
+    private SessionAnswerRepository sessionAnswerRepository;
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    @Mock
+    private SessionAnswerBuffer sessionAnswerBuffer;
+
+    @Mock
+    private QuizSnapshotStore quizSnapshotStore;
+
+    @Mock
+    private ActiveSessionCache activeSessionCache;
+
+    @InjectMocks
+    private QuizSessionServiceImpl quizSessionService;
+
+    private User testUser;
+    private UserPrincipal testUserPrincipal;
+    private UUID sessionId;
+    private UUID quizId;
+
+    @BeforeAll
+    static void setUpValidator() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @AfterAll
+    static void closeValidator() {
+        validatorFactory.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setId(UUID.randomUUID());
+        testUser.setUsername("testuser");
+        testUserPrincipal = UserPrincipal.create(testUser);
+
+        sessionId = UUID.randomUUID();
+        quizId = UUID.randomUUID();
+        ActiveSession session = new ActiveSession(sessionId, testUser.getId(), quizId, null,
+                LocalDateTime.now().plusHours(1));
+        lenient().when(activeSessionCache.get(sessionId)).thenReturn(session);
+    }
+
+    @Test
+    void submitAnswers_WithoutBuffer_ShouldWriteOneBatch() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        BatchSubmitAnswersRequest request = batch(first, second);
+        when(questionRepository.findIdsByQuizIdAndIdIn(quizId, request.getAnswers().keySet()))
+                .thenReturn(Set.of(first, second));
+        when(sessionAnswerBuffer.isEnabled()).thenReturn(false);
+
+        quizSessionService.submitAnswers(sessionId, request, testUserPrincipal);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SessionAnswerRow>> rows = ArgumentCaptor.forClass(List.class);
+        verify(sessionAnswerRepository).batchWrite(rows.capture());
+        assertEquals(Set.of(first, second),
+                Set.copyOf(rows.getValue().stream().map(SessionAnswerRow::questionId).toList()));
+        verify(sessionAnswerRepository, never()).upsert(any());
+        verify(sessionAnswerBuffer, never()).append(any());
+    }
+
+    @Test
+    void submitAnswers_WithBuffer_ShouldAppendEveryAnswer() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        BatchSubmitAnswersRequest request = batch(first, second);
+        when(questionRepository.findIdsByQuizIdAndIdIn(quizId, request.getAnswers().keySet()))
+                .thenReturn(Set.of(first, second));
+        when(sessionAnswerBuffer.isEnabled()).thenReturn(true);
+
+        quizSessionService.submitAnswers(sessionId, request, testUserPrincipal);
+
+        ArgumentCaptor<SessionAnswerRow> rows = ArgumentCaptor.forClass(SessionAnswerRow.class);
+        verify(sessionAnswerBuffer, times(2)).append(rows.capture());
+        assertEquals(Set.of(first, second),
+                Set.copyOf(rows.getAllValues().stream().map(SessionAnswerRow::questionId).toList()));
+        verifyNoInteractions(sessionAnswerRepository);
+    }
+
+    @Test
+    void submitAnswers_WithQuestionFromOtherQuiz_ShouldRejectWholeBatch() {
+        UUID own = UUID.randomUUID();
+        UUID foreign = UUID.randomUUID();
+        BatchSubmitAnswersRequest request = batch(own, foreign);
+        when(questionRepository.findIdsByQuizIdAndIdIn(quizId, request.getAnswers().keySet()))
+                .thenReturn(Set.of(own));
+        when(questionRepository.existsById(foreign)).thenReturn(true);
+
+        assertThrows(UnauthorizedException.class, () ->
+            quizSessionService.submitAnswers(sessionId, request, testUserPrincipal));
+
+        verifyNoInteractions(sessionAnswerRepository);
+        verify(sessionAnswerBuffer, never()).append(any());
+    }
+
+    @Test
+    void submitAnswers_WithUnknownQuestion_ShouldRejectWholeBatch() {
+        UUID own = UUID.randomUUID();
+        UUID unknown = UUID.randomUUID();
+        BatchSubmitAnswersRequest request = batch(own, unknown);
+        when(questionRepository.findIdsByQuizIdAndIdIn(quizId, request.getAnswers().keySet()))
+                .thenReturn(Set.of(own));
+        when(questionRepository.existsById(unknown)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () ->
+            quizSessionService.submitAnswers(sessionId, request, testUserPrincipal));
+
+        verifyNoInteractions(sessionAnswerRepository);
+        verify(sessionAnswerBuffer, never()).append(any());
+    }
+
+    @Test
+    void submitAnswer_ShouldAnswerUnknownAndForeignQuestionsLikeTheBatch() {
+        UUID foreign = UUID.randomUUID();
+        UUID unknown = UUID.randomUUID();
+        when(questionRepository.existsByIdAndQuizId(any(), eq(quizId))).thenReturn(false);
+        when(questionRepository.existsById(foreign)).thenReturn(true);
+        when(questionRepository.existsById(unknown)).thenReturn(false);
+
+        assertThrows(UnauthorizedException.class, () ->
+            quizSessionService.submitAnswer(sessionId, foreign, answer(), testUserPrincipal));
+        assertThrows(NotFoundException.class, () ->
+            quizSessionService.submitAnswer(sessionId, unknown, answer(), testUserPrincipal));
+    }
+
+    @Test
+    void submitAnswer_WithCachedSessionPastDeadline_ShouldRejectBeforeReaperRuns() {
+        UUID expiredSessionId = UUID.randomUUID();
+        when(activeSessionCache.get(expiredSessionId)).thenReturn(new ActiveSession(expiredSessionId,
+                testUser.getId(), quizId, null, LocalDateTime.now().minusSeconds(1)));
+
+        assertThrows(UnauthorizedException.class, () ->
+            quizSessionService.submitAnswer(expiredSessionId, UUID.randomUUID(), answer(), testUserPrincipal));
+
+        verifyNoInteractions(questionRepository, sessionAnswerRepository);
+    }
+
+    @Test
+    void submitAnswers_WithActiveRowPastDeadline_ShouldRejectBeforeReaperRuns() {
+        Quiz quiz = new Quiz();
+        quiz.setId(quizId);
+        QuizSession row = new QuizSession();
+        row.setId(UUID.randomUUID());
+        row.setQuiz(quiz);
+        row.setUser(testUser);
+        row.setStatus(SessionStatus.ACTIVE);
+        row.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        when(quizSessionRepository.findById(row.getId())).thenReturn(Optional.of(row));
+
+        assertThrows(UnauthorizedException.class, () ->
+            quizSessionService.submitAnswers(row.getId(), batch(UUID.randomUUID()), testUserPrincipal));
+
+        verifyNoInteractions(questionRepository, sessionAnswerRepository);
+    }
+
+    @Test
+    void batchRequest_ShouldRequireBetweenOneAndFiveHundredAnswers() {
+        BatchSubmitAnswersRequest empty = new BatchSubmitAnswersRequest();
+        empty.setAnswers(Map.of());
+        BatchSubmitAnswersRequest full = batchOf(500);
+        BatchSubmitAnswersRequest tooMany = batchOf(501);
+
+        assertFalse(validator.validate(empty).isEmpty());
+        assertTrue(validator.validate(full).isEmpty());
+        assertFalse(validator.validate(tooMany).isEmpty());
+    }
+
+    private static BatchSubmitAnswersRequest batch(UUID... questionIds) {
+        Map<UUID, SubmitAnswerRequest> answers = new HashMap<>();
+        for (UUID questionId : questionIds) {
+            answers.put(questionId, answer());
+        }
+        BatchSubmitAnswersRequest request = new BatchSubmitAnswersRequest();
+        request.setAnswers(answers);
+        return request;
+    }
+
+    private static BatchSubmitAnswersRequest batchOf(int size) {
+        UUID[] questionIds = new UUID[size];
+        for (int i = 0; i < size; i++) {
+            questionIds[i] = UUID.randomUUID();
+        }
+        return batch(questionIds);
+    }
+
+    private static SubmitAnswerRequest answer() {
+        SubmitAnswerRequest request = new SubmitAnswerRequest();
+        request.setSelectedAnswerIds(List.of(UUID.randomUUID().toString()));
+        return request;
+    }
+}
@@ -0,0 +1,34 @@
+package com.uznai.service.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedLruCacheTest {
+
+    @Test
+    void put_ShouldDropLeastRecentlyUsedEntryPastBound() {
+        BoundedLruCache<String, Integer> cache = new BoundedLruCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.put("c", 3);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(3, cache.get("c"));
+    }
+
+    @Test
+    void putIfUnchanged_ShouldSkipValueLoadedBeforeRemoval() {
+        BoundedLruCache<String, Integer> cache = new BoundedLruCache<>(10);
+        long stamp = cache.stamp();
+        cache.removeIf(key -> key.startsWith("x"));
+
+        assertFalse(cache.putIfUnchanged("a", 1, stamp));
+        assertNull(cache.get("a"));
+        assertTrue(cache.putIfUnchanged("a", 1, cache.stamp()));
+        assertEquals(1, cache.get("a"));
+    }
+}
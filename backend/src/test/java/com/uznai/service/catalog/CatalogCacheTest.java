@@ -0,0 +1,102 @@
+package com.uznai.service.catalog;
+
+import com.uznai.dto.response.QuizSummaryResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CatalogCache cache = new CatalogCache(meterRegistry, 100, 2, 50, 60);
+    private final Pageable firstPage = PageRequest.of(0, 20);
+
+    private static Page<QuizSummaryResponse> page() {
+        return new PageImpl<>(List.of(new QuizSummaryResponse()));
+    }
+
+    @Test
+    void get_ShouldCollapseConcurrentMissesIntoOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Page<QuizSummaryResponse>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> cache.get(null, firstPage, () -> {
+                    loads.incrementAndGet();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return page();
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<Page<QuizSummaryResponse>> result : results) {
+                assertNotNull(result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void invalidate_ShouldDropThePublicCatalogAndOnlyThatCreatorsPages() {
+        UUID creator = UUID.randomUUID();
+        UUID otherCreator = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+
+        for (UUID scope : new UUID[]{null, creator, otherCreator}) {
+            cache.get(scope, firstPage, () -> {
+                loads.incrementAndGet();
+                return page();
+            });
+        }
+        cache.invalidate(creator);
+        for (UUID scope : new UUID[]{null, creator, otherCreator}) {
+            cache.get(scope, firstPage, () -> {
+                loads.incrementAndGet();
+                return page();
+            });
+        }
+
+        assertEquals(5, loads.get());
+        assertEquals(1.0, meterRegistry.get("uznai.catalog.cache.requests").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void get_ShouldNotCacheDeepPages() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(null, PageRequest.of(2, 20), () -> {
+            loads.incrementAndGet();
+            return page();
+        });
+        cache.get(null, PageRequest.of(2, 20), () -> {
+            loads.incrementAndGet();
+            return page();
+        });
+
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,75 @@
+package com.uznai.service.catalog;
+
+import com.uznai.repository.PopularityDelta;
+import com.uznai.repository.QuizRepository;
+import com.uznai.service.search.QuizTitleIndex;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class QuizPopularityTrackerTest {
+
+    private final QuizRepository quizRepository = mock(QuizRepository.class);
+    private final QuizTitleIndex quizTitleIndex = mock(QuizTitleIndex.class);
+    private final QuizPopularityTracker tracker =
+            new QuizPopularityTracker(quizRepository, quizTitleIndex, 1.0, 2.0, 24, 100);
+
+    @SuppressWarnings("unchecked")
+    private List<PopularityDelta> flushedDeltas() {
+        ArgumentCaptor<List<PopularityDelta>> captor = ArgumentCaptor.forClass(List.class);
+        verify(quizRepository, atLeastOnce()).addPopularity(captor.capture(), any(LocalDateTime.class), eq(86400.0));
+        return captor.getValue();
+    }
+
+    @Test
+    void flush_ShouldWriteWeightedActivityAndReloadTheRanking() {
+        UUID quizId = UUID.randomUUID();
+        when(quizRepository.findTrendingQuizIds(any(), anyDouble(), anyInt())).thenReturn(List.of(quizId));
+
+        tracker.recordStart(quizId);
+        tracker.recordStart(quizId);
+        tracker.recordCompletion(quizId);
+        tracker.flush();
+
+        assertEquals(List.of(new PopularityDelta(quizId, 4.0, 2, 1)), flushedDeltas());
+        assertEquals(List.of(quizId), tracker.trending());
+        verify(quizTitleIndex).addWeights(Map.of(quizId, 1L));
+    }
+
+    @Test
+    void flush_ShouldKeepActivityForTheNextFlushWhenTheWriteFails() {
+        UUID quizId = UUID.randomUUID();
+        doThrow(new IllegalStateException("database down"))
+                .doNothing()
+                .when(quizRepository).addPopularity(anyList(), any(), anyDouble());
+
+        tracker.recordCompletion(quizId);
+        tracker.flush();
+        tracker.flush();
+
+        assertEquals(List.of(new PopularityDelta(quizId, 2.0, 0, 1)), flushedDeltas());
+        verify(quizRepository, times(1)).findTrendingQuizIds(any(), anyDouble(), anyInt());
+        verify(quizTitleIndex, times(1)).addWeights(Map.of(quizId, 1L));
+    }
+
+    @Test
+    void flush_ShouldStillCountActivityOnceAnIdleQuizIsDropped() {
+        UUID quizId = UUID.randomUUID();
+
+        tracker.recordStart(quizId);
+        tracker.flush();
+        tracker.flush();
+        tracker.recordCompletion(quizId);
+        tracker.flush();
+
+        assertEquals(List.of(new PopularityDelta(quizId, 2.0, 0, 1)), flushedDeltas());
+    }
+}
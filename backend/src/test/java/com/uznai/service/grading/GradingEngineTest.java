@@ -0,0 +1,152 @@
+package com.uznai.service.grading;
+
+import com.uznai.dto.response.AnswerResponse;
+import com.uznai.dto.response.QuestionResponse;
+import com.uznai.entity.Answer;
+import com.uznai.entity.Question;
+import com.uznai.entity.enums.QuestionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradingEngineTest {
+
+    private GradingEngine gradingEngine;
+
+    @BeforeEach
+    void setUp() {
+        gradingEngine = new GradingEngine(List.of(new ChoiceQuestionGrader(), new ShortAnswerQuestionGrader()));
+    }
+
+    @Test
+    void grade_ShouldScoreEachQuestionTypeThroughItsGrader() {
+        Question single = question(QuestionType.MULTIPLE_CHOICE_SINGLE, 0);
+        Answer singleCorrect = answer(single, "Paris", true, 0);
+        answer(single, "Lyon", false, 1);
+
+        Question multiple = question(QuestionType.MULTIPLE_CHOICE_MULTIPLE, 1);
+        Answer multipleFirst = answer(multiple, "2", true, 0);
+        answer(multiple, "4", false, 1);
+        Answer multipleSecond = answer(multiple, "3", true, 2);
+
+        Question shortAnswer = question(QuestionType.SHORT_ANSWER, 2);
+        answer(shortAnswer, "  Berlin ", true, 0);
+
+        AnswerKey key = gradingEngine.compileAnswerKey(UUID.randomUUID(), 1L, List.of(single, multiple, shortAnswer));
+
+        GradingResult result = gradingEngine.grade(key, List.of(
+                new SubmittedAnswer(single.getId(), new UUID[]{singleCorrect.getId()}, null),
+                new SubmittedAnswer(multiple.getId(), new UUID[]{multipleSecond.getId(), multipleFirst.getId()}, null),
+                new SubmittedAnswer(shortAnswer.getId(), null, "berlin")));
+
+        assertEquals(3, result.totalQuestions());
+        assertEquals(3, result.correctCount());
+        assertTrue(result.grades().stream().allMatch(QuestionGrade::correct));
+    }
+
+    @Test
+    void grade_ShouldRejectPartialAndDuplicateSelections() {
+        Question multiple = question(QuestionType.MULTIPLE_CHOICE_MULTIPLE, 0);
+        Answer first = answer(multiple, "a", true, 0);
+        answer(multiple, "b", true, 1);
+
+        AnswerKey key = gradingEngine.compileAnswerKey(UUID.randomUUID(), 1L, List.of(multiple));
+
+        assertEquals(0, gradingEngine.grade(key, List.of(
+                new SubmittedAnswer(multiple.getId(), new UUID[]{first.getId()}, null))).correctCount());
+        assertEquals(0, gradingEngine.grade(key, List.of(
+                new SubmittedAnswer(multiple.getId(), new UUID[]{first.getId(), first.getId()}, null))).correctCount());
+    }
+
+    @Test
+    void grade_ShouldCompareSelectionMasksAgainstAnswerLayout() {
+        Question multiple = question(QuestionType.MULTIPLE_CHOICE_MULTIPLE, 0);
+        Answer third = answer(multiple, "c", true, 2);
+        Answer first = answer(multiple, "a", true, 0);
+        Answer second = answer(multiple, "b", false, 1);
+
+        AnswerKey key = gradingEngine.compileAnswerKey(UUID.randomUUID(), 1L, List.of(multiple));
+        QuestionKey questionKey = key.questions().get(0);
+        assertEquals(0b101L, questionKey.correctMask());
+
+        Long correct = questionKey.encode(new UUID[]{third.getId(), first.getId()});
+        assertEquals(0b101L, correct);
+        assertArrayEquals(new UUID[]{first.getId(), third.getId()}, questionKey.decode(correct));
+        assertNull(questionKey.encode(new UUID[]{first.getId(), first.getId()}));
+        assertNull(questionKey.encode(new UUID[]{UUID.randomUUID()}));
+
+        assertEquals(1, gradingEngine.grade(key, List.of(
+                new SubmittedAnswer(multiple.getId(), null, correct, null))).correctCount());
+        assertEquals(0, gradingEngine.grade(key, List.of(new SubmittedAnswer(multiple.getId(), null,
+                questionKey.encode(new UUID[]{first.getId(), second.getId()}), null))).correctCount());
+    }
+
+    @Test
+    void grade_ShouldKeepQuestionOrderAndMarkUnansweredQuestionsIncorrect() {
+        Question first = question(QuestionType.TRUE_FALSE, 0);
+        answer(first, "True", true, 0);
+        Question second = question(QuestionType.SHORT_ANSWER, 1);
+        answer(second, "answer", true, 0);
+
+        AnswerKey key = gradingEngine.compileAnswerKey(UUID.randomUUID(), 1L, List.of(first, second));
+        GradingResult result = gradingEngine.grade(key, List.of(new SubmittedAnswer(second.getId(), null, "   ")));
+
+        assertEquals(List.of(first.getId(), second.getId()),
+                result.grades().stream().map(QuestionGrade::questionId).toList());
+        assertEquals(0, result.correctCount());
+        assertNull(result.grades().get(0).textAnswer());
+        assertEquals("   ", result.grades().get(1).textAnswer());
+    }
+
+    @Test
+    void compilePublishedAnswerKey_ShouldMatchKeyCompiledFromEntities() {
+        Question question = question(QuestionType.SHORT_ANSWER, 0);
+        answer(question, "Second", true, 1);
+        answer(question, " First ", true, 0);
+
+        QuestionResponse published = new QuestionResponse();
+        published.setId(question.getId());
+        published.setQuestionType(question.getQuestionType());
+        published.setAnswers(question.getAnswers().stream().map(answer -> {
+            AnswerResponse response = new AnswerResponse();
+            response.setId(answer.getId());
+            response.setAnswerText(answer.getAnswerText());
+            response.setCorrect(answer.isCorrect());
+            response.setOrderIndex(answer.getOrderIndex());
+            return response;
+        }).toList());
+
+        UUID quizId = UUID.randomUUID();
+        assertEquals(gradingEngine.compileAnswerKey(quizId, 1L, List.of(question)),
+                gradingEngine.compilePublishedAnswerKey(quizId, 1L, List.of(published)));
+    }
+
+    @Test
+    void constructor_ShouldRejectOverlappingGraders() {
+        assertThrows(IllegalStateException.class,
+                () -> new GradingEngine(List.of(new ChoiceQuestionGrader(), new ChoiceQuestionGrader())));
+    }
+
+    private Question question(QuestionType type, int orderIndex) {
+        Question question = new Question();
+        question.setId(UUID.randomUUID());
+        question.setQuestionType(type);
+        question.setOrderIndex(orderIndex);
+        question.setQuestionText("Question " + orderIndex);
+        return question;
+    }
+
+    private Answer answer(Question question, String text, boolean correct, int orderIndex) {
+        Answer answer = new Answer();
+        answer.setId(UUID.randomUUID());
+        answer.setAnswerText(text);
+        answer.setCorrect(correct);
+        answer.setOrderIndex(orderIndex);
+        question.addAnswer(answer);
+        return answer;
+    }
+}
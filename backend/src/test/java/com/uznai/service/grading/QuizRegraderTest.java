@@ -0,0 +1,204 @@
+package com.uznai.service.grading;
+
+import com.uznai.entity.Answer;
+import com.uznai.entity.Question;
+import com.uznai.entity.Quiz;
+import com.uznai.entity.enums.QuestionType;
+import com.uznai.entity.enums.RegradeStatus;
+import com.uznai.repository.GradedAnswerRow;
+import com.uznai.repository.QuestionResultRepository;
+import com.uznai.repository.QuestionResultRepositoryCustom.ResultScore;
+import com.uznai.repository.QuizRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class QuizRegraderTest {
+
+    private final QuizRepository quizRepository = mock(QuizRepository.class);
+    private final QuestionResultRepository questionResultRepository = mock(QuestionResultRepository.class);
+    private final AnswerKeyCache answerKeyCache = mock(AnswerKeyCache.class);
+    private final GradingEngine gradingEngine =
+            new GradingEngine(List.of(new ChoiceQuestionGrader(), new ShortAnswerQuestionGrader()));
+
+    private QuizRegrader regrader;
+    private UUID quizId;
+    private Question first;
+    private Question second;
+    private Answer firstTrue;
+    private Answer firstFalse;
+    private Answer secondTrue;
+
+    @BeforeEach
+    void setUp() {
+        regrader = new QuizRegrader(quizRepository, questionResultRepository, answerKeyCache, gradingEngine,
+                mock(PlatformTransactionManager.class), 100, 2, 2);
+
+        Quiz quiz = new Quiz();
+        quiz.setId(UUID.randomUUID());
+        quizId = quiz.getId();
+        first = question(0);
+        firstTrue = answer(first, "True", true, 0);
+        firstFalse = answer(first, "False", false, 1);
+        second = question(1);
+        secondTrue = answer(second, "True", true, 0);
+        answer(second, "False", false, 1);
+        when(quizRepository.findById(quizId)).thenReturn(Optional.of(quiz));
+        when(answerKeyCache.getAnswerKey(quiz))
+                .thenReturn(gradingEngine.compileAnswerKey(quizId, 1L, List.of(first, second)));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        regrader.close();
+    }
+
+    @Test
+    void schedule_ShouldRegradeWholeResultsAndWriteOnlyWhatChanged() throws InterruptedException {
+        UUID unchanged = UUID.randomUUID();
+        UUID lostPoint = UUID.randomUUID();
+        UUID gainedPoint = UUID.randomUUID();
+        GradedAnswerRow unchangedFirst = row(unchanged, 2, first, firstTrue, true);
+        GradedAnswerRow unchangedSecond = row(unchanged, 2, second, secondTrue, true);
+        GradedAnswerRow lostFirst = row(lostPoint, 2, first, firstFalse, true);
+        GradedAnswerRow lostSecond = row(lostPoint, 2, second, secondTrue, true);
+        GradedAnswerRow gainedFirst = row(gainedPoint, 0, first, firstTrue, false);
+        GradedAnswerRow gainedSecond = row(gainedPoint, 0, second, secondTrue, false);
+        stream(List.of(unchangedFirst, unchangedSecond, lostFirst, lostSecond, gainedFirst, gainedSecond));
+
+        regrader.schedule(quizId);
+        RegradeProgress progress = awaitFinished();
+
+        // Chunks of two results: the third result is regraded on its own, with both of its rows
+        assertEquals(RegradeStatus.COMPLETED, progress.status());
+        assertEquals(3, progress.processedResults());
+        assertEquals(2, progress.changedResults());
+        assertEquals(3, progress.changedAnswers());
+        assertEquals(List.of(lostFirst, gainedFirst, gainedSecond), flippedRows());
+        assertEquals(List.of(new ResultScore(lostPoint, 1), new ResultScore(gainedPoint, 2)), writtenScores());
+    }
+
+    @Test
+    void schedule_ShouldNotWriteAnything_WhenNoGradeChanged() throws InterruptedException {
+        UUID resultId = UUID.randomUUID();
+        stream(List.of(row(resultId, 1, first, firstTrue, true), row(resultId, 1, second, null, false)));
+
+        regrader.schedule(quizId);
+
+        assertEquals(1, awaitFinished().processedResults());
+        verify(questionResultRepository, never()).batchFlipCorrect(any());
+        verify(questionResultRepository, never()).batchUpdateScores(any());
+    }
+
+    @Test
+    void schedule_ShouldQueueExactlyOneRerun_WhenCalledWhileRunning() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger passes = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (passes.getAndIncrement() == 0) {
+                started.countDown();
+                assertTrue(release.await(5, TimeUnit.SECONDS));
+            }
+            return null;
+        }).when(questionResultRepository).streamLiveGradedAnswers(eq(quizId), anyInt(), any());
+
+        RegradeProgress running = regrader.schedule(quizId);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(running.startedAt(), regrader.schedule(quizId).startedAt());
+        assertEquals(running.startedAt(), regrader.schedule(quizId).startedAt());
+        release.countDown();
+
+        assertEquals(RegradeStatus.COMPLETED, awaitFinished().status());
+        assertEquals(2, passes.get());
+    }
+
+    @Test
+    void schedule_ShouldMarkTheJobFailedAndStartAFreshOneNextTime() throws InterruptedException {
+        doThrow(new IllegalStateException("connection lost"))
+                .doNothing()
+                .when(questionResultRepository).streamLiveGradedAnswers(eq(quizId), anyInt(), any());
+
+        regrader.schedule(quizId);
+        assertEquals(RegradeStatus.FAILED, awaitFinished().status());
+
+        regrader.schedule(quizId);
+        assertEquals(RegradeStatus.COMPLETED, awaitFinished().status());
+    }
+
+    private void stream(List<GradedAnswerRow> rows) {
+        doAnswer(invocation -> {
+            Consumer<GradedAnswerRow> consumer = invocation.getArgument(2);
+            rows.forEach(consumer);
+            return null;
+        }).when(questionResultRepository).streamLiveGradedAnswers(eq(quizId), anyInt(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<GradedAnswerRow> flippedRows() {
+        ArgumentCaptor<List<GradedAnswerRow>> captor = ArgumentCaptor.forClass(List.class);
+        verify(questionResultRepository, atLeastOnce()).batchFlipCorrect(captor.capture());
+        List<GradedAnswerRow> rows = new ArrayList<>();
+        captor.getAllValues().forEach(rows::addAll);
+        return rows;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ResultScore> writtenScores() {
+        ArgumentCaptor<List<ResultScore>> captor = ArgumentCaptor.forClass(List.class);
+        verify(questionResultRepository, atLeastOnce()).batchUpdateScores(captor.capture());
+        List<ResultScore> scores = new ArrayList<>();
+        captor.getAllValues().forEach(scores::addAll);
+        return scores;
+    }
+
+    private RegradeProgress awaitFinished() throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            RegradeProgress progress = regrader.progress(quizId).orElseThrow();
+            if (progress.status() != RegradeStatus.RUNNING) {
+                return progress;
+            }
+            Thread.sleep(10);
+        }
+        return fail("Regrade of " + quizId + " did not finish");
+    }
+
+    private static GradedAnswerRow row(UUID resultId, int score, Question question, Answer selected, boolean correct) {
+        return new GradedAnswerRow(resultId, score, UUID.randomUUID(), question.getId(), correct,
+                selected != null ? new UUID[]{selected.getId()} : null, null);
+    }
+
+    private static Question question(int orderIndex) {
+        Question question = new Question();
+        question.setId(UUID.randomUUID());
+        question.setQuestionType(QuestionType.TRUE_FALSE);
+        question.setOrderIndex(orderIndex);
+        question.setQuestionText("Question " + orderIndex);
+        return question;
+    }
+
+    private static Answer answer(Question question, String text, boolean correct, int orderIndex) {
+        Answer answer = new Answer();
+        answer.setId(UUID.randomUUID());
+        answer.setAnswerText(text);
+        answer.setCorrect(correct);
+        answer.setOrderIndex(orderIndex);
+        question.addAnswer(answer);
+        return answer;
+    }
+}
@@ -0,0 +1,53 @@
+package com.uznai.service.grading;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShortAnswerMatcherTest {
+
+    @Test
+    void matches_ShouldFoldCaseWhitespacePunctuationAndCompatibilityForms() {
+        ShortAnswerMatcher matcher = ShortAnswerMatcher.compile(List.of("Saint-Étienne"));
+
+        assertTrue(matcher.matches("  saint   étienne!"));
+        assertTrue(matcher.matches("SAINT ÉTIENNE"));
+        // Decomposed accent and full-width letters normalise to the same form
+        assertTrue(matcher.matches("saint e\u0301tienne"));
+        assertTrue(ShortAnswerMatcher.compile(List.of("ABC")).matches("ａｂｃ"));
+        assertFalse(matcher.matches("   "));
+        assertFalse(matcher.matches(null));
+    }
+
+    @Test
+    void matches_ShouldAcceptEveryCorrectAnswer() {
+        ShortAnswerMatcher matcher = ShortAnswerMatcher.compile(Arrays.asList("colour", "color", null));
+
+        assertTrue(matcher.matches("Colour"));
+        assertTrue(matcher.matches("color"));
+        assertNull(ShortAnswerMatcher.compile(List.of(" ?! ")));
+    }
+
+    @Test
+    void matches_ShouldTolerateTyposByLengthButNotInNumbersOrShortWords() {
+        assertTrue(ShortAnswerMatcher.compile(List.of("Berlin")).matches("Berlim"));
+        assertTrue(ShortAnswerMatcher.compile(List.of("Berlin")).matches("Berln"));
+        assertFalse(ShortAnswerMatcher.compile(List.of("Berlin")).matches("Brln"));
+        assertTrue(ShortAnswerMatcher.compile(List.of("photosynthesis")).matches("fotosynthesis"));
+        assertFalse(ShortAnswerMatcher.compile(List.of("cat")).matches("car"));
+        assertFalse(ShortAnswerMatcher.compile(List.of("1945")).matches("1946"));
+    }
+
+    @Test
+    void withinDistance_ShouldRespectTheEditBound() {
+        int[] kitten = ShortAnswerMatcher.fold("kitten");
+        int[] sitting = ShortAnswerMatcher.fold("sitting");
+
+        assertFalse(ShortAnswerMatcher.withinDistance(kitten, sitting, 2));
+        assertTrue(ShortAnswerMatcher.withinDistance(kitten, sitting, 3));
+        assertTrue(ShortAnswerMatcher.withinDistance(kitten, kitten, 0));
+    }
+}
@@ -0,0 +1,54 @@
+package com.uznai.service.pagination;
+
+import com.uznai.dto.response.CursorPage;
+import com.uznai.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    @Test
+    void decode_ShouldRoundTripEncodedCursor() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123456000), UUID.randomUUID());
+
+        assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void decode_ShouldStartBeforeEveryRowWithoutCursor() {
+        KeysetCursor first = KeysetCursor.decode(null);
+
+        assertTrue(first.sortKey().isAfter(LocalDateTime.now().plusYears(1000)));
+        assertEquals(first, KeysetCursor.decode(" "));
+    }
+
+    @Test
+    void decode_ShouldRejectMalformedCursor() {
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("not a cursor!"));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("bm8tc2VwYXJhdG9y"));
+    }
+
+    @Test
+    void page_ShouldTrimLookaheadRowAndPointNextAtLastReturnedRow() {
+        List<KeysetCursor> rows = List.of(
+                new KeysetCursor(LocalDateTime.of(2024, 1, 3, 0, 0), UUID.randomUUID()),
+                new KeysetCursor(LocalDateTime.of(2024, 1, 2, 0, 0), UUID.randomUUID()),
+                new KeysetCursor(LocalDateTime.of(2024, 1, 1, 0, 0), UUID.randomUUID()));
+
+        CursorPage<KeysetCursor> page = PageCursor.page(rows, PageCursor.limit(2), Function.identity(), Function.identity());
+        assertEquals(rows.subList(0, 2), page.getContent());
+        assertTrue(page.isHasNext());
+        assertEquals(rows.get(1), KeysetCursor.decode(page.getNext()));
+
+        CursorPage<KeysetCursor> last = PageCursor.page(rows, PageCursor.limit(5), Function.identity(), Function.identity());
+        assertEquals(3, last.getSize());
+        assertFalse(last.isHasNext());
+        assertNull(last.getNext());
+    }
+}
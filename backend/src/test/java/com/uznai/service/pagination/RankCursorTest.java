@@ -0,0 +1,27 @@
+package com.uznai.service.pagination;
+
+import com.uznai.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankCursorTest {
+
+    @Test
+    void decode_ShouldRoundTripRankExactly() {
+        RankCursor cursor = new RankCursor(0.0607927f, UUID.randomUUID());
+
+        assertEquals(cursor, RankCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void decode_ShouldStartAboveEveryRankAndRejectMalformedCursor() {
+        assertEquals(Float.POSITIVE_INFINITY, RankCursor.decode(null).rank());
+        assertThrows(BadRequestException.class, () -> RankCursor.decode("not a cursor!"));
+        String nan = Base64.getUrlEncoder().encodeToString(("NaN|" + UUID.randomUUID()).getBytes());
+        assertThrows(BadRequestException.class, () -> RankCursor.decode(nan));
+    }
+}
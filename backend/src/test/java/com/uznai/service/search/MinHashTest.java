@@ -0,0 +1,34 @@
+package com.uznai.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinHashTest {
+
+    @Test
+    void similarity_ShouldTrackWordOverlap() {
+        int[] java = MinHash.signature("Java generics: wildcards, bounded types and type erasure explained");
+        int[] sameWords = MinHash.signature("type erasure and bounded types explained: Java generics wildcards");
+        int[] related = MinHash.signature("Java generics and type erasure in collections");
+        int[] unrelated = MinHash.signature("Baroque painters of the Dutch golden age");
+
+        assertEquals(1.0, MinHash.similarity(java, sameWords));
+        assertArrayEquals(MinHash.buckets(java), MinHash.buckets(sameWords));
+        assertTrue(MinHash.similarity(java, related) > MinHash.similarity(java, unrelated));
+        assertTrue(MinHash.similarity(java, unrelated) < 0.2);
+    }
+
+    @Test
+    void signature_ShouldRoundTripAndBeEmptyWithoutWords() {
+        int[] signature = MinHash.signature("Capitals of Europe");
+        assertEquals(MinHash.HASHES, signature.length);
+        assertArrayEquals(signature, MinHash.decode(MinHash.encode(signature)));
+        assertEquals(MinHash.BANDS, MinHash.buckets(signature).length);
+
+        int[] empty = MinHash.signature("a, b ... 1 2");
+        assertEquals(0, empty.length);
+        assertEquals(0, MinHash.buckets(empty).length);
+        assertEquals(0, MinHash.similarity(empty, signature));
+    }
+}
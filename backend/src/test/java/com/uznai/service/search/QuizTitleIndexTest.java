@@ -0,0 +1,76 @@
+package com.uznai.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuizTitleIndexTest {
+
+    private static QuizTitleIndex.Entry entry(String title, long weight) {
+        return new QuizTitleIndex.Entry(UUID.randomUUID(), title, QuizTitleIndex.fold(title), weight);
+    }
+
+    private static QuizTitleIndex.Snapshot snapshot(QuizTitleIndex.Entry... entries) {
+        QuizTitleIndex.Entry[] sorted = entries.clone();
+        Arrays.sort(sorted, (a, b) -> a.key().compareTo(b.key()));
+        return new QuizTitleIndex.Snapshot(sorted);
+    }
+
+    private static List<String> titles(List<QuizTitleIndex.Suggestion> suggestions) {
+        return suggestions.stream().map(QuizTitleIndex.Suggestion::title).toList();
+    }
+
+    @Test
+    void top_ShouldReturnHeaviestTitlesWithinThePrefixRange() {
+        QuizTitleIndex.Snapshot snapshot = snapshot(
+                entry("Java Basics", 5), entry("JavaScript Closures", 40), entry("Jazz History", 90),
+                entry("java streams", 12), entry("Kotlin", 100));
+
+        assertEquals(List.of("JavaScript Closures", "java streams"), titles(snapshot.top("java", 2)));
+        assertEquals(List.of("Jazz History", "JavaScript Closures", "java streams", "Java Basics"),
+                titles(snapshot.top("ja", 10)));
+        assertEquals(List.of(), snapshot.top("python", 5));
+    }
+
+    @Test
+    void merge_ShouldApplyChangesAndKeepPopularityOfUpdatedTitles() {
+        QuizTitleIndex.Entry capitals = entry("World Capitals", 50);
+        QuizTitleIndex.Entry rivers = entry("World Rivers", 10);
+        QuizTitleIndex.Snapshot snapshot = snapshot(capitals, rivers, entry("Wine Regions", 3));
+
+        Map<UUID, QuizTitleIndex.Entry> changes = new HashMap<>();
+        changes.put(capitals.id(), new QuizTitleIndex.Entry(capitals.id(), "Capitals of the World",
+                QuizTitleIndex.fold("Capitals of the World"), 0));
+        changes.put(rivers.id(), null);
+        QuizTitleIndex.Entry wonders = entry("World Wonders", 0);
+        changes.put(wonders.id(), wonders);
+        QuizTitleIndex.Snapshot merged = snapshot.merge(changes, Map.of());
+
+        assertEquals(List.of("World Wonders"), titles(merged.top("world", 5)));
+        // The renamed quiz keeps its weight, so it still ranks first across the whole index
+        assertEquals(List.of("Capitals of the World", "Wine Regions", "World Wonders"), titles(merged.top("", 5)));
+    }
+
+    @Test
+    void merge_ShouldReorderByAddedWeightWithoutOtherChanges() {
+        QuizTitleIndex.Entry geography = entry("Geography", 30);
+        QuizTitleIndex.Entry geology = entry("Geology", 5);
+        QuizTitleIndex.Entry geometry = entry("Geometry", 0);
+        QuizTitleIndex.Snapshot snapshot = snapshot(geography, geology, geometry);
+
+        Map<UUID, QuizTitleIndex.Entry> changes = new HashMap<>();
+        QuizTitleIndex.Entry genetics = entry("Genetics", 0);
+        changes.put(genetics.id(), genetics);
+        QuizTitleIndex.Snapshot merged = snapshot.merge(changes,
+                Map.of(geology.id(), 40L, genetics.id(), 10L, UUID.randomUUID(), 99L));
+
+        // A quiz added in the same batch as its weight gets it right away; unknown quizzes are ignored
+        assertEquals(List.of("Geology", "Geography", "Genetics", "Geometry"), titles(merged.top("ge", 10)));
+    }
+}
@@ -0,0 +1,51 @@
+package com.uznai.service.session;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActiveSessionCacheTest {
+
+    private final ActiveSessionCache cache = new ActiveSessionCache(10);
+
+    @Test
+    void put_ShouldStoreSessionReadWithCurrentStamp() {
+        ActiveSession session = session();
+
+        cache.put(session, cache.stamp());
+
+        assertEquals(session, cache.get(session.sessionId()));
+    }
+
+    @Test
+    void put_ShouldNotRestoreSessionEvictedWhileItWasRead() {
+        ActiveSession session = session();
+        // Row read as ACTIVE, then completed and evicted before the reader caches it
+        long stamp = cache.stamp();
+        cache.evict(session.sessionId());
+
+        cache.put(session, stamp);
+
+        assertNull(cache.get(session.sessionId()));
+    }
+
+    @Test
+    void put_ShouldNotRestoreSessionReapedWhileItWasRead() {
+        ActiveSession session = session();
+        long stamp = cache.stamp();
+        cache.evictAll(List.of(session.sessionId()));
+
+        cache.put(session, stamp);
+
+        assertNull(cache.get(session.sessionId()));
+    }
+
+    private static ActiveSession session() {
+        return new ActiveSession(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), null,
+                LocalDateTime.now().plusHours(1));
+    }
+}
@@ -0,0 +1,114 @@
+package com.uznai.service.session;
+
+import com.uznai.repository.SessionAnswerRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnswerJournalTest {
+
+    private static final int CAPACITY = 256 * 1024;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void replay_ShouldReturnRecordsInAppendOrder() throws IOException {
+        Path path = tempDir.resolve("answers.journal");
+        UUID sessionId = UUID.randomUUID();
+        SessionAnswerRow choice = new SessionAnswerRow(sessionId, UUID.randomUUID(), new UUID[]{UUID.randomUUID()}, null, null);
+        SessionAnswerRow text = new SessionAnswerRow(sessionId, UUID.randomUUID(), null, null, "Ünïcode answer");
+        SessionAnswerRow masked = new SessionAnswerRow(sessionId, UUID.randomUUID(), null, 0b1010L, null);
+
+        try (AnswerJournal journal = new AnswerJournal(path, CAPACITY, false)) {
+            journal.replay(new RecordingVisitor());
+            assertTrue(journal.appendAnswer(1, choice));
+            assertTrue(journal.appendAnswer(2, text));
+            assertTrue(journal.appendAnswer(3, masked));
+            assertTrue(journal.appendFlushed(1, sessionId));
+        }
+
+        RecordingVisitor visitor = new RecordingVisitor();
+        try (AnswerJournal journal = new AnswerJournal(path, CAPACITY, false)) {
+            journal.replay(visitor);
+        }
+
+        assertEquals(List.of("answer:1", "answer:2", "answer:3", "flushed:1"), visitor.events);
+        assertArrayEquals(choice.selectedAnswerIds(), visitor.rows.get(0).selectedAnswerIds());
+        assertNull(visitor.rows.get(0).textAnswer());
+        assertNull(visitor.rows.get(1).selectedAnswerIds());
+        assertEquals("Ünïcode answer", visitor.rows.get(1).textAnswer());
+        assertNull(visitor.rows.get(2).selectedAnswerIds());
+        assertEquals(0b1010L, visitor.rows.get(2).selectedMask());
+    }
+
+    @Test
+    void install_ShouldReplaceTheJournalOnlyOnceTheRewriteIsComplete() throws IOException {
+        Path path = tempDir.resolve("answers.journal");
+        SessionAnswerRow row = new SessionAnswerRow(UUID.randomUUID(), UUID.randomUUID(), null, null, "a");
+
+        try (AnswerJournal journal = new AnswerJournal(path, CAPACITY, false)) {
+            journal.replay(new RecordingVisitor());
+            journal.appendAnswer(1, row);
+            journal.force();
+
+            AnswerJournal rewritten = journal.startRewrite();
+            rewritten.appendAnswer(2, row);
+            // A crash before install leaves the old journal intact
+            assertEquals(List.of("answer:1"), replay(path));
+
+            rewritten.install(path);
+            rewritten.appendAnswer(3, row);
+            rewritten.close();
+        }
+
+        assertEquals(List.of("answer:2", "answer:3"), replay(path));
+        assertFalse(Files.exists(tempDir.resolve("answers.journal.compact")));
+    }
+
+    @Test
+    void appendAnswer_ShouldKeepReserveForFlushMarkersWhenFull() throws IOException {
+        SessionAnswerRow row = new SessionAnswerRow(UUID.randomUUID(), UUID.randomUUID(), null, null, "x".repeat(1000));
+
+        try (AnswerJournal journal = new AnswerJournal(tempDir.resolve("answers.journal"), CAPACITY, false)) {
+            journal.replay(new RecordingVisitor());
+            long seq = 0;
+            while (journal.appendAnswer(++seq, row)) {
+                assertTrue(seq < CAPACITY);
+            }
+            assertTrue(journal.appendFlushed(seq, row.sessionId()));
+        }
+    }
+
+    private static List<String> replay(Path path) throws IOException {
+        RecordingVisitor visitor = new RecordingVisitor();
+        try (AnswerJournal journal = new AnswerJournal(path, CAPACITY, false)) {
+            journal.replay(visitor);
+        }
+        return visitor.events;
+    }
+
+    private static class RecordingVisitor implements AnswerJournal.Visitor {
+        private final List<String> events = new ArrayList<>();
+        private final List<SessionAnswerRow> rows = new ArrayList<>();
+
+        @Override
+        public void answer(long sequence, SessionAnswerRow row) {
+            events.add("answer:" + sequence);
+            rows.add(row);
+        }
+
+        @Override
+        public void flushed(long sequence, UUID sessionId) {
+            events.add("flushed:" + sequence);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.uznai.service.session;
+
+import com.uznai.entity.enums.ResultStatus;
+import com.uznai.repository.QuizResultRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ResultMaterializerTest {
+
+    private final SessionResultWriter sessionResultWriter = mock(SessionResultWriter.class);
+    private final QuizResultRepository quizResultRepository = mock(QuizResultRepository.class);
+    private final ResultMaterializer materializer =
+            new ResultMaterializer(sessionResultWriter, quizResultRepository, 2, 30, 500, 3);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        materializer.close();
+    }
+
+    @Test
+    void submit_ShouldCountAFailedAttemptAgainstMaxAttempts() {
+        UUID resultId = UUID.randomUUID();
+        when(sessionResultWriter.gradePendingResult(resultId)).thenThrow(new IllegalStateException("bad answer key"));
+
+        materializer.submit(resultId);
+
+        verify(sessionResultWriter, timeout(5000)).recordGradingFailure(resultId, 3);
+    }
+
+    @Test
+    void submit_ShouldNotCountAnAttempt_WhenGradingSucceeds() {
+        UUID resultId = UUID.randomUUID();
+        when(sessionResultWriter.gradePendingResult(resultId)).thenReturn(true);
+
+        materializer.submit(resultId);
+
+        verify(sessionResultWriter, timeout(5000)).gradePendingResult(resultId);
+        verify(sessionResultWriter, after(100).never()).recordGradingFailure(any(), anyInt());
+    }
+
+    @Test
+    void recoverPeriodically_ShouldOnlyRequeuePendingResults() {
+        UUID resultId = UUID.randomUUID();
+        when(quizResultRepository.findIdsByStatusAndCreatedAtBefore(eq(ResultStatus.PENDING), any(), any()))
+                .thenReturn(List.of(resultId));
+
+        materializer.recoverPeriodically();
+
+        verify(quizResultRepository).findIdsByStatusAndCreatedAtBefore(eq(ResultStatus.PENDING), any(), any());
+        verify(sessionResultWriter, timeout(5000)).gradePendingResult(resultId);
+    }
+}
@@ -0,0 +1,88 @@
+package com.uznai.service.session;
+
+import com.uznai.entity.QuizResult;
+import com.uznai.entity.enums.ResultStatus;
+import com.uznai.repository.QuestionRepository;
+import com.uznai.repository.QuizResultRepository;
+import com.uznai.repository.SessionAnswerRepository;
+import com.uznai.service.grading.AnswerKeyCache;
+import com.uznai.service.grading.GradingEngine;
+import com.uznai.service.snapshot.QuizSnapshotStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SessionResultWriterTest {
+
+    @Mock
+    private SessionAnswerRepository sessionAnswerRepository;
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    @Mock
+    private QuizResultRepository quizResultRepository;
+
+    @Mock
+    private AnswerKeyCache answerKeyCache;
+
+    @Mock
+    private GradingEngine gradingEngine;
+
+    @Mock
+    private QuizSnapshotStore quizSnapshotStore;
+
+    @InjectMocks
+    private SessionResultWriter sessionResultWriter;
+
+    @Test
+    void gradePendingResult_ShouldReturnFalse_WhenTheResultIsClaimedElsewhere() {
+        UUID resultId = UUID.randomUUID();
+        when(quizResultRepository.lockByIdAndStatus(resultId, ResultStatus.PENDING)).thenReturn(Optional.empty());
+
+        assertFalse(sessionResultWriter.gradePendingResult(resultId));
+        verify(quizResultRepository, never()).save(any());
+        verifyNoInteractions(sessionAnswerRepository, gradingEngine, answerKeyCache, quizSnapshotStore);
+    }
+
+    @Test
+    void recordGradingFailure_ShouldParkTheResultAsFailedOnceItUsesUpItsAttempts() {
+        QuizResult result = pendingResult();
+        when(quizResultRepository.lockByIdAndStatus(result.getId(), ResultStatus.PENDING)).thenReturn(Optional.of(result));
+
+        assertFalse(sessionResultWriter.recordGradingFailure(result.getId(), 3));
+        assertFalse(sessionResultWriter.recordGradingFailure(result.getId(), 3));
+        assertEquals(ResultStatus.PENDING, result.getStatus());
+        assertTrue(sessionResultWriter.recordGradingFailure(result.getId(), 3));
+
+        assertEquals(3, result.getGradingAttempts());
+        assertEquals(ResultStatus.FAILED, result.getStatus());
+        verify(quizResultRepository, times(3)).save(result);
+    }
+
+    @Test
+    void recordGradingFailure_ShouldLeaveAResultGradedMeanwhileAlone() {
+        UUID resultId = UUID.randomUUID();
+        when(quizResultRepository.lockByIdAndStatus(resultId, ResultStatus.PENDING)).thenReturn(Optional.empty());
+
+        assertFalse(sessionResultWriter.recordGradingFailure(resultId, 1));
+        verify(quizResultRepository, never()).save(any());
+    }
+
+    private static QuizResult pendingResult() {
+        QuizResult result = new QuizResult();
+        result.setId(UUID.randomUUID());
+        result.setStatus(ResultStatus.PENDING);
+        return result;
+    }
+}
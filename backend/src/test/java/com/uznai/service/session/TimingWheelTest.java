@@ -0,0 +1,48 @@
+package com.uznai.service.session;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private record Fired(String value, long atNanos) {
+    }
+
+    @Test
+    void schedule_ShouldFireAfterDeadlineAcrossRotationsAndSkipCancelled() throws InterruptedException {
+        BlockingQueue<Fired> fired = new LinkedBlockingQueue<>();
+        // 8 buckets of 10ms: the 250ms timeout needs three rotations
+        try (TimingWheel<String> wheel = new TimingWheel<>("test-wheel", Duration.ofMillis(10), 8,
+                due -> due.forEach(value -> fired.add(new Fired(value, System.nanoTime()))))) {
+            long start = System.nanoTime();
+            wheel.schedule("late", Duration.ofMillis(250));
+            wheel.schedule("soon", Duration.ofMillis(30));
+            wheel.schedule("cancelled", Duration.ofMillis(50)).cancel();
+            wheel.schedule("overdue", Duration.ofMillis(-1000));
+
+            List<String> order = List.of(
+                    fired.poll(2, TimeUnit.SECONDS).value(),
+                    fired.poll(2, TimeUnit.SECONDS).value());
+            assertEquals(List.of("overdue", "soon"), order);
+
+            Fired late = fired.poll(2, TimeUnit.SECONDS);
+            assertNotNull(late);
+            assertEquals("late", late.value());
+            assertTrue(late.atNanos() - start >= TimeUnit.MILLISECONDS.toNanos(250));
+            assertNull(fired.poll(100, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    void constructor_ShouldRejectWheelSizesThatAreNotPowersOfTwo() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TimingWheel<String>("test-wheel", Duration.ofMillis(10), 6, due -> { }));
+    }
+}
@@ -0,0 +1,187 @@
+package com.uznai.service.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uznai.dto.response.AnswerResponse;
+import com.uznai.dto.response.QuestionResponse;
+import com.uznai.dto.response.QuizResponse;
+import com.uznai.entity.Question;
+import com.uznai.entity.Quiz;
+import com.uznai.entity.QuizSnapshot;
+import com.uznai.entity.enums.QuestionType;
+import com.uznai.exception.NotFoundException;
+import com.uznai.mapper.QuestionMapper;
+import com.uznai.mapper.QuizMapper;
+import com.uznai.repository.QuestionRepository;
+import com.uznai.repository.QuizSnapshotRepository;
+import com.uznai.service.grading.ChoiceQuestionGrader;
+import com.uznai.service.grading.GradingEngine;
+import com.uznai.service.grading.ShortAnswerQuestionGrader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class QuizSnapshotStoreTest {
+
+    private final QuizSnapshotRepository quizSnapshotRepository = mock(QuizSnapshotRepository.class);
+    private final QuestionRepository questionRepository = mock(QuestionRepository.class);
+    private final QuizMapper quizMapper = mock(QuizMapper.class);
+    private final QuestionMapper questionMapper = mock(QuestionMapper.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final Map<Integer, QuizSnapshot> saved = new HashMap<>();
+
+    private Quiz quiz;
+    private Question question;
+    private UUID correctAnswerId;
+
+    @BeforeEach
+    void setUp() {
+        quiz = new Quiz();
+        quiz.setId(UUID.randomUUID());
+        quiz.setTitle("Capitals");
+
+        question = new Question();
+        question.setId(UUID.randomUUID());
+        question.setQuiz(quiz);
+        question.setQuestionText("Capital of France?");
+        question.setQuestionType(QuestionType.MULTIPLE_CHOICE_SINGLE);
+        question.setOrderIndex(0);
+        correctAnswerId = UUID.randomUUID();
+
+        // Mappers read the live entities, so edits after a publish show up in the next one
+        when(questionRepository.findWithAnswersByQuiz(quiz)).thenAnswer(invocation -> List.of(question));
+        when(quizMapper.toResponse(quiz)).thenAnswer(invocation -> {
+            QuizResponse response = new QuizResponse();
+            response.setId(quiz.getId());
+            response.setTitle(quiz.getTitle());
+            return response;
+        });
+        when(questionMapper.toResponse(question)).thenAnswer(invocation -> {
+            QuestionResponse response = new QuestionResponse();
+            response.setId(question.getId());
+            response.setQuestionText(question.getQuestionText());
+            response.setQuestionType(question.getQuestionType());
+            response.setOrderIndex(question.getOrderIndex());
+            response.setAnswers(new ArrayList<>(List.of(
+                    answer(UUID.randomUUID(), "Lyon", false, 1),
+                    answer(correctAnswerId, "Paris", true, 0))));
+            return response;
+        });
+        when(quizSnapshotRepository.save(any(QuizSnapshot.class))).thenAnswer(invocation -> {
+            QuizSnapshot snapshot = invocation.getArgument(0);
+            saved.put(snapshot.getVersion(), snapshot);
+            return snapshot;
+        });
+        when(quizSnapshotRepository.findByQuizIdAndVersion(any(), any()))
+                .thenAnswer(invocation -> Optional.ofNullable(saved.get(invocation.<Integer>getArgument(1))));
+    }
+
+    @Test
+    void publish_ShouldStoreGzippedJsonThatGetServesBack() throws IOException {
+        QuizSnapshotStore store = store(10);
+
+        QuizSnapshot snapshot = store.publish(quiz);
+
+        assertEquals(1, snapshot.getVersion());
+        assertEquals(1, snapshot.getQuestionCount());
+        assertEquals(1, quiz.getPublishedVersion());
+        byte[] json = gunzip(snapshot.getPayload());
+
+        PublishedQuiz published = store.get(quiz.getId(), 1);
+        assertArrayEquals(json, published.json());
+        QuizResponse served = objectMapper.readValue(published.json(), QuizResponse.class);
+        assertEquals("Capitals", served.getTitle());
+        assertEquals(1, served.getPublishedVersion());
+        // Answers are stored in display order
+        assertEquals(List.of("Paris", "Lyon"), served.getQuestions().get(0).getAnswers().stream()
+                .map(AnswerResponse::getAnswerText).toList());
+        assertTrue(published.containsQuestion(question.getId()));
+        assertEquals(1, published.answerKey().questionCount());
+    }
+
+    @Test
+    void get_ShouldDecodeEachVersionOnce() {
+        QuizSnapshotStore store = store(10);
+        store.publish(quiz);
+
+        PublishedQuiz first = store.get(quiz.getId(), 1);
+        PublishedQuiz second = store.get(quiz.getId(), 1);
+
+        assertSame(first, second);
+        verify(quizSnapshotRepository, times(1)).findByQuizIdAndVersion(quiz.getId(), 1);
+    }
+
+    @Test
+    void get_ShouldReloadVersionDroppedByLruBound() {
+        QuizSnapshotStore store = store(1);
+        store.publish(quiz);
+        store.publish(quiz);
+
+        PublishedQuiz first = store.get(quiz.getId(), 1);
+        store.get(quiz.getId(), 2);
+        PublishedQuiz reloaded = store.get(quiz.getId(), 1);
+
+        assertNotSame(first, reloaded);
+        assertArrayEquals(first.json(), reloaded.json());
+        verify(quizSnapshotRepository, times(2)).findByQuizIdAndVersion(quiz.getId(), 1);
+    }
+
+    @Test
+    void get_ShouldKeepEachVersionPinnedAcrossLiveEdits() throws IOException {
+        QuizSnapshotStore store = store(10);
+        store.publish(quiz);
+        byte[] before = store.get(quiz.getId(), 1).json();
+
+        quiz.setTitle("European capitals");
+        question.setQuestionText("What is the capital of France?");
+        store.publish(quiz);
+
+        assertArrayEquals(before, store.get(quiz.getId(), 1).json());
+        QuizResponse v1 = objectMapper.readValue(store.get(quiz.getId(), 1).json(), QuizResponse.class);
+        QuizResponse v2 = objectMapper.readValue(store.get(quiz.getId(), 2).json(), QuizResponse.class);
+        assertEquals("Capitals", v1.getTitle());
+        assertEquals("Capital of France?", v1.getQuestions().get(0).getQuestionText());
+        assertEquals("European capitals", v2.getTitle());
+        assertEquals(2, v2.getPublishedVersion());
+    }
+
+    @Test
+    void get_ShouldThrowNotFoundException_WhenVersionWasNeverPublished() {
+        QuizSnapshotStore store = store(10);
+
+        assertThrows(NotFoundException.class, () -> store.get(quiz.getId(), 1));
+    }
+
+    private QuizSnapshotStore store(int maxEntries) {
+        return new QuizSnapshotStore(quizSnapshotRepository, questionRepository, quizMapper, questionMapper,
+                new GradingEngine(List.of(new ChoiceQuestionGrader(), new ShortAnswerQuestionGrader())),
+                objectMapper, maxEntries, false);
+    }
+
+    private static AnswerResponse answer(UUID id, String text, boolean correct, int orderIndex) {
+        AnswerResponse answer = new AnswerResponse();
+        answer.setId(id);
+        answer.setAnswerText(text);
+        answer.setCorrect(correct);
+        answer.setOrderIndex(orderIndex);
+        return answer;
+    }
+
+    private static byte[] gunzip(byte[] payload) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return gzip.readAllBytes();
+        }
+    }
+}